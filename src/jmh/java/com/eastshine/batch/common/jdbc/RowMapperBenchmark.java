@@ -0,0 +1,98 @@
+package com.eastshine.batch.common.jdbc;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베디드 H2의 person 테이블 전체를 조회하면서 RowMapper별 매핑 비용을 비교합니다.
+ * - beanPropertyRowMapper : 행마다 리플렉션 + BeanWrapper
+ * - methodHandleRowMapper : 첫 행에서 컬럼과 setter(MethodHandle)를 연결한 뒤 재사용
+ * - handWrittenRowMapper : 컬럼 인덱스로 직접 생성하는 람다(하한선)
+ *
+ * ./gradlew jmh -PjmhIncludes=RowMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+    private static final String SQL = "select id, name, age, address from person";
+
+    @Param({"100000"})
+    private int rows;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<Person> beanPropertyRowMapper = new BeanPropertyRowMapper<>(Person.class);
+    private final RowMapper<Person> methodHandleRowMapper = MethodHandleRowMapper.newInstance(Person.class);
+    private final RowMapper<Person> handWrittenRowMapper = (rs, rowNum) -> new Person(
+            rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50), age VARCHAR(10), address VARCHAR(100))");
+
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{i, "홍길동" + i, String.valueOf(20 + i % 50), "서울특별시 강남구 테헤란로 " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO person VALUES (?, ?, ?, ?)", batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public void beanPropertyRowMapper(Blackhole blackhole) {
+        query(beanPropertyRowMapper, blackhole);
+    }
+
+    @Benchmark
+    public void methodHandleRowMapper(Blackhole blackhole) {
+        query(methodHandleRowMapper, blackhole);
+    }
+
+    @Benchmark
+    public void handWrittenRowMapper(Blackhole blackhole) {
+        query(handWrittenRowMapper, blackhole);
+    }
+
+    private void query(RowMapper<Person> rowMapper, Blackhole blackhole) {
+        jdbcTemplate.query(SQL, rs -> {
+            blackhole.consume(rowMapper.mapRow(rs, rs.getRow()));
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.eastshine.batch.common.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 청크가 커밋될 때마다 실행되는 ExecutionContext 저장 비용을 직렬화 방식별로 비교합니다.
+ * - serialize, deserialize : 직렬화만 측정 (JdbcExecutionContextDao와 같이 결과를 문자열로 변환)
+ * - updateExecutionContext : 임베디드 H2의 JobRepository에 스텝 ExecutionContext를 저장 (청크 커밋마다 실행되는 구간)
+ *
+ * contextSize는 ExecutionContext의 항목 수입니다. 3은 reader 하나의 위치, 200은 파티션 범위를 담은 매니저 스텝의 크기입니다.
+ *
+ * ./gradlew jmh -PjmhIncludes=ExecutionContextSerializerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionContextSerializerBenchmark {
+
+    @Param({"jackson", "binary", "binaryCompressed"})
+    private String serializerName;
+
+    @Param({"3", "200"})
+    private int contextSize;
+
+    private EmbeddedDatabase database;
+    private ExecutionContextSerializer serializer;
+    private JobRepository jobRepository;
+    private StepExecution stepExecution;
+    private Map<String, Object> context;
+    private byte[] serialized;
+    private long readCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        serializer = serializer(serializerName);
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:org/springframework/batch/core/schema-h2.sql")
+                .build();
+
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(new DataSourceTransactionManager(database));
+        factory.setSerializer(serializer);
+        factory.afterPropertiesSet();
+        jobRepository = factory.getObject();
+
+        JobExecution jobExecution = jobRepository.createJobExecution("serializerBenchmarkJob", new JobParameters());
+        stepExecution = jobExecution.createStepExecution("serializerBenchmarkStep");
+        jobRepository.add(stepExecution);
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        for (int i = 0; i < contextSize; i++) {
+            switch (i % 3) {
+                case 0:
+                    executionContext.putLong("partition" + i + ".minId", i * 10_000L);
+                    break;
+                case 1:
+                    executionContext.putInt("JpaPagingItemReader.read.count." + i, i * 100);
+                    break;
+                default:
+                    executionContext.putString("partition" + i + ".name", "memberLevelUpStep:partition" + i);
+            }
+        }
+        context = executionContext.toMap();
+        serialized = serialize().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(context, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Object> deserialize() throws IOException {
+        return serializer.deserialize(new ByteArrayInputStream(serialized));
+    }
+
+    @Benchmark
+    public void updateExecutionContext() {
+        stepExecution.getExecutionContext().putLong("JpaPagingItemReader.read.count", ++readCount);
+        jobRepository.updateExecutionContext(stepExecution);
+    }
+
+    private static ExecutionContextSerializer serializer(String name) {
+        switch (name) {
+            case "jackson":
+                return new Jackson2ExecutionContextStringSerializer();
+            case "binary":
+                return new BinaryExecutionContextSerializer(new ExecutionContextTypeRegistry(), -1);
+            case "binaryCompressed":
+                return new BinaryExecutionContextSerializer(new ExecutionContextTypeRegistry(), 0);
+            default:
+                throw new IllegalArgumentException("Unknown serializer : " + name);
+        }
+    }
+}
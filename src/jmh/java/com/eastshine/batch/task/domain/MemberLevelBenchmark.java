@@ -0,0 +1,52 @@
+package com.eastshine.batch.task.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member.levelUp()(내부적으로 Level.nextLevelOf)과 등급 상향 조건 판단의 비용을 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemberLevelBenchmark {
+    private static final int SIZE = 1024;
+
+    private final Member[] members = new Member[SIZE];
+    private int index;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            members[i] = new Member("member" + i, (i * 1_000) % 700_000, Member.Level.NORMAL);
+        }
+    }
+
+    @Benchmark
+    public Member.Level levelUp() {
+        return next().levelUp();
+    }
+
+    @Benchmark
+    public boolean notAvailableLevelUp() {
+        return next().notAvailableLeveUp();
+    }
+
+    private Member next() {
+        return members[index++ & (SIZE - 1)];
+    }
+}
@@ -0,0 +1,132 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베디드 H2에서 memberLevelUpJob 빈을 처음부터 끝까지 실행합니다.
+ * 스텝을 따로 구성하지 않고 애플리케이션과 같은 빈(커서 reader, processor, 장애 허용 정책, 분할 writer, bulk writer)을 실행하므로
+ * 운영 구성의 비용이 모두 측정에 포함됩니다.
+ * 회원 수(rows), 청크 크기(chunkSize), 비동기 처리 스레드 수(asyncWorkers, 0이면 memberLevelUpStep)의 조합마다
+ * 잡 한 번의 실행 시간을 측정합니다.
+ *
+ * ./gradlew jmh -PjmhIncludes=MemberLevelUpStepBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberLevelUpStepBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"10", "100", "1000"})
+    private int chunkSize;
+
+    @Param({"0", "4"})
+    private int asyncWorkers;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private JobLauncher jobLauncher;
+    private Job job;
+    private long runId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.batch.job.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:member-benchmark;DB_CLOSE_DELAY=-1",
+                        "decorator.datasource.enabled=false", // p6spy 로깅 비용은 측정에서 제외합니다.
+                        "logging.level.root=WARN")
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jobLauncher = context.getBean(JobLauncher.class);
+        job = context.getBean("memberLevelUpJob", Job.class);
+
+        insertMembers();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLevels() {
+        jdbcTemplate.update("UPDATE member SET level = 'NORMAL', updated_date = NULL");
+    }
+
+    @Benchmark
+    public JobExecution memberLevelUpJob() throws Exception {
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run.id", ++runId)
+                .addLong(ChunkParameters.CHUNK_SIZE, (long) chunkSize)
+                .addLong(ChunkParameters.ASYNC_WORKERS, (long) asyncWorkers)
+                .toJobParameters());
+
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("memberLevelUpJob failed : " + jobExecution.getAllFailureExceptions());
+        }
+        return jobExecution;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void insertMembers() {
+        int batchSize = 10_000;
+        for (int from = 0; from < rows; from += batchSize) {
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, rows); i++) {
+                batch.add(new Object[]{"member" + i, (i % 10) * 100_000}); // 약 80%가 상향 대상입니다.
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO member(name, total_amount, level) VALUES (?, ?, 'NORMAL')", batch);
+        }
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableBatchProcessing
+    @EntityScan(basePackageClasses = Member.class)
+    @EnableJpaRepositories(basePackageClasses = MemberRepository.class)
+    @Import(MemberLevelConfiguration.class)
+    static class BenchmarkConfiguration {
+    }
+}
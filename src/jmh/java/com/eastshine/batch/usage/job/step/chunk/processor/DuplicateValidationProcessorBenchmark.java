@@ -0,0 +1,62 @@
+package com.eastshine.batch.usage.job.step.chunk.processor;
+
+import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.DeduplicationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 중복 제거 processor의 아이템당 처리 시간을 측정합니다.
+ * distinctKeys 개의 이름을 순환하므로 첫 순환 이후의 호출은 모두 중복으로 걸러집니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DuplicateValidationProcessorBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int distinctKeys;
+
+    @Param({"EXACT", "HASH", "BLOOM"})
+    private DeduplicationType strategy;
+
+    private Person[] persons;
+    private DuplicateValidationProcessor<Person> processor;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void createPersons() {
+        persons = new Person[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            persons[i] = new Person(i, "name" + i, "20", "address" + i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createProcessor() {
+        processor = new DuplicateValidationProcessor<>(Person::getName, strategy.create(distinctKeys, DeduplicationType.DEFAULT_FALSE_POSITIVE_RATE));
+        index = 0;
+    }
+
+    @Benchmark
+    public Person process() throws Exception {
+        Person person = persons[index];
+        index = (index + 1) % distinctKeys;
+        return processor.process(person);
+    }
+}
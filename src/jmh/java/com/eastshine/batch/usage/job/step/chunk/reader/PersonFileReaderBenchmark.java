@@ -0,0 +1,125 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 person csv 파일을 끝까지 읽는 시간을 비교합니다.
+ * - flatFileItemReader : FlatFileItemReaderUsage의 FlatFileItemReader + personLineMapper
+ * - mappedPersonItemReader : MappedPersonItemReader 한 개(단일 스레드)
+ * - partitionedMappedPersonItemReader : MappedFileRangePartitioner로 코어 수만큼 나누어 병렬로 읽기
+ *
+ * 할당량까지 보려면 ./gradlew jmh -PjmhIncludes=PersonFileReaderBenchmark 에 -prof gc를 추가합니다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonFileReaderBenchmark {
+    private static final int GRID_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Path file;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("person-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,age,address\n");
+            for (int i = 1; i <= rows; i++) {
+                writer.write(i + ",홍길동" + i + "," + (20 + i % 50) + ",서울특별시 강남구 테헤란로 " + i + "\n");
+            }
+        }
+        executorService = Executors.newFixedThreadPool(GRID_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void flatFileItemReader(Blackhole blackhole) throws Exception {
+        FlatFileItemReader<Person> reader = new FlatFileItemReaderBuilder<Person>()
+                .name("csvFileItemReader")
+                .encoding("UTF-8")
+                .resource(new FileSystemResource(file))
+                .linesToSkip(1)
+                .lineMapper(FlatFileItemReaderUsage.personLineMapper())
+                .build();
+
+        reader.open(new ExecutionContext());
+        Person person;
+        while ((person = reader.read()) != null) {
+            blackhole.consume(person);
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    public void mappedPersonItemReader(Blackhole blackhole) throws Exception {
+        ExecutionContext partition = new MappedFileRangePartitioner(file, 1).partition(1).get("partition0");
+        readPartition(partition, blackhole);
+    }
+
+    @Benchmark
+    public void partitionedMappedPersonItemReader(Blackhole blackhole) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (ExecutionContext partition : new MappedFileRangePartitioner(file, 1).partition(GRID_SIZE).values()) {
+            futures.add(executorService.submit(() -> {
+                readPartition(partition, blackhole);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void readPartition(ExecutionContext partition, Blackhole blackhole) throws Exception {
+        MappedPersonItemReader reader = new MappedPersonItemReader(file,
+                partition.getLong(MappedFileRangePartitioner.START_OFFSET),
+                partition.getLong(MappedFileRangePartitioner.END_OFFSET));
+
+        reader.open(new ExecutionContext());
+        Person person;
+        while ((person = reader.read()) != null) {
+            blackhole.consume(person);
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlatFileItemReaderUsage의 csv 한 줄 -> Person 매핑 비용을 측정합니다.
+ * - mapLine : DelimitedLineTokenizer + 필드 이름 기반 FieldSetMapper (personLineMapper)
+ * - mapLineByIndex : DelimitedLineTokenizer + 인덱스 기반 PersonFieldSetMapper
+ * - mapLineWithPersonLineMapper : 토큰화와 매핑을 한 번에 수행하는 PersonLineMapper
+ *
+ * 할당량까지 보려면 ./gradlew jmh -PjmhIncludes=PersonLineMapperBenchmark 에 -prof gc를 추가합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonLineMapperBenchmark {
+    private static final String LINE = "1024,홍길동,32,서울특별시 강남구 테헤란로 123";
+
+    private final LineMapper<Person> lineMapper = FlatFileItemReaderUsage.personLineMapper();
+    private final LineMapper<Person> indexLineMapper = indexLineMapper();
+    private final LineMapper<Person> personLineMapper = new PersonLineMapper();
+    private int lineNumber;
+
+    @Benchmark
+    public Person mapLine() throws Exception {
+        return lineMapper.mapLine(LINE, ++lineNumber);
+    }
+
+    @Benchmark
+    public Person mapLineByIndex() throws Exception {
+        return indexLineMapper.mapLine(LINE, ++lineNumber);
+    }
+
+    @Benchmark
+    public Person mapLineWithPersonLineMapper() throws Exception {
+        return personLineMapper.mapLine(LINE, ++lineNumber);
+    }
+
+    private static LineMapper<Person> indexLineMapper() {
+        DefaultLineMapper<Person> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new DelimitedLineTokenizer());
+        lineMapper.setFieldSetMapper(new PersonFieldSetMapper());
+        return lineMapper;
+    }
+}
@@ -0,0 +1,128 @@
+package com.eastshine.batch.usage.job.step.chunk.writer;
+
+import com.eastshine.batch.usage.domain.Person2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베디드 H2에서 jpaItemWriterJob(Person -> Person2)을 writer별로 처음부터 끝까지 실행합니다.
+ * - jpa : JpaItemWriter(아이템마다 merge, 커밋까지 영속성 컨텍스트에 보관, IDENTITY였다면 배치 불가)
+ * - stateless : StatelessSessionItemWriter(영속성 컨텍스트 없이 insert, 시퀀스 id로 JDBC 배치)
+ *
+ * ./gradlew jmh -PjmhIncludes=Person2WriterBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class Person2WriterBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int chunkSize;
+
+    @Param({"jpa", JpaItemWriterUsage.STATELESS_WRITER})
+    private String writer;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private JobLauncher jobLauncher;
+    private Job job;
+    private long runId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.batch.job.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:person2-benchmark;DB_CLOSE_DELAY=-1",
+                        "decorator.datasource.enabled=false", // p6spy 로깅 비용은 측정에서 제외합니다.
+                        "logging.level.root=WARN")
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jobLauncher = context.getBean(JobLauncher.class);
+        job = context.getBean("jpaItemWriterJob", Job.class);
+
+        insertPersons();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncatePerson2() {
+        jdbcTemplate.execute("TRUNCATE TABLE person2");
+    }
+
+    @Benchmark
+    public JobExecution jpaItemWriterJob() throws Exception {
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addLong("run.id", ++runId)
+                .addLong("chunkSize", (long) chunkSize);
+        if (JpaItemWriterUsage.STATELESS_WRITER.equals(writer)) {
+            builder.addString("writer", writer);
+        }
+
+        JobExecution jobExecution = jobLauncher.run(job, builder.toJobParameters());
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("jpaItemWriterJob failed : " + jobExecution.getAllFailureExceptions());
+        }
+        return jobExecution;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void insertPersons() {
+        int batchSize = 10_000;
+        for (int from = 0; from < rows; from += batchSize) {
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, rows); i++) {
+                batch.add(new Object[]{"홍길동" + i, String.valueOf(20 + i % 50), "서울특별시 강남구 테헤란로 " + i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO person(name, age, address) VALUES (?, ?, ?)", batch);
+        }
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableBatchProcessing
+    @EntityScan(basePackageClasses = Person2.class)
+    @Import(JpaItemWriterUsage.class)
+    static class BenchmarkConfiguration {
+    }
+}
@@ -0,0 +1,60 @@
+package com.eastshine.batch.common.async;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * AsyncItemProcessor가 아이템을 처리할 고정 크기 스레드 풀입니다.
+ * 큐의 크기는 queueCapacity로 제한되고, 큐가 가득 차면 CallerRunsPolicy로 reader 스레드가 직접 처리해 읽기 속도를 늦춥니다.
+ *
+ * 스텝마다 새로 생성하고 종료하도록 @StepScope 빈으로 등록합니다. 초기화(afterPropertiesSet)와 종료(destroy)는 스프링이 호출합니다.
+ * - batch.async.queue.depth (Gauge) : 큐에서 대기 중인 아이템 수. 스레드 풀이 살아 있는 동안만 등록됩니다.
+ */
+public class AsyncPipelineTaskExecutor extends ThreadPoolTaskExecutor {
+    private final String name;
+
+    private Gauge queueDepthGauge;
+
+    public AsyncPipelineTaskExecutor(String name, int workers, int queueCapacity) {
+        Assert.isTrue(workers > 0, "workers must be greater than zero");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero");
+
+        this.name = name;
+        setCorePoolSize(workers);
+        setMaxPoolSize(workers);
+        setQueueCapacity(queueCapacity);
+        setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        setThreadNamePrefix(name + "-async-");
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+        queueDepthGauge = Gauge.builder("batch.async.queue.depth", getThreadPoolExecutor(), executor -> executor.getQueue().size())
+                .description("Items waiting in the async pipeline queue")
+                .tag("name", name)
+                .strongReference(true)
+                .register(Metrics.globalRegistry);
+        return executorService;
+    }
+
+    /**
+     * 다음 스텝 실행에서 새 스레드 풀의 큐를 측정할 수 있도록 게이지를 제거합니다.
+     */
+    @Override
+    public void shutdown() {
+        if (Objects.nonNull(queueDepthGauge)) {
+            Metrics.globalRegistry.remove(queueDepthGauge);
+            queueDepthGauge = null;
+        }
+        super.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package com.eastshine.batch.common.async;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * 아이템마다 처리 시간을 기록하는 AsyncItemProcessor입니다.
+ * 위임 processor를 taskExecutor(AsyncPipelineTaskExecutor)에서 실행하고 결과 대신 Future를 반환하므로, writer는 MeteredAsyncItemWriter를 사용해야 합니다.
+ * 작업 스레드에 현재 StepExecution을 등록하는 것은 AsyncItemProcessor가 처리하므로 위임 processor에서 @StepScope 빈을 사용할 수 있습니다.
+ *
+ * - batch.async.process (Timer) : 아이템 하나의 처리 시간과 처리 건수(처리량)
+ */
+public class MeteredAsyncItemProcessor<I, O> extends AsyncItemProcessor<I, O> {
+
+    public MeteredAsyncItemProcessor(String name, ItemProcessor<I, O> delegate, TaskExecutor taskExecutor) {
+        Timer processTimer = Timer.builder("batch.async.process")
+                .description("Time spent processing an item on the async pipeline workers")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+
+        setDelegate(item -> processTimer.recordCallable(() -> delegate.process(item)));
+        setTaskExecutor(taskExecutor);
+    }
+}
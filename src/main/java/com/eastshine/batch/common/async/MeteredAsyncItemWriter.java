@@ -0,0 +1,114 @@
+package com.eastshine.batch.common.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과를 기다린 시간과 실제로 저장한 아이템 수를 기록하는 AsyncItemWriter입니다.
+ * Future를 풀어 null(processor가 거른 아이템)을 제외하고 위임 writer에 전달하는 것은 AsyncItemWriter가 처리합니다.
+ *
+ * AsyncItemProcessor는 거른 아이템도 Future로 반환하므로 StepExecution의 writeCount에는 거른 아이템이 포함됩니다.
+ * 실제로 저장한 아이템 수는 ExecutionContext의 WRITTEN_COUNT로 조회합니다.
+ * 청크에서 저장한 수는 청크가 커밋된 뒤(afterChunk) 합산하고, 롤백되면(afterChunkError) 버리므로 재시도나 커밋 실패로 많게 집계되지 않습니다.
+ * 스텝마다 집계하므로 빈은 @StepScope로 등록하며, 스텝이 ChunkListener로 자동 등록합니다.
+ * - batch.async.await (Timer) : 청크의 모든 결과를 기다린 시간. 길수록 processor 스레드 풀이 병목입니다.
+ * - batch.async.written (Counter) : 위임 writer에 전달한 아이템 수(처리량)
+ */
+public class MeteredAsyncItemWriter<T> extends AsyncItemWriter<T> implements ChunkListener {
+    public static final String WRITTEN_COUNT = "batch.async.written";
+
+    private final Timer awaitTimer;
+    private final Counter writtenCounter;
+
+    private long writtenCount = 0;
+    private long pendingCount = 0;
+
+    public MeteredAsyncItemWriter(String name, ItemWriter<T> delegate) {
+        this.awaitTimer = Timer.builder("batch.async.await")
+                .description("Time the writer waited for async pipeline results")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+        this.writtenCounter = Counter.builder("batch.async.written")
+                .description("Items handed to the delegate writer by the async pipeline")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+
+        setDelegate(delegate);
+    }
+
+    @Override
+    public void write(List<? extends Future<T>> items) throws Exception {
+        awaitResults(items);
+        super.write(items);
+
+        int results = 0;
+        for (Future<T> future : items) {
+            if (Objects.nonNull(future.get())) { // super.write가 성공했으므로 모든 결과가 준비되어 있습니다.
+                results++;
+            }
+        }
+        pendingCount += results;
+        writtenCounter.increment(results);
+    }
+
+    /**
+     * 모든 결과가 준비될 때까지 기다립니다.
+     * processor에서 발생한 예외는 이어서 호출하는 AsyncItemWriter.write가 원래 예외로 다시 던지므로 여기서는 기다리기만 멈춥니다.
+     */
+    private void awaitResults(List<? extends Future<T>> items) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            for (Future<T> future : items) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            // AsyncItemWriter.write가 처리합니다.
+        } finally {
+            awaitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        pendingCount = 0;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        writtenCount += pendingCount;
+        pendingCount = 0;
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        pendingCount = 0;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        writtenCount = executionContext.getLong(WRITTEN_COUNT, 0L);
+        pendingCount = 0;
+    }
+
+    /**
+     * update는 청크 트랜잭션 안에서 커밋 전에 호출되므로, 커밋될 청크의 수를 더해 같은 트랜잭션으로 저장합니다.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        executionContext.putLong(WRITTEN_COUNT, writtenCount + pendingCount);
+    }
+}
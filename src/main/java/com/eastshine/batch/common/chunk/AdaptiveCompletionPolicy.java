@@ -0,0 +1,72 @@
+package com.eastshine.batch.common.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 청크 하나의 처리 시간(읽기부터 커밋까지)이 목표 시간에 가까워지도록 청크 크기를 조절합니다.
+ * 청크가 시작될 때마다 이전 청크가 시작된 시점부터의 경과 시간을 측정하고, 목표 대비 비율만큼 청크 크기를 늘리거나 줄입니다.
+ * 한 번에 바뀌는 폭은 최대 2배로 제한하고, 크기는 [minChunkSize, maxChunkSize] 범위를 벗어나지 않습니다.
+ *
+ * 스텝 실행마다 상태를 가지므로 @StepScope로 생성해야 합니다.
+ */
+@Slf4j
+public class AdaptiveCompletionPolicy extends SimpleCompletionPolicy {
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 1;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 10_000;
+
+    private static final double MAX_CHANGE_RATIO = 2.0;
+
+    private final long targetCommitNanos;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final LongSupplier nanoClock;
+
+    private long chunkStartedAt = 0L;
+
+    public AdaptiveCompletionPolicy(int initialChunkSize, long targetCommitMillis) {
+        this(initialChunkSize, targetCommitMillis, DEFAULT_MIN_CHUNK_SIZE, DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    public AdaptiveCompletionPolicy(int initialChunkSize, long targetCommitMillis, int minChunkSize, int maxChunkSize) {
+        this(initialChunkSize, targetCommitMillis, minChunkSize, maxChunkSize, System::nanoTime);
+    }
+
+    /**
+     * 테스트에서 경과 시간을 지정할 수 있도록 시계를 전달받습니다.
+     */
+    AdaptiveCompletionPolicy(int initialChunkSize, long targetCommitMillis, int minChunkSize, int maxChunkSize, LongSupplier nanoClock) {
+        super(initialChunkSize);
+        this.targetCommitNanos = TimeUnit.MILLISECONDS.toNanos(targetCommitMillis);
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext context) {
+        long now = nanoClock.getAsLong();
+        if (chunkStartedAt > 0) {
+            adjust(now - chunkStartedAt);
+        }
+        chunkStartedAt = now;
+
+        return super.start(context);
+    }
+
+    private void adjust(long elapsedNanos) {
+        int current = getChunkSize();
+        double ratio = (double) targetCommitNanos / Math.max(elapsedNanos, 1L);
+        ratio = Math.max(1 / MAX_CHANGE_RATIO, Math.min(MAX_CHANGE_RATIO, ratio));
+
+        int next = (int) Math.max(minChunkSize, Math.min(maxChunkSize, Math.round(current * ratio)));
+        if (next != current) {
+            log.debug("chunk size {} -> {} (elapsed : {}ms)", current, next, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            setChunkSize(next);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eastshine.batch.common.chunk;
+
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * 모든 청크 스텝이 공유하는 청크 설정입니다. 각 잡 설정 클래스에서 @Import로 가져와 사용합니다.
+ * 두 빈 모두 @StepScope이므로 스텝이 실행될 때 잡 파라미터를 읽어 생성됩니다.
+ */
+@Configuration
+public class ChunkConfiguration {
+
+    @Bean
+    @StepScope
+    public ChunkParameters chunkParameters(@Value("#{jobParameters}") Map<String, Object> jobParameters) {
+        return ChunkParameters.from(jobParameters);
+    }
+
+    /**
+     * chunk(int) 대신 chunk(CompletionPolicy)로 전달합니다.
+     * targetCommitMillis 파라미터가 있으면 AdaptiveCompletionPolicy, 없으면 chunkSize 고정 크기의 SimpleCompletionPolicy를 사용합니다.
+     */
+    @Bean
+    @StepScope
+    public CompletionPolicy chunkCompletionPolicy(@Value("#{jobParameters}") Map<String, Object> jobParameters) {
+        ChunkParameters chunkParameters = ChunkParameters.from(jobParameters);
+
+        if (chunkParameters.isAdaptive()) {
+            return new AdaptiveCompletionPolicy(chunkParameters.getChunkSize(), chunkParameters.getTargetCommitMillis());
+        }
+        return new SimpleCompletionPolicy(chunkParameters.getChunkSize());
+    }
+}
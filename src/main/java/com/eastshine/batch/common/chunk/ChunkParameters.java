@@ -0,0 +1,109 @@
+package com.eastshine.batch.common.chunk;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 청크 크기(커밋 간격), 페이지 크기, fetch 크기, 비동기 처리 스레드 수를 잡 파라미터에서 읽습니다.
+ * 파라미터가 없으면 기본값을 사용하고, pageSize를 지정하지 않으면 chunkSize와 같은 값을 사용합니다.
+ * 범위를 벗어난 값(0 이하의 chunkSize 등)은 파라미터를 읽을 때 IllegalArgumentException으로 실패합니다.
+ *
+ * 실행 파라미터 예시) chunkSize=1000 pageSize=1000 fetchSize=1000 targetCommitMillis=200 asyncWorkers=4
+ */
+@Getter
+@ToString
+public class ChunkParameters {
+    public static final String CHUNK_SIZE = "chunkSize";
+    public static final String PAGE_SIZE = "pageSize";
+    public static final String FETCH_SIZE = "fetchSize";
+    public static final String TARGET_COMMIT_MILLIS = "targetCommitMillis";
+    public static final String ASYNC_WORKERS = "asyncWorkers";
+
+    public static final int DEFAULT_CHUNK_SIZE = 10;
+    public static final int FETCH_SIZE_NOT_SET = -1; // 드라이버 기본값을 사용합니다.
+
+    private final int chunkSize;
+    private final int pageSize;
+    private final int fetchSize;
+    private final long targetCommitMillis;
+    private final int asyncWorkers;
+
+    public ChunkParameters(int chunkSize, int pageSize, int fetchSize, long targetCommitMillis) {
+        this(chunkSize, pageSize, fetchSize, targetCommitMillis, 0);
+    }
+
+    public ChunkParameters(int chunkSize, int pageSize, int fetchSize, long targetCommitMillis, int asyncWorkers) {
+        Assert.isTrue(chunkSize > 0, () -> CHUNK_SIZE + " must be greater than zero but was " + chunkSize);
+        Assert.isTrue(pageSize > 0, () -> PAGE_SIZE + " must be greater than zero but was " + pageSize);
+        Assert.isTrue(fetchSize > 0 || fetchSize == FETCH_SIZE_NOT_SET,
+                () -> FETCH_SIZE + " must be greater than zero but was " + fetchSize);
+        Assert.isTrue(targetCommitMillis >= 0, () -> TARGET_COMMIT_MILLIS + " must not be negative but was " + targetCommitMillis);
+        Assert.isTrue(asyncWorkers >= 0, () -> ASYNC_WORKERS + " must not be negative but was " + asyncWorkers);
+        this.chunkSize = chunkSize;
+        this.pageSize = pageSize;
+        this.fetchSize = fetchSize;
+        this.targetCommitMillis = targetCommitMillis;
+        this.asyncWorkers = asyncWorkers;
+    }
+
+    /**
+     * #{jobParameters}로 주입받은 값에서 생성합니다.
+     * 커맨드 라인에서 전달한 파라미터는 문자열, 코드에서 전달한 파라미터는 Long이므로 둘 다 허용합니다.
+     */
+    public static ChunkParameters from(Map<String, Object> jobParameters) {
+        int chunkSize = (int) getLong(jobParameters, CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+        int pageSize = (int) getLong(jobParameters, PAGE_SIZE, chunkSize);
+        int fetchSize = (int) getLong(jobParameters, FETCH_SIZE, FETCH_SIZE_NOT_SET);
+        long targetCommitMillis = getLong(jobParameters, TARGET_COMMIT_MILLIS, 0L);
+        int asyncWorkers = (int) getLong(jobParameters, ASYNC_WORKERS, 0L);
+
+        return new ChunkParameters(chunkSize, pageSize, fetchSize, targetCommitMillis, asyncWorkers);
+    }
+
+    /**
+     * JobExecutionDecider처럼 스텝 밖에서 JobParameters를 직접 받는 경우에 사용합니다.
+     */
+    public static ChunkParameters from(JobParameters jobParameters) {
+        Map<String, Object> values = new HashMap<>();
+        jobParameters.getParameters().forEach((key, parameter) -> values.put(key, parameter.getValue()));
+        return from(values);
+    }
+
+    /**
+     * targetCommitMillis가 지정되면 커밋 지연 시간에 맞춰 청크 크기를 조절합니다.
+     */
+    public boolean isAdaptive() {
+        return targetCommitMillis > 0;
+    }
+
+    /**
+     * asyncWorkers가 지정되면 processor를 별도의 스레드 풀에서 실행하는 비동기 파이프라인으로 처리합니다.
+     */
+    public boolean isAsync() {
+        return asyncWorkers > 0;
+    }
+
+    /**
+     * 커서 reader가 한 번에 가져올 행 수입니다. fetchSize를 지정하지 않으면 pageSize를 사용합니다.
+     */
+    public int getFetchSizeOrPageSize() {
+        return fetchSize > 0 ? fetchSize : pageSize;
+    }
+
+    private static long getLong(Map<String, Object> jobParameters, String key, long defaultValue) {
+        Object value = Objects.isNull(jobParameters) ? null : jobParameters.get(key);
+        if (Objects.isNull(value) || value.toString().isEmpty()) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+}
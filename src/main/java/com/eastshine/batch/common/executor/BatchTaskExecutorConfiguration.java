@@ -0,0 +1,83 @@
+package com.eastshine.batch.common.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * 파티션 스텝과 멀티 스레드 스텝이 공유하는 TaskExecutor입니다. 각 잡 설정 클래스에서 @Import로 가져와 사용합니다.
+ * batch.task-executor.mode로 실행할 스레드의 종류를 선택합니다.
+ *
+ * - platform(기본값) : pool-size(기본값 CPU 코어 수) 크기의 스레드 풀. 스레드 수보다 많은 파티션은 큐에서 대기합니다.
+ * - virtual : 작업마다 가상 스레드를 생성합니다. JDBC 호출로 블로킹되는 동안 캐리어 스레드를 반납하므로
+ *   I/O 위주의 파티션 수백 개를 스레드 풀 크기 조정 없이 동시에 실행할 수 있습니다.
+ *   동시에 실행되는 수는 virtual-concurrency-limit(기본값 제한 없음)과 커넥션 풀 크기로 제한됩니다.
+ *   JDK 21 미만에서 실행하면 경고를 남기고 platform 스레드 풀을 사용합니다.
+ *
+ * pinning-diagnostics=true이면 가상 스레드가 캐리어 스레드에 고정되는 구간을 VirtualThreadPinningMonitor로 기록합니다.
+ *
+ * 실행 예시) --batch.task-executor.mode=virtual --batch.task-executor.pinning-diagnostics=true
+ */
+@Slf4j
+@Configuration
+public class BatchTaskExecutorConfiguration {
+    public static final String PLATFORM = "platform";
+    public static final String VIRTUAL = "virtual";
+
+    private static final String THREAD_NAME_PREFIX = "batch-";
+
+    @Bean
+    public TaskExecutor batchTaskExecutor(@Value("${batch.task-executor.mode:" + PLATFORM + "}") String mode,
+                                          @Value("${batch.task-executor.pool-size:0}") int poolSize,
+                                          @Value("${batch.task-executor.virtual-concurrency-limit:-1}") int virtualConcurrencyLimit) {
+        if (VIRTUAL.equalsIgnoreCase(mode)) {
+            if (VirtualThreads.isSupported()) {
+                return virtualThreadTaskExecutor(virtualConcurrencyLimit);
+            }
+            log.warn(">>>>> Virtual threads require Java 21 but was {}. Falling back to a platform thread pool.", Runtime.version());
+        } else if (!PLATFORM.equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unknown batch.task-executor.mode : " + mode);
+        }
+        return platformThreadPoolTaskExecutor(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "batch.task-executor.pinning-diagnostics", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${batch.task-executor.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+
+    /**
+     * SimpleAsyncTaskExecutor는 작업마다 ThreadFactory로 새 스레드를 생성하므로, 가상 스레드 팩토리를 전달하면 풀링 없이 동작합니다.
+     * concurrencyLimit이 -1(UNBOUNDED_CONCURRENCY)이면 제한하지 않고, 제한에 도달하면 작업을 제출한 스레드가 대기합니다.
+     */
+    private TaskExecutor virtualThreadTaskExecutor(int concurrencyLimit) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory(THREAD_NAME_PREFIX + "virtual-"));
+        taskExecutor.setConcurrencyLimit(concurrencyLimit);
+        log.info(">>>>> batchTaskExecutor : virtual threads (concurrency limit {})", concurrencyLimit);
+        return taskExecutor;
+    }
+
+    /**
+     * 빈으로 반환하므로 initialize()는 스프링이 afterPropertiesSet()으로 호출합니다. 직접 호출하면 스레드 풀이 두 번 생성됩니다.
+     * 코어 스레드는 종료되지 않으므로 데몬 스레드로 생성해, 잡이 끝난 뒤 컨텍스트를 닫지 않아도 JVM이 종료되도록 합니다.
+     */
+    private TaskExecutor platformThreadPoolTaskExecutor(int poolSize) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        taskExecutor.setDaemon(true);
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        log.info(">>>>> batchTaskExecutor : {} platform threads", poolSize);
+        return taskExecutor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eastshine.batch.common.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 가상 스레드가 캐리어(플랫폼) 스레드에 고정(pinning)되는 구간을 JFR 이벤트(jdk.VirtualThreadPinned)로 감지해 로그와 메트릭으로 남깁니다.
+ *
+ * 가상 스레드는 블로킹 I/O에서 캐리어 스레드를 반납하지만, synchronized 블록 안에서 블로킹되면 JDK 21~23에서는 캐리어 스레드를 붙잡습니다.
+ * JDBC 드라이버는 커넥션 단위로 synchronized를 사용하는 경우가 많아, 고정이 잦으면 파티션을 수백 개로 늘려도 동시에 실행되는 수는 캐리어 스레드 수(코어 수)에 묶입니다.
+ * 이벤트의 스택 트레이스로 어느 드라이버 코드에서 고정되는지 확인합니다.
+ *
+ * - batch.virtual.pinned (Counter) : threshold보다 오래 고정된 횟수
+ *
+ * JFR RecordingStream(JDK 14 이상)을 리플렉션으로 사용하므로, 가상 스레드를 지원하지 않는 JVM에서는 아무것도 하지 않습니다.
+ * JDK 21~23에서는 -Djdk.tracePinnedThreads=short 옵션으로 고정될 때마다 표준 출력에 스택 트레이스를 출력할 수도 있습니다.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+
+    private AutoCloseable recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("batch.virtual.pinned")
+                .description("Virtual threads pinned to their carrier thread longer than the threshold")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!VirtualThreads.isSupported()) {
+            log.info(">>>>> Virtual thread pinning diagnostics disabled : Java {} has no virtual threads", Runtime.version());
+            return;
+        }
+
+        try {
+            Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+
+            Object stream = streamType.getConstructor().newInstance();
+            Object settings = streamType.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+            settingsType.getMethod("withStackTrace").invoke(settings);
+
+            Consumer<Object> onPinned = this::onPinned;
+            streamType.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onPinned);
+            streamType.getMethod("startAsync").invoke(stream);
+
+            recordingStream = (AutoCloseable) stream;
+            log.info(">>>>> Virtual thread pinning diagnostics enabled (threshold {})", threshold);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn(">>>>> Could not start virtual thread pinning diagnostics", e);
+        }
+    }
+
+    /**
+     * RecordedEvent의 toString()은 고정된 시간과 스택 트레이스를 포함합니다.
+     */
+    private void onPinned(Object recordedEvent) {
+        pinnedCounter.increment();
+        log.warn(">>>>> Virtual thread pinned to its carrier thread : {}", recordedEvent);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (Objects.nonNull(recordingStream)) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eastshine.batch.common.executor;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(JDK 21)를 리플렉션으로 생성합니다.
+ * 프로젝트는 Java 11로 컴파일하므로 Thread.ofVirtual()을 직접 호출할 수 없고, JDK 21 이상에서 실행할 때만 사용할 수 있습니다.
+ */
+public final class VirtualThreads {
+    private static final int MINIMUM_FEATURE_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 실행 중인 JVM이 정식 기능(--enable-preview 없이)으로 가상 스레드를 지원하는지 확인합니다.
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= MINIMUM_FEATURE_VERSION;
+    }
+
+    /**
+     * Thread.ofVirtual().name(namePrefix, 0).factory()와 같습니다. 스레드 이름은 namePrefix0, namePrefix1, ... 입니다.
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java " + MINIMUM_FEATURE_VERSION + " but was " + Runtime.version());
+        }
+
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+}
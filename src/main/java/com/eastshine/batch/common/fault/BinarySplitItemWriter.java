@@ -0,0 +1,140 @@
+package com.eastshine.batch.common.fault;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 청크 쓰기가 스킵할 예외로 실패하면 청크를 반씩 나누어 다시 쓰면서 실패한 아이템만 골라 스킵합니다.
+ *
+ * 스프링 배치의 기본 동작은 청크를 롤백한 뒤 아이템을 하나씩 각자의 트랜잭션으로 다시 쓰므로, 청크 크기가 n이면 n번의 쓰기와 커밋이 필요합니다.
+ * 이 writer는 청크 트랜잭션 안에서 세이브포인트로 실패한 쓰기만 되돌리므로, 실패한 아이템이 하나이면 약 2log2(n)번의 쓰기로 찾고
+ * 나머지 아이템은 같은 트랜잭션에서 한 번에 커밋됩니다.
+ *
+ * - 청크 트랜잭션(JDBC 커넥션)을 공유하는 writer에만 사용합니다. 쓰기마다 세이브포인트를 만들고 해제하는 문이 추가됩니다.
+ * - 재시도할 예외(데드락 등)나 스킵하지 않는 예외는 나누지 않고 그대로 던져 스텝의 재시도 정책에 맡깁니다.
+ * - 스킵한 아이템은 청크의 StepContribution에 기록하고(FaultTolerancePolicy.apply(...)로 만든 스텝이 노출합니다), 커밋된 뒤 SkipListener(onSkipInWrite)에 전달합니다.
+ *   StepContribution은 스프링 배치가 청크 트랜잭션 안에서 StepExecution에 반영하고 롤백되면 버리므로, 재시도한 청크의 아이템이 두 번 집계되지 않습니다.
+ *   skipLimit도 스프링 배치의 스킵과 같이 StepContribution의 스킵 건수로 확인합니다.
+ */
+@Slf4j
+public class BinarySplitItemWriter<T> implements ItemWriter<T> {
+    private final ItemWriter<T> delegate;
+    private final DataSource dataSource;
+    private final FaultTolerancePolicy faultTolerancePolicy;
+    private final SkipListener<?, ? super T> skipListener;
+
+    public BinarySplitItemWriter(ItemWriter<T> delegate, DataSource dataSource,
+                                 FaultTolerancePolicy faultTolerancePolicy, SkipListener<?, ? super T> skipListener) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.faultTolerancePolicy = faultTolerancePolicy;
+        this.skipListener = skipListener;
+    }
+
+    @Override
+    public void write(List<? extends T> items) throws Exception {
+        if (items.isEmpty()) {
+            return;
+        }
+        StepContribution contribution = ContributionAwareStepBuilder.currentContribution();
+        if (Objects.isNull(contribution)) {
+            throw new IllegalStateException("BinarySplitItemWriter must be used in a step built by FaultTolerancePolicy.apply(...)");
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (connection.getAutoCommit()) {
+                throw new IllegalStateException("BinarySplitItemWriter requires a chunk transaction on the same DataSource");
+            }
+            write(connection, contribution, new ArrayList<>(items));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void write(Connection connection, StepContribution contribution, List<? extends T> items) throws Exception {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            delegate.write(items);
+        } catch (Exception e) {
+            connection.rollback(savepoint);
+            if (!faultTolerancePolicy.shouldSkip(e, contribution.getStepSkipCount())) {
+                throw e;
+            }
+            if (items.size() == 1) {
+                skip(contribution, items.get(0), e);
+                return;
+            }
+            int middle = items.size() / 2;
+            write(connection, contribution, items.subList(0, middle));
+            write(connection, contribution, items.subList(middle, items.size()));
+            return;
+        }
+        releaseQuietly(connection, savepoint);
+    }
+
+    /**
+     * 스프링 배치는 writer가 정상 종료하면 청크의 아이템 수를 모두 writeCount에 더하므로, 스킵한 아이템은 여기서 미리 뺍니다.
+     */
+    private void skip(StepContribution contribution, T item, Exception e) {
+        log.debug(">>>>> Skipped item in write : {}", item, e);
+        contribution.incrementWriteSkipCount();
+        contribution.incrementWriteCount(-1);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            skipListener.onSkipInWrite(item, e);
+            return;
+        }
+        SkippedItems skippedItems = (SkippedItems) TransactionSynchronizationManager.getResource(this);
+        if (Objects.isNull(skippedItems)) {
+            skippedItems = new SkippedItems();
+            TransactionSynchronizationManager.bindResource(this, skippedItems);
+            TransactionSynchronizationManager.registerSynchronization(skippedItems);
+        }
+        skippedItems.add(item, e);
+    }
+
+    private static void releaseQuietly(Connection connection, Savepoint savepoint) {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            log.trace(">>>>> Could not release savepoint", e); // 해제하지 못한 세이브포인트는 커밋할 때 함께 해제됩니다.
+        }
+    }
+
+    /**
+     * 한 청크 트랜잭션에서 스킵한 아이템입니다. 커밋되면 SkipListener에 전달하고, 롤백되면 버립니다.
+     */
+    private class SkippedItems implements TransactionSynchronization {
+        private final List<T> items = new ArrayList<>();
+        private final List<Exception> exceptions = new ArrayList<>();
+
+        private void add(T item, Exception e) {
+            items.add(item);
+            exceptions.add(e);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BinarySplitItemWriter.this);
+
+            if (status == STATUS_COMMITTED) {
+                for (int i = 0; i < items.size(); i++) {
+                    skipListener.onSkipInWrite(items.get(i), exceptions.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.eastshine.batch.common.fault;
+
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.item.ChunkProcessor;
+
+/**
+ * 청크를 처리하는 동안 그 청크의 StepContribution을 현재 스레드에 노출하는 FaultTolerantStepBuilder입니다.
+ *
+ * 스프링 배치는 청크의 건수를 StepContribution에 모은 뒤 청크 트랜잭션 안에서 StepExecution에 반영하고, 롤백되면 버립니다.
+ * BinarySplitItemWriter는 스킵한 아이템을 이 StepContribution에 기록하므로, 스킵 건수와 writeCount가 스프링 배치의 스킵과 같은 경로로 집계됩니다.
+ */
+class ContributionAwareStepBuilder<I, O> extends FaultTolerantStepBuilder<I, O> {
+    private static final ThreadLocal<StepContribution> CURRENT_CONTRIBUTION = new ThreadLocal<>();
+
+    ContributionAwareStepBuilder(SimpleStepBuilder<I, O> parent) {
+        super(parent);
+    }
+
+    /**
+     * 현재 스레드에서 처리 중인 청크의 StepContribution입니다. 청크 처리 중이 아니면 null을 반환합니다.
+     */
+    static StepContribution currentContribution() {
+        return CURRENT_CONTRIBUTION.get();
+    }
+
+    /**
+     * contribution을 현재 스레드에 노출하고 이전 값을 반환합니다. 반환한 값은 restore(...)로 되돌립니다.
+     */
+    static StepContribution bind(StepContribution contribution) {
+        StepContribution previous = CURRENT_CONTRIBUTION.get();
+        CURRENT_CONTRIBUTION.set(contribution);
+        return previous;
+    }
+
+    static void restore(StepContribution previous) {
+        if (previous == null) {
+            CURRENT_CONTRIBUTION.remove();
+        } else {
+            CURRENT_CONTRIBUTION.set(previous);
+        }
+    }
+
+    @Override
+    protected ChunkProcessor<I> createChunkProcessor() {
+        ChunkProcessor<I> chunkProcessor = super.createChunkProcessor();
+        return (contribution, inputs) -> {
+            StepContribution previous = bind(contribution);
+            try {
+                chunkProcessor.process(contribution, inputs);
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.eastshine.batch.common.fault;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스킵한 아이템을 스텝 실행마다 하나의 파일({jobName}.{stepName}.{stepExecutionId}.dlq)에 한 줄씩 남깁니다.
+ * 스킵이 없으면 파일을 만들지 않고, 파일은 스텝이 끝날 때 닫습니다.
+ *
+ * 한 줄은 탭으로 구분한 세 필드입니다. 값 안의 탭과 줄바꿈은 공백으로 바꾸고, 예외 메시지는 MAX_MESSAGE_LENGTH 자까지만 남깁니다.
+ *   단계(read|process|write)  아이템(read는 "줄 번호:원본 행")  예외 클래스: 메시지
+ *
+ * 파티션 워커 스텝처럼 여러 스텝이 동시에 실행되어도 스텝 실행마다 파일이 나뉘므로 하나의 리스너를 공유합니다.
+ */
+@Slf4j
+public class DeadLetterSkipListener implements SkipListener<Object, Object>, StepExecutionListener {
+    static final String FILE_EXTENSION = ".dlq";
+    private static final int MAX_MESSAGE_LENGTH = 200;
+
+    private final Path directory;
+    private final Map<Long, BufferedWriter> writers = new ConcurrentHashMap<>();
+
+    public DeadLetterSkipListener(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        BufferedWriter writer = writers.remove(stepExecution.getId());
+        if (Objects.nonNull(writer)) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn(">>>>> Could not close the dead letter file of {}", stepExecution.getStepName(), e);
+            }
+            log.warn(">>>>> {} skipped {} items. See {}", stepExecution.getStepName(), stepExecution.getSkipCount(), file(stepExecution));
+        }
+        return null;
+    }
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        if (t instanceof FlatFileParseException) {
+            FlatFileParseException e = (FlatFileParseException) t;
+            write("read", e.getLineNumber() + ":" + e.getInput(), t);
+        } else {
+            write("read", "", t);
+        }
+    }
+
+    @Override
+    public void onSkipInProcess(Object item, Throwable t) {
+        write("process", String.valueOf(item), t);
+    }
+
+    @Override
+    public void onSkipInWrite(Object item, Throwable t) {
+        write("write", String.valueOf(item), t);
+    }
+
+    /**
+     * 스킵 리스너는 스텝 스레드에서 호출되므로 StepSynchronizationManager에서 현재 스텝 실행을 가져옵니다.
+     * 스킵은 드물게 발생하므로 줄마다 flush해 잡이 비정상 종료되어도 남도록 합니다.
+     */
+    private void write(String phase, String item, Throwable t) {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (Objects.isNull(context)) {
+            log.warn(">>>>> Skipped {} item outside of a step : {}", phase, item, t);
+            return;
+        }
+        StepExecution stepExecution = context.getStepExecution();
+        String message = Objects.isNull(t.getMessage()) ? "" : t.getMessage();
+        if (message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        String line = phase + '\t' + escape(item) + '\t' + escape(t.getClass().getSimpleName() + ": " + message);
+
+        BufferedWriter writer = writers.computeIfAbsent(stepExecution.getId(), id -> open(stepExecution));
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private BufferedWriter open(StepExecution stepExecution) {
+        try {
+            Files.createDirectories(directory);
+            return Files.newBufferedWriter(file(stepExecution), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path file(StepExecution stepExecution) {
+        String name = stepExecution.getJobExecution().getJobInstance().getJobName()
+                + "." + stepExecution.getStepName()
+                + "." + stepExecution.getId()
+                + FILE_EXTENSION;
+        return directory.resolve(name.replace(':', '-')); // 파티션 워커 스텝 이름(step:partition0)의 ':'는 윈도우 파일 이름에 쓸 수 없습니다.
+    }
+
+    private static String escape(String value) {
+        return value.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,32 @@
+package com.eastshine.batch.common.fault;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 청크 스텝이 공유하는 FaultTolerancePolicy를 batch.fault-tolerance 설정으로 생성합니다. 각 잡 설정 클래스에서 @Import로 가져와 사용합니다.
+ * 스텝 빈은 애플리케이션이 시작될 때 한 번 생성되므로, 잡 파라미터가 아닌 애플리케이션 설정으로 지정합니다.
+ */
+@Configuration
+public class FaultToleranceConfiguration {
+
+    @Bean
+    public FaultTolerancePolicy faultTolerancePolicy(@Value("${batch.fault-tolerance.skip-limit:10}") int skipLimit,
+                                                     @Value("${batch.fault-tolerance.retry-limit:3}") int retryLimit,
+                                                     @Value("${batch.fault-tolerance.backoff-initial-interval:100ms}") Duration initialInterval,
+                                                     @Value("${batch.fault-tolerance.backoff-multiplier:2.0}") double multiplier,
+                                                     @Value("${batch.fault-tolerance.backoff-max-interval:5s}") Duration maxInterval,
+                                                     DeadLetterSkipListener deadLetterSkipListener) {
+        return new FaultTolerancePolicy(skipLimit, retryLimit, initialInterval, multiplier, maxInterval, deadLetterSkipListener);
+    }
+
+    @Bean
+    public DeadLetterSkipListener deadLetterSkipListener(
+            @Value("${batch.fault-tolerance.dead-letter-directory:build/dead-letter}") String deadLetterDirectory) {
+        return new DeadLetterSkipListener(Paths.get(deadLetterDirectory));
+    }
+}
@@ -0,0 +1,97 @@
+package com.eastshine.batch.common.fault;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.skip.LimitCheckingItemSkipPolicy;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 청크 스텝이 공유하는 스킵, 재시도 정책입니다. FaultToleranceConfiguration이 빈으로 등록하고, 스텝 설정에서 apply(...)로 적용합니다.
+ *
+ * - 스킵 : 파일의 잘못된 행(FlatFileParseException), 제약 조건을 위반한 아이템(DataIntegrityViolationException).
+ *   스텝마다 skipLimit 건을 넘으면 스텝이 실패합니다. 스킵한 아이템은 DeadLetterSkipListener가 파일로 남깁니다.
+ * - 재시도 : 데드락, 락 대기 시간 초과 같은 일시적인 DB 오류(TransientDataAccessException, RecoverableDataAccessException).
+ *   청크를 롤백한 뒤 initialInterval부터 multiplier 배씩(최대 maxInterval) 기다렸다가 retryLimit 회까지 다시 실행합니다.
+ *
+ * 스프링 배치는 writer에서 스킵할 예외가 발생하면 청크의 아이템을 하나씩 각자의 트랜잭션으로 다시 쓰면서 실패한 아이템을 찾습니다.
+ * JDBC writer는 splittingWriter(...)로 감싸면 청크를 반씩 나누어 다시 쓰는 BinarySplitItemWriter가 실패한 아이템을 찾습니다.
+ *
+ * 실행 예시) --batch.fault-tolerance.skip-limit=100 --batch.fault-tolerance.retry-limit=5
+ */
+public class FaultTolerancePolicy {
+    private static final Map<Class<? extends Throwable>, Boolean> SKIPPABLE_EXCEPTIONS = Map.of(
+            FlatFileParseException.class, true,
+            DataIntegrityViolationException.class, true);
+    private static final Map<Class<? extends Throwable>, Boolean> RETRYABLE_EXCEPTIONS = Map.of(
+            TransientDataAccessException.class, true,
+            RecoverableDataAccessException.class, true);
+
+    private final int skipLimit;
+    private final int retryLimit;
+    private final ExponentialBackOffPolicy backOffPolicy;
+    private final DeadLetterSkipListener deadLetterSkipListener;
+    private final LimitCheckingItemSkipPolicy skipPolicy;
+    private final BinaryExceptionClassifier retryableClassifier;
+
+    public FaultTolerancePolicy(int skipLimit, int retryLimit,
+                                Duration initialInterval, double multiplier, Duration maxInterval,
+                                DeadLetterSkipListener deadLetterSkipListener) {
+        this.skipLimit = skipLimit;
+        this.retryLimit = retryLimit;
+        this.backOffPolicy = new ExponentialBackOffPolicy();
+        this.backOffPolicy.setInitialInterval(initialInterval.toMillis());
+        this.backOffPolicy.setMultiplier(multiplier);
+        this.backOffPolicy.setMaxInterval(maxInterval.toMillis());
+        this.deadLetterSkipListener = deadLetterSkipListener;
+        this.skipPolicy = new LimitCheckingItemSkipPolicy(skipLimit, SKIPPABLE_EXCEPTIONS);
+        this.retryableClassifier = new BinaryExceptionClassifier(RETRYABLE_EXCEPTIONS, false);
+    }
+
+    /**
+     * 스텝 빌더에 스킵, 재시도 정책과 DeadLetterSkipListener를 등록합니다.
+     * 예) stepBuilderFactory.get("step").chunk(...).reader(...).writer(...) 를 apply(...)로 감싼 뒤 build()
+     */
+    public <I, O> FaultTolerantStepBuilder<I, O> apply(SimpleStepBuilder<I, O> stepBuilder) {
+        stepBuilder.listener((StepExecutionListener) deadLetterSkipListener);
+
+        FaultTolerantStepBuilder<I, O> builder = new ContributionAwareStepBuilder<>(stepBuilder);
+        SKIPPABLE_EXCEPTIONS.keySet().forEach(builder::skip);
+        RETRYABLE_EXCEPTIONS.keySet().forEach(builder::retry);
+        return builder
+                .skipLimit(skipLimit)
+                .retryLimit(retryLimit)
+                .backOffPolicy(backOffPolicy)
+                .listener((SkipListener<Object, Object>) deadLetterSkipListener); // StepExecutionListener도 구현하므로 타입을 지정합니다.
+    }
+
+    /**
+     * dataSource에 직접 SQL을 실행하는 writer를 BinarySplitItemWriter로 감쌉니다. apply(...)로 만든 스텝에서만 사용할 수 있습니다.
+     * JPA writer는 실패한 flush 이후 영속성 컨텍스트를 계속 사용할 수 없으므로 감싸지 않고 스프링 배치의 스캔에 맡깁니다.
+     */
+    public <T> ItemWriter<T> splittingWriter(ItemWriter<T> delegate, DataSource dataSource) {
+        return new BinarySplitItemWriter<>(delegate, dataSource, this, deadLetterSkipListener);
+    }
+
+    public boolean isRetryable(Throwable t) {
+        return retryableClassifier.classify(t);
+    }
+
+    /**
+     * 스킵할 예외인지 확인합니다. 스킵 건수(StepContribution.getStepSkipCount())가 skipLimit에 도달했으면 SkipLimitExceededException을 던집니다.
+     */
+    public boolean shouldSkip(Throwable t, int stepSkipCount) {
+        return !isRetryable(t) && skipPolicy.shouldSkip(t, stepSkipCount);
+    }
+}
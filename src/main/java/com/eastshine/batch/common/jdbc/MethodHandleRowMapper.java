@@ -0,0 +1,188 @@
+package com.eastshine.batch.common.jdbc;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * BeanPropertyRowMapper와 같은 방식(컬럼 이름 <-> 프로퍼티 이름, 대소문자와 '_' 무시)으로 매핑하는 RowMapper입니다.
+ *
+ * BeanPropertyRowMapper는 행마다 컬럼 이름으로 프로퍼티를 찾고 BeanWrapper로 타입 변환과 setter 호출을 수행합니다.
+ * 이 RowMapper는 생성 시점에 setter를 MethodHandle로 만들어 두고, ResultSet이 바뀔 때(첫 번째 행) 한 번만
+ * ResultSetMetaData로 컬럼 인덱스와 setter, 타입별 getter(getInt, getString ...)를 연결합니다.
+ * 이후의 행은 연결된 바인딩을 순서대로 호출만 하므로 행마다 이름 비교나 리플렉션이 없습니다.
+ *
+ * 사용법은 BeanPropertyRowMapper와 같습니다.
+ * .rowMapper(MethodHandleRowMapper.newInstance(Person.class))
+ *
+ * 기본형(int, long ...) 프로퍼티에 대응하는 컬럼 값이 null이면 setter를 호출하지 않고 기본값을 유지합니다.
+ */
+public class MethodHandleRowMapper<T> implements RowMapper<T> {
+    private final Class<T> mappedClass;
+    private final MethodHandle constructor;
+    private final Map<String, Property> properties = new HashMap<>();
+
+    private volatile Bindings bindings;
+
+    public MethodHandleRowMapper(Class<T> mappedClass) {
+        this.mappedClass = mappedClass;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(mappedClass, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(mappedClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(mappedClass)) {
+                Method writeMethod = descriptor.getWriteMethod();
+                if (Objects.nonNull(writeMethod)) {
+                    properties.put(normalize(descriptor.getName()),
+                            new Property(descriptor.getPropertyType(), lookup.unreflect(writeMethod)));
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new InvalidDataAccessApiUsageException(mappedClass.getName() + " must have an accessible no-arg constructor", e);
+        }
+    }
+
+    public static <T> MethodHandleRowMapper<T> newInstance(Class<T> mappedClass) {
+        return new MethodHandleRowMapper<>(mappedClass);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Bindings current = bindings;
+        if (Objects.isNull(current) || current.resultSet != rs) {
+            current = resolve(rs);
+            bindings = current;
+        }
+
+        try {
+            Object target = constructor.invokeExact();
+            for (ColumnBinding binding : current.columns) {
+                binding.bind(rs, target);
+            }
+            return (T) target;
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataRetrievalFailureException("Unable to map row " + rowNum + " to " + mappedClass.getName(), e);
+        }
+    }
+
+    private Bindings resolve(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<ColumnBinding> columns = new ArrayList<>();
+
+        for (int index = 1; index <= metaData.getColumnCount(); index++) {
+            Property property = properties.get(normalize(JdbcUtils.lookupColumnName(metaData, index)));
+            if (Objects.nonNull(property)) {
+                columns.add(property.bind(index));
+            }
+        }
+        return new Bindings(rs, columns.toArray(new ColumnBinding[0]));
+    }
+
+    private static String normalize(String name) {
+        return StringUtils.delete(name, "_").toLowerCase(Locale.US);
+    }
+
+    @FunctionalInterface
+    private interface ColumnBinding {
+        void bind(ResultSet rs, Object target) throws Throwable;
+    }
+
+    private static class Bindings {
+        private final ResultSet resultSet;
+        private final ColumnBinding[] columns;
+
+        private Bindings(ResultSet resultSet, ColumnBinding[] columns) {
+            this.resultSet = resultSet;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 자주 쓰는 타입은 전용 getter와 기본형 MethodHandle로 박싱 없이 바인딩하고,
+     * 그 외의 타입은 BeanPropertyRowMapper와 같이 JdbcUtils.getResultSetValue로 값을 읽습니다.
+     */
+    private static class Property {
+        private final Class<?> type;
+        private final MethodHandle setter;
+
+        private Property(Class<?> type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+        }
+
+        private ColumnBinding bind(int index) {
+            if (type == int.class) {
+                MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+                return (rs, target) -> {
+                    int value = rs.getInt(index);
+                    if (!rs.wasNull()) {
+                        handle.invokeExact(target, value);
+                    }
+                };
+            }
+            if (type == long.class) {
+                MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+                return (rs, target) -> {
+                    long value = rs.getLong(index);
+                    if (!rs.wasNull()) {
+                        handle.invokeExact(target, value);
+                    }
+                };
+            }
+            if (type == double.class) {
+                MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+                return (rs, target) -> {
+                    double value = rs.getDouble(index);
+                    if (!rs.wasNull()) {
+                        handle.invokeExact(target, value);
+                    }
+                };
+            }
+            if (type == boolean.class) {
+                MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+                return (rs, target) -> {
+                    boolean value = rs.getBoolean(index);
+                    if (!rs.wasNull()) {
+                        handle.invokeExact(target, value);
+                    }
+                };
+            }
+
+            MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            if (type == String.class) {
+                return (rs, target) -> {
+                    handle.invokeExact(target, (Object) rs.getString(index));
+                };
+            }
+            return (rs, target) -> {
+                Object value = JdbcUtils.getResultSetValue(rs, index, type);
+                if (Objects.nonNull(value) || !type.isPrimitive()) {
+                    handle.invokeExact(target, value);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.eastshine.batch.common.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 청크를 rowsPerStatement 건씩 묶어 다중 행 INSERT(VALUES (...), (...), ...)로 저장합니다.
+ *
+ * JdbcBatchItemWriter + beanMapped()는 아이템마다 BeanPropertySqlParameterSource로 리플렉션해 이름 있는 파라미터를 찾고,
+ * 행마다 하나의 INSERT 문을 JDBC 배치에 추가합니다.
+ * 이 writer는 ParameterBinder로 파라미터를 위치(인덱스)로 바인딩하고, rowsPerStatement 건을 하나의 문으로 합친 뒤
+ * 같은 크기의 문들은 JDBC 배치로 한 번에 전송하므로 서버가 파싱, 실행하는 문의 수가 rowsPerStatement 배 줄어듭니다.
+ * 청크 크기가 rowsPerStatement로 나누어떨어지지 않으면 나머지 행은 별도의 문 하나로 저장합니다.
+ *
+ * 실행한 문의 수와 행 수는 Micrometer(Metrics.globalRegistry)에 기록하므로 초당 문 수, 초당 행 수를 확인할 수 있습니다.
+ * - batch.writer.multirow.write (Timer) : 청크 한 번의 저장 시간
+ * - batch.writer.multirow.statements (Counter) : 실행한 INSERT 문 수
+ * - batch.writer.multirow.rows (Counter) : 저장한 행 수
+ */
+public class MultiRowInsertItemWriter<T> implements ItemWriter<T> {
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertPrefix;
+    private final int columnCount;
+    private final ParameterBinder<T> parameterBinder;
+    private final int rowsPerStatement;
+    private final String fullStatementSql;
+
+    private final Timer writeTimer;
+    private final Counter statementCounter;
+    private final Counter rowCounter;
+
+    private boolean assertUpdates = true;
+
+    /**
+     * @param insertPrefix VALUES 앞까지의 INSERT 문. 예) insert into person2(name, age, address)
+     */
+    public MultiRowInsertItemWriter(String name,
+                                    DataSource dataSource,
+                                    String insertPrefix,
+                                    int columnCount,
+                                    ParameterBinder<T> parameterBinder,
+                                    int rowsPerStatement) {
+        Assert.isTrue(columnCount > 0, "columnCount must be greater than zero");
+        Assert.isTrue(rowsPerStatement > 0, "rowsPerStatement must be greater than zero");
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertPrefix = insertPrefix;
+        this.columnCount = columnCount;
+        this.parameterBinder = parameterBinder;
+        this.rowsPerStatement = rowsPerStatement;
+        this.fullStatementSql = sql(rowsPerStatement);
+
+        this.writeTimer = Timer.builder("batch.writer.multirow.write")
+                .description("Time spent writing a chunk with multi-row INSERT statements")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+        this.statementCounter = Counter.builder("batch.writer.multirow.statements")
+                .description("Multi-row INSERT statements executed")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+        this.rowCounter = Counter.builder("batch.writer.multirow.rows")
+                .description("Rows inserted by multi-row INSERT statements")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 저장된 행 수가 아이템 수보다 적으면 EmptyResultDataAccessException을 던집니다(JdbcBatchItemWriter.assertUpdates와 같음).
+     * 드라이버가 배치 결과로 SUCCESS_NO_INFO를 반환하면 검증하지 않습니다.
+     */
+    public void setAssertUpdates(boolean assertUpdates) {
+        this.assertUpdates = assertUpdates;
+    }
+
+    @Override
+    public void write(List<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int fullStatements = items.size() / rowsPerStatement;
+        int remainder = items.size() % rowsPerStatement;
+        long updated = 0;
+        boolean unknown = false;
+
+        long started = System.nanoTime();
+        if (fullStatements > 0) {
+            int[] counts = jdbcTemplate.batchUpdate(fullStatementSql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int statement) throws SQLException {
+                    bind(ps, items, statement * rowsPerStatement, rowsPerStatement);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return fullStatements;
+                }
+            });
+            for (int count : counts) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknown = true;
+                } else {
+                    updated += count;
+                }
+            }
+        }
+        if (remainder > 0) {
+            updated += jdbcTemplate.update(sql(remainder), ps -> bind(ps, items, fullStatements * rowsPerStatement, remainder));
+        }
+        writeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        statementCounter.increment(fullStatements + (remainder > 0 ? 1 : 0));
+        rowCounter.increment(items.size());
+
+        if (assertUpdates && !unknown && updated < items.size()) {
+            throw new EmptyResultDataAccessException("Expected " + items.size() + " inserted rows but was " + updated, items.size());
+        }
+    }
+
+    private void bind(PreparedStatement ps, List<? extends T> items, int from, int rows) throws SQLException {
+        for (int row = 0; row < rows; row++) {
+            parameterBinder.bind(ps, row * columnCount + 1, items.get(from + row));
+        }
+    }
+
+    private String sql(int rows) {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < columnCount; i++) {
+            placeholders.add("?");
+        }
+
+        StringJoiner values = new StringJoiner(", ", insertPrefix + " values ", "");
+        String row = placeholders.toString();
+        for (int i = 0; i < rows; i++) {
+            values.add(row);
+        }
+        return values.toString();
+    }
+
+    /**
+     * 아이템 하나의 값을 firstIndex부터 columnCount개의 위치에 바인딩합니다.
+     * 예) (ps, i, person) -> { ps.setString(i, person.getName()); ps.setString(i + 1, person.getAge()); ... }
+     */
+    @FunctionalInterface
+    public interface ParameterBinder<T> {
+        void bind(PreparedStatement ps, int firstIndex, T item) throws SQLException;
+    }
+}
@@ -0,0 +1,41 @@
+package com.eastshine.batch.common.jdbc;
+
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.util.Assert;
+
+/**
+ * 결과를 한 번에 메모리에 올리지 않고 fetchSize 단위로 가져오는(streaming) JdbcCursorItemReader를 생성합니다.
+ * 사용법은 JdbcCursorItemReaderBuilder와 같고, build 시점에 아래 설정을 추가로 적용합니다.
+ *
+ * - fetchSize : MariaDB 드라이버는 fetchSize를 지정하지 않으면 ResultSet 전체를 메모리에 읽습니다.
+ *   fetchSize가 0보다 크면 서버에서 fetchSize 행씩 가져오는 streaming 모드로 동작합니다.
+ * - verifyCursorPosition(false) : streaming ResultSet에서는 getRow()가 읽은 행 수와 다를 수 있어서
+ *   "Unexpected cursor position change" 예외가 발생합니다. RowMapper가 커서를 옮기지 않는 한 검증은 필요 없습니다.
+ *
+ * JdbcCursorItemReader는 기본적으로 TYPE_FORWARD_ONLY, CONCUR_READ_ONLY 커서를 사용하고 writer와 다른 커넥션을 사용하므로,
+ * streaming 중인 커넥션에서 다른 쿼리를 실행하지 않습니다.
+ * PostgreSQL은 auto commit이 꺼져 있어야 커서로 가져오므로 connectionAutoCommit(false)를 함께 지정합니다.
+ */
+public class StreamingJdbcCursorItemReaderBuilder<T> extends JdbcCursorItemReaderBuilder<T> {
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private int streamingFetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * 0 이하의 값(ChunkParameters.FETCH_SIZE_NOT_SET 등)을 전달하면 DEFAULT_FETCH_SIZE를 사용합니다.
+     */
+    public StreamingJdbcCursorItemReaderBuilder<T> streamingFetchSize(int fetchSize) {
+        this.streamingFetchSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+        return this;
+    }
+
+    @Override
+    public JdbcCursorItemReader<T> build() {
+        Assert.isTrue(streamingFetchSize > 0, "streamingFetchSize must be greater than zero");
+
+        fetchSize(streamingFetchSize);
+        verifyCursorPosition(false);
+        return super.build();
+    }
+}
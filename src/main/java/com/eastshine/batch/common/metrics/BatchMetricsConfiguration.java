@@ -0,0 +1,71 @@
+package com.eastshine.batch.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 모든 잡에 메트릭 리스너를 등록하고, 배치 타이머의 히스토그램을 활성화합니다.
+ * 애플리케이션에서는 컴포넌트 스캔으로 등록되고, 잡 설정만 올리는 테스트에서는 @Import로 가져옵니다.
+ *
+ * batch.metrics.prometheus-file을 지정하면 잡이 끝날 때마다 모든 메트릭을 Prometheus 텍스트 형식으로 저장합니다.
+ * 실행 예시) --job.name=memberLevelUpJob --batch.metrics.prometheus-file=build/metrics/batch.prom
+ */
+@Configuration
+public class BatchMetricsConfiguration {
+    private static final AtomicBoolean HISTOGRAM_FILTER_REGISTERED = new AtomicBoolean();
+
+    /**
+     * BeanPostProcessor는 다른 빈보다 먼저 생성되므로 static으로 선언하고, 리스너는 ObjectProvider로 늦게 가져옵니다.
+     */
+    @Bean
+    public static BatchMetricsRegistrar batchMetricsRegistrar(ObjectProvider<BatchMetricsListener> batchMetricsListener,
+                                                              ObjectProvider<PrometheusFileExporter> prometheusFileExporter) {
+        registerHistogramFilter();
+        return new BatchMetricsRegistrar(batchMetricsListener, prometheusFileExporter);
+    }
+
+    @Bean
+    public BatchMetricsListener batchMetricsListener() {
+        return new BatchMetricsListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "batch.metrics.prometheus-file")
+    public PrometheusFileExporter prometheusFileExporter(@Value("${batch.metrics.prometheus-file}") String prometheusFile) {
+        return new PrometheusFileExporter(Paths.get(prometheusFile));
+    }
+
+    /**
+     * 스프링 배치의 아이템 타이머(spring.batch.item.read, spring.batch.item.process, spring.batch.chunk.write 등)와
+     * BatchMetricsListener의 타이머(batch.*)를 히스토그램으로 기록해 분위수(p95, p99)를 계산할 수 있게 합니다.
+     * 필터는 이후에 등록되는 미터에만 적용되므로 잡이 실행되기 전에 한 번만 등록합니다.
+     */
+    private static void registerHistogramFilter() {
+        if (!HISTOGRAM_FILTER_REGISTERED.compareAndSet(false, true)) {
+            return;
+        }
+        Metrics.globalRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER
+                        && (id.getName().startsWith("spring.batch.") || id.getName().startsWith("batch."))) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.eastshine.batch.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 잡, 스텝, 청크에 등록되는 메트릭 리스너입니다. BatchMetricsRegistrar가 Job, Step 빈에 자동으로 등록합니다.
+ *
+ * 아이템 단위의 read, process, write 시간은 스프링 배치가 이미 Micrometer(Metrics.globalRegistry)에 기록합니다.
+ * (spring.batch.item.read, spring.batch.item.process, spring.batch.chunk.write) 같은 구간을 리스너로 다시 측정하지 않고,
+ * BatchMetricsConfiguration에서 이 타이머들의 히스토그램을 활성화합니다.
+ * 이 리스너는 스프링 배치가 기록하지 않는 청크, 커밋, 처리량을 기록합니다. (태그 : job, step)
+ *
+ * - batch.step.items (Counter, type=read|write|filter) : 청크마다 늘어난 아이템 수. 증가율이 초당 처리 건수입니다.
+ * - batch.chunk.duration (Timer) : 청크 하나의 시작부터 커밋 완료까지의 시간
+ * - batch.chunk.commit (Timer) : 청크 트랜잭션의 커밋 시간(JPA flush 포함)
+ * - batch.chunk.rollback (Counter) : 롤백된 청크 수
+ * - batch.step.duration (Timer, status) : 스텝 실행 시간
+ *
+ * 파티션 워커 스텝(step:partitionN)은 파티션마다 태그가 늘어나지 않도록 step 태그에서 파티션 이름을 제외합니다.
+ */
+@Slf4j
+public class BatchMetricsListener implements JobExecutionListener, StepExecutionListener, ChunkListener {
+    private static final String STARTED = BatchMetricsListener.class.getName() + ".started";
+    private static final String READ_COUNT = BatchMetricsListener.class.getName() + ".readCount";
+    private static final String WRITE_COUNT = BatchMetricsListener.class.getName() + ".writeCount";
+    private static final String FILTER_COUNT = BatchMetricsListener.class.getName() + ".filterCount";
+    private static final String PARTITION_SEPARATOR = ":";
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+    }
+
+    /**
+     * 파티션 워커 스텝의 건수는 매니저 스텝에 합산되므로 제외하고 더합니다.
+     */
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        int writeCount = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> !stepExecution.getStepName().contains(PARTITION_SEPARATOR))
+                .mapToInt(StepExecution::getWriteCount)
+                .sum();
+
+        log.info("총 데이터 처리 {}건 처리 시간 : {}millis", writeCount, elapsedMillis(jobExecution.getStartTime(), jobExecution.getEndTime()));
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        long elapsedMillis = elapsedMillis(stepExecution.getStartTime(), stepExecution.getEndTime());
+
+        Timer.builder("batch.step.duration")
+                .description("Step execution time")
+                .tags(tags(stepExecution).and("status", stepExecution.getStatus().name()))
+                .register(Metrics.globalRegistry)
+                .record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        log.info("{} read : {}, filter : {}, write : {}, rollback : {}, {} items/sec",
+                stepExecution.getStepName(),
+                stepExecution.getReadCount(),
+                stepExecution.getFilterCount(),
+                stepExecution.getWriteCount(),
+                stepExecution.getRollbackCount(),
+                elapsedMillis > 0 ? stepExecution.getWriteCount() * 1000L / elapsedMillis : stepExecution.getWriteCount());
+        return null;
+    }
+
+    /**
+     * beforeChunk는 청크 트랜잭션 안에서 호출되므로, 트랜잭션 동기화로 커밋 구간을 측정합니다.
+     */
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        context.setAttribute(STARTED, System.nanoTime());
+        context.setAttribute(READ_COUNT, stepExecution.getReadCount());
+        context.setAttribute(WRITE_COUNT, stepExecution.getWriteCount());
+        context.setAttribute(FILTER_COUNT, stepExecution.getFilterCount());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new CommitTimer(tags(stepExecution)));
+        }
+    }
+
+    /**
+     * afterChunk는 청크가 커밋된 뒤 호출되므로, StepExecution에는 이 청크의 건수가 반영되어 있습니다.
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        if (!context.hasAttribute(STARTED)) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        Tags tags = tags(stepExecution);
+
+        Timer.builder("batch.chunk.duration")
+                .description("Chunk execution time including the commit")
+                .tags(tags)
+                .register(Metrics.globalRegistry)
+                .record(System.nanoTime() - (long) context.getAttribute(STARTED), TimeUnit.NANOSECONDS);
+
+        increment(tags, "read", stepExecution.getReadCount() - (int) context.getAttribute(READ_COUNT));
+        increment(tags, "write", stepExecution.getWriteCount() - (int) context.getAttribute(WRITE_COUNT));
+        increment(tags, "filter", stepExecution.getFilterCount() - (int) context.getAttribute(FILTER_COUNT));
+        context.removeAttribute(STARTED);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        Counter.builder("batch.chunk.rollback")
+                .description("Rolled back chunks")
+                .tags(tags(context.getStepContext().getStepExecution()))
+                .register(Metrics.globalRegistry)
+                .increment();
+        context.removeAttribute(STARTED);
+    }
+
+    private void increment(Tags tags, String type, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("batch.step.items")
+                .description("Items handled by the step")
+                .tags(tags.and("type", type))
+                .register(Metrics.globalRegistry)
+                .increment(count);
+    }
+
+    private static Tags tags(StepExecution stepExecution) {
+        String stepName = stepExecution.getStepName();
+        int separator = stepName.indexOf(PARTITION_SEPARATOR);
+        return Tags.of(
+                "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                "step", separator < 0 ? stepName : stepName.substring(0, separator));
+    }
+
+    private static long elapsedMillis(Date startTime, Date endTime) {
+        if (Objects.isNull(startTime)) {
+            return 0L;
+        }
+        long end = Objects.isNull(endTime) ? System.currentTimeMillis() : endTime.getTime();
+        return end - startTime.getTime();
+    }
+
+    private static class CommitTimer implements TransactionSynchronization {
+        private final Tags tags;
+        private long started;
+
+        private CommitTimer(Tags tags) {
+            this.tags = tags;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void afterCommit() {
+            Timer.builder("batch.chunk.commit")
+                    .description("Chunk transaction commit time")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
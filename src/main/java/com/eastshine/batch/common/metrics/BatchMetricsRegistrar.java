@@ -0,0 +1,42 @@
+package com.eastshine.batch.common.metrics;
+
+import org.springframework.batch.core.job.AbstractJob;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 빈으로 등록된 모든 Job과 Step에 BatchMetricsListener(와 PrometheusFileExporter)를 등록합니다.
+ * 잡 설정마다 .listener(...)를 추가하지 않아도 새로 만든 잡이 자동으로 측정됩니다.
+ *
+ * - AbstractJob(SimpleJob, FlowJob) : JobExecutionListener
+ * - AbstractStep(TaskletStep, PartitionStep 등) : StepExecutionListener
+ * - TaskletStep(청크 스텝 포함) : ChunkListener
+ */
+public class BatchMetricsRegistrar implements BeanPostProcessor {
+    private final ObjectProvider<BatchMetricsListener> metricsListener;
+    private final ObjectProvider<PrometheusFileExporter> prometheusFileExporter;
+
+    public BatchMetricsRegistrar(ObjectProvider<BatchMetricsListener> metricsListener,
+                                 ObjectProvider<PrometheusFileExporter> prometheusFileExporter) {
+        this.metricsListener = metricsListener;
+        this.prometheusFileExporter = prometheusFileExporter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractJob) {
+            AbstractJob job = (AbstractJob) bean;
+            job.registerJobExecutionListener(metricsListener.getObject());
+            prometheusFileExporter.ifAvailable(job::registerJobExecutionListener);
+        }
+        if (bean instanceof AbstractStep) {
+            ((AbstractStep) bean).registerStepExecutionListener(metricsListener.getObject());
+        }
+        if (bean instanceof TaskletStep) {
+            ((TaskletStep) bean).registerChunkListener(metricsListener.getObject());
+        }
+        return bean;
+    }
+}
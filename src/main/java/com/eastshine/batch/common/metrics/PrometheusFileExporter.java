@@ -0,0 +1,70 @@
+package com.eastshine.batch.common.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 잡이 끝날 때마다 PrometheusMeterRegistry의 모든 메트릭을 Prometheus 텍스트 형식으로 파일에 저장합니다.
+ * 배치는 실행이 끝나면 프로세스가 종료되어 스크랩할 수 없으므로, node_exporter의 textfile collector가 읽을 디렉터리에 저장하거나
+ * 실행마다 파일을 비교해 잡이 어느 구간에서 시간을 쓰는지 확인합니다.
+ *
+ * 읽는 쪽이 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 이동(rename)합니다.
+ *
+ * 생성할 때 PrometheusMeterRegistry를 Metrics.globalRegistry에 추가하고, 빈이 소멸될 때 제거합니다.
+ */
+@Slf4j
+public class PrometheusFileExporter implements JobExecutionListener, DisposableBean {
+    private final PrometheusMeterRegistry registry;
+    private final Path file;
+
+    public PrometheusFileExporter(Path file) {
+        this.registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        this.file = file;
+        Metrics.addRegistry(registry);
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        try {
+            export();
+        } catch (UncheckedIOException e) {
+            log.warn(">>>>> Could not export metrics to {}", file, e); // 메트릭 저장 실패로 잡을 실패시키지 않습니다.
+        }
+    }
+
+    public void export() {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temp, registry.scrape().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info(">>>>> Exported metrics to {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+}
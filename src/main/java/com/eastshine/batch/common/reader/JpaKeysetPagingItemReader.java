@@ -0,0 +1,162 @@
+package com.eastshine.batch.common.reader;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+import org.springframework.util.NumberUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset(seek) 방식으로 페이지를 읽는 JPA reader입니다.
+ *
+ * JpaPagingItemReader는 OFFSET으로 페이지를 이동하므로 뒤 페이지로 갈수록 건너뛰어야 할 행이 늘어나 느려집니다.
+ * 또한 writer가 조회 조건에 해당하는 행을 수정하면 OFFSET이 밀려 행을 건너뛰거나 다시 읽을 수 있습니다.
+ * 이 reader는 마지막으로 읽은 키 다음부터 조회(WHERE key > :lastId ORDER BY key)하므로 페이지마다 지연 시간이 일정합니다.
+ *
+ * queryString은 반드시 :lastId 파라미터로 키를 제한하고, 같은 키로 오름차순 정렬해야 합니다.
+ * 예) SELECT m FROM Member m WHERE m.id > :lastId ORDER BY m.id
+ *
+ * 마지막으로 읽은 키는 StepExecution의 ExecutionContext에 long으로 저장되므로 재시작 시 그 다음 키부터 이어서 읽습니다.
+ * :lastId에는 쿼리가 기대하는 키 타입(예: int id이면 Integer)으로 변환해 바인딩합니다.
+ */
+public class JpaKeysetPagingItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+    public static final String LAST_ID_PARAMETER = "lastId";
+
+    private static final String LAST_KEY = "last.key";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final String queryString;
+    private final Function<T, ? extends Number> keyExtractor;
+    private final int pageSize;
+
+    private Map<String, Object> parameterValues = Collections.emptyMap();
+    private long startKey = 0L;
+
+    private EntityManager entityManager;
+    private List<T> page = new ArrayList<>();
+    private int current = 0;
+    private boolean lastPage = false;
+    private long lastKey;
+
+    public JpaKeysetPagingItemReader(String name,
+                                     EntityManagerFactory entityManagerFactory,
+                                     String queryString,
+                                     Function<T, ? extends Number> keyExtractor,
+                                     int pageSize) {
+        Assert.isTrue(queryString.contains(":" + LAST_ID_PARAMETER), "queryString must bind :" + LAST_ID_PARAMETER);
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+
+        setName(name);
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryString = queryString;
+        this.keyExtractor = keyExtractor;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * :lastId 외에 쿼리에 바인딩할 파라미터입니다.
+     */
+    public void setParameterValues(Map<String, Object> parameterValues) {
+        this.parameterValues = new HashMap<>(parameterValues);
+    }
+
+    /**
+     * 첫 페이지를 조회할 때 사용할 :lastId 값입니다. 이 값보다 큰 키부터 읽습니다.
+     */
+    public void setStartKey(long startKey) {
+        this.startKey = startKey;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        lastKey = executionContext.containsKey(getExecutionContextKey(LAST_KEY))
+                ? executionContext.getLong(getExecutionContextKey(LAST_KEY))
+                : startKey;
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(LAST_KEY), lastKey);
+        }
+    }
+
+    @Override
+    protected void doOpen() {
+        entityManager = entityManagerFactory.createEntityManager();
+        page = new ArrayList<>();
+        current = 0;
+        lastPage = false;
+    }
+
+    @Override
+    protected T doRead() {
+        if (current >= page.size()) {
+            if (lastPage) {
+                return null;
+            }
+            readPage();
+            if (page.isEmpty()) {
+                return null;
+            }
+        }
+
+        T item = page.get(current++);
+        lastKey = keyExtractor.apply(item).longValue();
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readPage() {
+        entityManager.clear(); // 이전 페이지의 엔티티를 분리해 영속성 컨텍스트가 커지지 않게 합니다.
+
+        Query query = entityManager.createQuery(queryString)
+                .setMaxResults(pageSize);
+        query.setParameter(LAST_ID_PARAMETER, keyParameter(query, lastKey));
+        parameterValues.forEach(query::setParameter);
+
+        page = query.getResultList();
+        current = 0;
+        lastPage = page.size() < pageSize;
+    }
+
+    /**
+     * Hibernate는 :lastId의 값이 비교 대상 속성의 타입과 다르면 바인딩을 거부하므로(예: int id에 Long), 키를 그 타입으로 변환합니다.
+     * 쿼리에서 타입을 알 수 없으면 long으로 바인딩합니다.
+     */
+    @SuppressWarnings("unchecked")
+    static Object keyParameter(Query query, long key) {
+        Class<?> keyType = query.getParameter(LAST_ID_PARAMETER).getParameterType();
+        if (keyType == null || !Number.class.isAssignableFrom(keyType)) {
+            return key;
+        }
+        return NumberUtils.convertNumberToTargetClass(key, (Class<? extends Number>) keyType);
+    }
+
+    /**
+     * 재시작 시에는 저장된 마지막 키부터 다시 조회하므로 앞의 아이템을 읽어 건너뛸 필요가 없습니다.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected void doClose() {
+        if (entityManager != null) {
+            entityManager.close();
+            entityManager = null;
+        }
+        page = new ArrayList<>();
+    }
+}
@@ -0,0 +1,158 @@
+package com.eastshine.batch.common.reader;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 스텝 전체에서 하나의 커서(Hibernate ScrollableResults)로 읽는 JPA reader입니다.
+ *
+ * JpaPagingItemReader와 JpaKeysetPagingItemReader는 페이지마다 쿼리를 새로 실행합니다.
+ * 이 reader는 open 시점에 쿼리를 한 번 실행하고, 드라이버가 fetchSize 행씩 가져오는 커서를 스텝이 끝날 때까지 유지합니다.
+ * 읽은 엔티티는 clearInterval 건마다 EntityManager.clear()로 분리하므로 테이블 크기와 관계없이 영속성 컨텍스트의 크기가 일정합니다.
+ * 조회한 엔티티는 읽기 전용(dirty checking 스냅샷 없음)으로 로드하고 2차 캐시를 사용하지 않습니다.
+ *
+ * JpaKeysetPagingItemReader와 같이 queryString은 반드시 :lastId 파라미터로 키를 제한하고, 같은 키로 오름차순 정렬해야 합니다.
+ * 예) SELECT m FROM Member m WHERE m.id > :lastId ORDER BY m.id
+ * 마지막으로 읽은 키를 StepExecution의 ExecutionContext에 저장하므로, 재시작 시 그 다음 키부터 커서를 다시 엽니다.
+ * :lastId는 JpaKeysetPagingItemReader와 같이 쿼리가 기대하는 키 타입으로 변환해 바인딩합니다.
+ *
+ * 커서를 연 커넥션은 청크 트랜잭션과 별개이므로 writer의 커밋과 관계없이 유지됩니다.
+ * MariaDB는 fetchSize가 0보다 커야 결과 전체를 메모리에 읽지 않고, PostgreSQL은 auto commit이 꺼진 커넥션에서만 fetchSize를 적용합니다.
+ */
+public class JpaScrollableCursorItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+    public static final String LAST_ID_PARAMETER = JpaKeysetPagingItemReader.LAST_ID_PARAMETER;
+
+    private static final String LAST_KEY = "last.key";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final String queryString;
+    private final Function<T, ? extends Number> keyExtractor;
+    private final int fetchSize;
+
+    private Map<String, Object> parameterValues = Collections.emptyMap();
+    private long startKey = 0L;
+    private int clearInterval;
+
+    private EntityManager entityManager;
+    private ScrollableResults results;
+    private int readSinceClear = 0;
+    private long lastKey;
+
+    public JpaScrollableCursorItemReader(String name,
+                                         EntityManagerFactory entityManagerFactory,
+                                         String queryString,
+                                         Function<T, ? extends Number> keyExtractor,
+                                         int fetchSize) {
+        Assert.isTrue(queryString.contains(":" + LAST_ID_PARAMETER), "queryString must bind :" + LAST_ID_PARAMETER);
+        Assert.isTrue(fetchSize > 0, "fetchSize must be greater than zero");
+
+        setName(name);
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryString = queryString;
+        this.keyExtractor = keyExtractor;
+        this.fetchSize = fetchSize;
+        this.clearInterval = fetchSize;
+    }
+
+    /**
+     * :lastId 외에 쿼리에 바인딩할 파라미터입니다.
+     */
+    public void setParameterValues(Map<String, Object> parameterValues) {
+        this.parameterValues = new HashMap<>(parameterValues);
+    }
+
+    /**
+     * 커서를 처음 열 때 사용할 :lastId 값입니다. 이 값보다 큰 키부터 읽습니다.
+     */
+    public void setStartKey(long startKey) {
+        this.startKey = startKey;
+    }
+
+    /**
+     * 영속성 컨텍스트를 비우는 간격(읽은 아이템 수)입니다. 기본값은 fetchSize입니다.
+     */
+    public void setClearInterval(int clearInterval) {
+        Assert.isTrue(clearInterval > 0, "clearInterval must be greater than zero");
+        this.clearInterval = clearInterval;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        lastKey = executionContext.containsKey(getExecutionContextKey(LAST_KEY))
+                ? executionContext.getLong(getExecutionContextKey(LAST_KEY))
+                : startKey;
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(LAST_KEY), lastKey);
+        }
+    }
+
+    @Override
+    protected void doOpen() {
+        entityManager = entityManagerFactory.createEntityManager();
+
+        Query<?> query = entityManager.createQuery(queryString)
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE);
+        query.setParameter(LAST_ID_PARAMETER, JpaKeysetPagingItemReader.keyParameter(query, lastKey));
+        parameterValues.forEach(query::setParameter);
+
+        results = query.scroll(ScrollMode.FORWARD_ONLY);
+        readSinceClear = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T doRead() {
+        if (readSinceClear >= clearInterval) {
+            entityManager.clear(); // 이미 넘겨준 엔티티를 분리해 영속성 컨텍스트가 커지지 않게 합니다.
+            readSinceClear = 0;
+        }
+        if (!results.next()) {
+            return null;
+        }
+
+        T item = (T) results.get(0);
+        readSinceClear++;
+        lastKey = keyExtractor.apply(item).longValue();
+        return item;
+    }
+
+    /**
+     * 재시작 시에는 저장된 마지막 키부터 커서를 다시 열므로 앞의 아이템을 읽어 건너뛸 필요가 없습니다.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected void doClose() {
+        if (results != null) {
+            results.close();
+            results = null;
+        }
+        if (entityManager != null) {
+            entityManager.close();
+            entityManager = null;
+        }
+    }
+}
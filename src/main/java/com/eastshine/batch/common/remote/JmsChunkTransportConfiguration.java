@@ -0,0 +1,118 @@
+package com.eastshine.batch.common.remote;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.IntegrationFlows;
+import org.springframework.integration.jms.dsl.Jms;
+import org.springframework.jms.connection.CachingConnectionFactory;
+
+import javax.jms.ConnectionFactory;
+import java.util.List;
+
+/**
+ * ActiveMQ 큐로 청크를 주고받는 전송 방식입니다. (batch.remote-chunking.transport=jms)
+ * 한 서버에서 워커 프로세스를 여러 개 실행해 매니저 프로세스의 CPU보다 많은 처리량을 얻을 때 사용합니다.
+ *
+ * broker-url의 기본값(vm:(broker:(tcp://...)))은 첫 접속 시 프로세스 안에 브로커를 실행하고 tcp 포트를 엽니다.
+ * 매니저 프로세스는 기본값으로 실행하고, 워커 프로세스는 tcp://localhost:61616으로 접속합니다.
+ * 매니저와 워커는 같은 DB를 사용해야 하므로 프로세스를 나눌 때는 mariadb 프로필로 실행합니다.
+ *
+ * 실행 예시)
+ * 매니저 : --spring.profiles.active=mariadb --job.name=memberLevelUpRemoteJob --batch.remote-chunking.transport=jms --batch.remote-chunking.role=manager
+ * 워커 : --spring.profiles.active=mariadb --batch.remote-chunking.transport=jms --batch.remote-chunking.role=worker
+ *        --batch.remote-chunking.broker-url=tcp://localhost:61616 --batch.remote-chunking.workers=4
+ */
+@Configuration
+@ConditionalOnProperty(name = "batch.remote-chunking.transport", havingValue = "jms")
+public class JmsChunkTransportConfiguration {
+    public static final String DEFAULT_BROKER_URL = "vm:(broker:(tcp://localhost:61616)?persistent=false&useJmx=false)";
+
+    static final String REQUEST_QUEUE = "batch.remote-chunking.requests";
+    static final String REPLY_QUEUE = "batch.remote-chunking.replies";
+
+    /**
+     * ChunkRequest, ChunkResponse는 ObjectMessage로 전송되므로 역직렬화를 허용할 패키지를 지정합니다.
+     */
+    private static final List<String> TRUSTED_PACKAGES = List.of("org.springframework.batch", "java.util", "java.lang");
+
+    /**
+     * 메시지 리스너 컨테이너가 소비자를 직접 관리하도록 소비자는 캐시하지 않습니다.
+     */
+    @Bean
+    public ConnectionFactory remoteChunkingConnectionFactory(
+            @Value("${batch.remote-chunking.broker-url:" + DEFAULT_BROKER_URL + "}") String brokerUrl) {
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(brokerUrl);
+        connectionFactory.setTrustedPackages(TRUSTED_PACKAGES);
+
+        CachingConnectionFactory cachingConnectionFactory = new CachingConnectionFactory(connectionFactory);
+        cachingConnectionFactory.setCacheConsumers(false);
+        return cachingConnectionFactory;
+    }
+
+    @Bean(name = RemoteChunkingChannels.REQUESTS)
+    public DirectChannel remoteChunkingRequests() {
+        return new DirectChannel();
+    }
+
+    @Bean
+    public IntegrationFlow remoteChunkingRequestsFlow(ConnectionFactory remoteChunkingConnectionFactory) {
+        return IntegrationFlows.from(RemoteChunkingChannels.REQUESTS)
+                .handle(Jms.outboundAdapter(remoteChunkingConnectionFactory).destination(REQUEST_QUEUE))
+                .get();
+    }
+
+    @Bean(name = RemoteChunkingChannels.REPLIES)
+    public QueueChannel remoteChunkingReplies() {
+        return new QueueChannel();
+    }
+
+    /**
+     * 워커만 실행하는 프로세스가 매니저의 응답을 가져가지 않도록 매니저 역할일 때만 응답 큐를 구독합니다.
+     */
+    @Bean
+    @ConditionalOnExpression(RemoteChunkingChannels.MANAGER_ENABLED)
+    public IntegrationFlow remoteChunkingRepliesFlow(ConnectionFactory remoteChunkingConnectionFactory) {
+        return IntegrationFlows.from(Jms.messageDrivenChannelAdapter(remoteChunkingConnectionFactory).destination(REPLY_QUEUE))
+                .channel(RemoteChunkingChannels.REPLIES)
+                .get();
+    }
+
+    @Bean(name = RemoteChunkingChannels.WORKER_REQUESTS)
+    public DirectChannel remoteChunkingWorkerRequests() {
+        return new DirectChannel();
+    }
+
+    /**
+     * 요청 큐의 소비자 workers 개가 각자의 스레드에서 청크를 처리합니다. 워커 프로세스를 늘리면 소비자도 함께 늘어납니다.
+     */
+    @Bean
+    @ConditionalOnExpression(RemoteChunkingChannels.WORKER_ENABLED)
+    public IntegrationFlow remoteChunkingWorkerRequestsFlow(ConnectionFactory remoteChunkingConnectionFactory,
+                                                            @Value("${batch.remote-chunking.workers:0}") int workers) {
+        int concurrentConsumers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return IntegrationFlows.from(Jms.messageDrivenChannelAdapter(remoteChunkingConnectionFactory)
+                        .destination(REQUEST_QUEUE)
+                        .configureListenerContainer(container -> container.concurrentConsumers(concurrentConsumers)))
+                .channel(RemoteChunkingChannels.WORKER_REQUESTS)
+                .get();
+    }
+
+    @Bean(name = RemoteChunkingChannels.WORKER_REPLIES)
+    public DirectChannel remoteChunkingWorkerReplies() {
+        return new DirectChannel();
+    }
+
+    @Bean
+    public IntegrationFlow remoteChunkingWorkerRepliesFlow(ConnectionFactory remoteChunkingConnectionFactory) {
+        return IntegrationFlows.from(RemoteChunkingChannels.WORKER_REPLIES)
+                .handle(Jms.outboundAdapter(remoteChunkingConnectionFactory).destination(REPLY_QUEUE))
+                .get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.eastshine.batch.common.remote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 외부 브로커 없이 같은 JVM 안의 큐로 청크를 주고받는 전송 방식입니다. (batch.remote-chunking.transport=local, 기본값)
+ *
+ * 매니저가 보낸 ChunkRequest는 workers 개의 스레드를 가진 ExecutorChannel의 작업 큐에 쌓이고, 워커 스레드가 꺼내 처리한 뒤
+ * ChunkResponse를 QueueChannel에 넣습니다. 요청과 워커 채널, 응답과 워커 채널은 같은 채널을 두 이름으로 등록합니다.
+ * 처리 중인 청크 수는 매니저 스텝의 throttleLimit으로 제한되므로 작업 큐의 크기는 제한하지 않습니다.
+ *
+ * 프로세스를 나누지 않고 원격 청킹 잡을 실행하거나 테스트할 때 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "batch.remote-chunking.transport", havingValue = "local", matchIfMissing = true)
+public class LocalChunkTransportConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor remoteChunkingWorkerExecutor(@Value("${batch.remote-chunking.workers:0}") int workers) {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix("remote-chunking-");
+        taskExecutor.setDaemon(true); // 코어 스레드는 종료되지 않으므로, 잡이 끝난 뒤 JVM이 종료되도록 데몬 스레드로 생성합니다.
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        return taskExecutor;
+    }
+
+    @Bean(name = {RemoteChunkingChannels.REQUESTS, RemoteChunkingChannels.WORKER_REQUESTS})
+    public ExecutorChannel remoteChunkingRequests(ThreadPoolTaskExecutor remoteChunkingWorkerExecutor) {
+        return new ExecutorChannel(remoteChunkingWorkerExecutor);
+    }
+
+    @Bean(name = {RemoteChunkingChannels.REPLIES, RemoteChunkingChannels.WORKER_REPLIES})
+    public QueueChannel remoteChunkingReplies() {
+        return new QueueChannel();
+    }
+}
@@ -0,0 +1,51 @@
+package com.eastshine.batch.common.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.integration.chunk.ChunkMessageChannelItemWriter;
+import org.springframework.messaging.PollableChannel;
+
+/**
+ * 재시작한 매니저 스텝이 이전 실행의 응답을 기다리거나 받지 않도록, 이전 실행의 backlog를 지웁니다.
+ *
+ * ChunkMessageChannelItemWriter는 open에서 저장된 보낸/받은 청크 수만큼 응답이 올 때까지 기다리지만, 이전 실행의 응답은 이미 소비되었거나
+ * 다시 오지 않으므로 maxWaitTimeouts만큼 기다린 뒤 실패합니다. 그래서 저장된 수를 지웁니다.
+ * 이전 실행이 실패한 뒤 늦게 도착한 응답은 같은 job instance id를 가지므로 새 실행의 응답으로 집계됩니다. 그래서 응답 채널에 남은 메시지를 버립니다.
+ *
+ * 처음부터 다시 읽어도 되는(reader의 saveState가 false인) 매니저 스텝에만 등록합니다.
+ */
+@Slf4j
+public class RemoteChunkingBacklogResetListener implements StepExecutionListener {
+    static final String EXPECTED = ChunkMessageChannelItemWriter.class.getName() + ".EXPECTED";
+    static final String ACTUAL = ChunkMessageChannelItemWriter.class.getName() + ".ACTUAL";
+
+    private final PollableChannel replies;
+
+    public RemoteChunkingBacklogResetListener(PollableChannel replies) {
+        this.replies = replies;
+    }
+
+    /**
+     * beforeStep은 스텝이 ItemStream을 open하기 전에 호출됩니다.
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepExecution.getExecutionContext().remove(EXPECTED);
+        stepExecution.getExecutionContext().remove(ACTUAL);
+
+        int stale = 0;
+        while (replies.receive(0) != null) {
+            stale++;
+        }
+        if (stale > 0) {
+            log.warn(">>>>> Discarded {} stale chunk responses before {}", stale, stepExecution.getStepName());
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        return null;
+    }
+}
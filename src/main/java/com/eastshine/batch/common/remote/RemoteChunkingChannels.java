@@ -0,0 +1,28 @@
+package com.eastshine.batch.common.remote;
+
+/**
+ * 원격 청킹(remote chunking)의 매니저 스텝과 워커가 메시지를 주고받는 채널의 빈 이름입니다.
+ * 전송 방식(batch.remote-chunking.transport)마다 설정 클래스가 네 채널을 모두 등록하므로, 잡 설정은 전송 방식과 관계없이 이름으로만 연결합니다.
+ *
+ * - REQUESTS : 매니저가 ChunkRequest(청크의 아이템)를 보내는 채널
+ * - REPLIES : 매니저가 ChunkResponse를 받는 채널. ChunkMessageChannelItemWriter가 receive하므로 PollableChannel입니다.
+ * - WORKER_REQUESTS : 워커가 ChunkRequest를 받는 채널
+ * - WORKER_REPLIES : 워커가 ChunkResponse를 보내는 채널
+ *
+ * batch.remote-chunking.role로 한 프로세스에서 실행할 역할을 정합니다. (all : 매니저와 워커(기본값), manager, worker)
+ */
+public final class RemoteChunkingChannels {
+    public static final String REQUESTS = "remoteChunkingRequests";
+    public static final String REPLIES = "remoteChunkingReplies";
+    public static final String WORKER_REQUESTS = "remoteChunkingWorkerRequests";
+    public static final String WORKER_REPLIES = "remoteChunkingWorkerReplies";
+
+    /**
+     * @ConditionalOnExpression에 사용합니다.
+     */
+    public static final String MANAGER_ENABLED = "'${batch.remote-chunking.role:all}' != 'worker'";
+    public static final String WORKER_ENABLED = "'${batch.remote-chunking.role:all}' != 'manager'";
+
+    private RemoteChunkingChannels() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.eastshine.batch.common.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.BatchConfigurer;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * JobRepository(배치 메타데이터 저장소)의 설정입니다. batch.repository.type으로 메타데이터를 저장할 곳을 선택합니다.
+ *
+ * - jdbc(기본값) : 데이터소스의 BATCH_ 테이블
+ * - memory : 메모리(InMemoryJobRepositoryFactory). 실행 기록을 남길 필요가 없는 잡과 테스트에 사용합니다.
+ *   ephemeral 프로필(application-ephemeral.yml)이 memory로 지정하고 BATCH_ 테이블의 스키마 초기화를 끕니다.
+ *   실행 예시) --job.name=helloJob --spring.profiles.active=ephemeral
+ *
+ * jdbc일 때 batch.repository.execution-context-serializer로 ExecutionContext 직렬화 방식을 선택합니다.
+ *
+ * - jackson(기본값) : 스프링 배치의 기본값(JSON)
+ * - binary : BinaryExecutionContextSerializer. 직렬화한 크기가 compression-threshold(byte) 이상이면 zstd로 압축합니다.
+ *   jackson으로 저장된 이전 실행도 읽을 수 있지만, binary로 저장한 실행은 jackson으로 되돌리면 읽을 수 없습니다.
+ *
+ * 애플리케이션 타입을 ExecutionContext에 저장한다면 executionContextTypeRegistry 빈에 태그를 등록합니다. 등록하지 않은 타입은 저장할 수 없습니다. (List, Set, Map을 구현한 값은 기본 타입으로 저장됩니다.)
+ *
+ * batch.repository.write-behind.enabled=true이면 실행 중인 스텝의 메타데이터를 commit-interval개의 청크 커밋마다,
+ * 또는 flush-interval이 지난 뒤의 커밋에 모아서 저장합니다. (WriteBehindJobRepository) 스텝이 끝나거나 실패하면 항상 저장합니다.
+ * 프로세스가 강제 종료되면 재시작할 때 마지막 저장 이후의 청크를 다시 처리하므로, 멱등한 writer를 사용하는 잡에서만 사용합니다.
+ *
+ * 실행 예시) --job.name=memberLevelUpJob --batch.repository.execution-context-serializer=binary --batch.repository.write-behind.enabled=true
+ */
+@Slf4j
+@Configuration
+public class BatchRepositoryConfiguration {
+    public static final String JDBC = "jdbc";
+    public static final String MEMORY = "memory";
+    public static final String JACKSON = "jackson";
+    public static final String BINARY = "binary";
+
+    @Bean
+    public BatchConfigurer batchConfigurer(@Value("${batch.repository.type:" + JDBC + "}") String type,
+                                           BatchProperties properties, DataSource dataSource,
+                                           ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+                                           EntityManagerFactory entityManagerFactory,
+                                           ExecutionContextSerializer batchExecutionContextSerializer,
+                                           @Value("${batch.repository.write-behind.enabled:false}") boolean writeBehind,
+                                           @Value("${batch.repository.write-behind.commit-interval:10}") int commitInterval,
+                                           @Value("${batch.repository.write-behind.flush-interval:5s}") Duration flushInterval) {
+        if (MEMORY.equalsIgnoreCase(type)) {
+            log.info(">>>>> JobRepository : in-memory (job executions are not persisted)");
+            return new BatchRepositoryConfigurer(properties, dataSource, transactionManagerCustomizers.getIfAvailable(),
+                    entityManagerFactory, batchExecutionContextSerializer, UnaryOperator.identity(), new InMemoryJobRepositoryFactory());
+        }
+        if (!JDBC.equalsIgnoreCase(type)) {
+            throw new IllegalArgumentException("Unknown batch.repository.type : " + type);
+        }
+        UnaryOperator<JobRepository> jobRepositoryDecorator = UnaryOperator.identity();
+        if (writeBehind) {
+            log.info(">>>>> JobRepository : write-behind (every {} commits or {})", commitInterval, flushInterval);
+            jobRepositoryDecorator = jobRepository -> new WriteBehindJobRepository(jobRepository, commitInterval, flushInterval);
+        }
+        return new BatchRepositoryConfigurer(properties, dataSource, transactionManagerCustomizers.getIfAvailable(),
+                entityManagerFactory, batchExecutionContextSerializer, jobRepositoryDecorator, null);
+    }
+
+    @Bean
+    public ExecutionContextSerializer batchExecutionContextSerializer(
+            @Value("${batch.repository.execution-context-serializer:" + JACKSON + "}") String serializer,
+            @Value("${batch.repository.compression-threshold:1024}") int compressionThreshold,
+            ExecutionContextTypeRegistry executionContextTypeRegistry) {
+        if (BINARY.equalsIgnoreCase(serializer)) {
+            log.info(">>>>> ExecutionContext serializer : binary (compression threshold {} bytes)", compressionThreshold);
+            return new BinaryExecutionContextSerializer(executionContextTypeRegistry, compressionThreshold);
+        }
+        if (!JACKSON.equalsIgnoreCase(serializer)) {
+            throw new IllegalArgumentException("Unknown batch.repository.execution-context-serializer : " + serializer);
+        }
+        return new Jackson2ExecutionContextStringSerializer();
+    }
+
+    @Bean
+    public ExecutionContextTypeRegistry executionContextTypeRegistry() {
+        return new ExecutionContextTypeRegistry();
+    }
+}
@@ -0,0 +1,99 @@
+package com.eastshine.batch.common.repository;
+
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.boot.autoconfigure.batch.BasicBatchConfigurer;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * 스프링 부트의 BatchConfigurer에 ExecutionContext 직렬화 방식을 지정합니다.
+ * BatchConfigurer를 빈으로 등록하면 부트의 JpaBatchConfigurer가 등록되지 않으므로, 같은 방식으로 JpaTransactionManager를 생성합니다.
+ * (JobRepository와 스텝, JPA reader/writer가 하나의 트랜잭션 매니저를 공유합니다.)
+ *
+ * JobRepository(쓰기)와 JobExplorer(읽기)가 같은 직렬화 방식을 사용해야 재시작할 때 ExecutionContext를 읽을 수 있습니다.
+ * 생성한 JobRepository는 jobRepositoryDecorator로 감쌀 수 있습니다. (예: WriteBehindJobRepository)
+ *
+ * inMemoryRepository를 전달하면 DB 대신 메모리에 메타데이터를 저장합니다. (serializer, jobRepositoryDecorator는 사용하지 않습니다.)
+ * 트랜잭션 매니저는 비즈니스 데이터를 저장하는 스텝이 사용하므로 그대로 JpaTransactionManager를 생성합니다.
+ */
+public class BatchRepositoryConfigurer extends BasicBatchConfigurer {
+    private final BatchProperties properties;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExecutionContextSerializer serializer;
+    private final UnaryOperator<JobRepository> jobRepositoryDecorator;
+    @Nullable
+    private final InMemoryJobRepositoryFactory inMemoryRepository;
+
+    public BatchRepositoryConfigurer(BatchProperties properties, DataSource dataSource,
+                                     TransactionManagerCustomizers transactionManagerCustomizers,
+                                     EntityManagerFactory entityManagerFactory, ExecutionContextSerializer serializer,
+                                     UnaryOperator<JobRepository> jobRepositoryDecorator,
+                                     @Nullable InMemoryJobRepositoryFactory inMemoryRepository) {
+        super(properties, dataSource, transactionManagerCustomizers);
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.serializer = serializer;
+        this.jobRepositoryDecorator = jobRepositoryDecorator;
+        this.inMemoryRepository = inMemoryRepository;
+    }
+
+    @Override
+    protected JobRepository createJobRepository() throws Exception {
+        if (Objects.nonNull(inMemoryRepository)) {
+            return inMemoryRepository.getJobRepository();
+        }
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setIsolationLevelForCreate(determineIsolationLevel());
+        if (StringUtils.hasText(properties.getJdbc().getTablePrefix())) {
+            factory.setTablePrefix(properties.getJdbc().getTablePrefix());
+        }
+        factory.setTransactionManager(getTransactionManager());
+        factory.setSerializer(serializer);
+        factory.afterPropertiesSet();
+        return jobRepositoryDecorator.apply(factory.getObject());
+    }
+
+    @Override
+    protected JobExplorer createJobExplorer() throws Exception {
+        if (Objects.nonNull(inMemoryRepository)) {
+            return inMemoryRepository.getJobExplorer();
+        }
+        JobExplorerFactoryBean factory = new JobExplorerFactoryBean();
+        factory.setDataSource(dataSource);
+        if (StringUtils.hasText(properties.getJdbc().getTablePrefix())) {
+            factory.setTablePrefix(properties.getJdbc().getTablePrefix());
+        }
+        factory.setSerializer(serializer);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    /**
+     * JPA는 트랜잭션마다 격리 수준을 지정할 수 없으므로 부트의 JpaBatchConfigurer와 같이 기본 격리 수준을 사용합니다.
+     */
+    @Override
+    protected String determineIsolationLevel() {
+        return "ISOLATION_DEFAULT";
+    }
+
+    @Override
+    protected PlatformTransactionManager createTransactionManager() {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
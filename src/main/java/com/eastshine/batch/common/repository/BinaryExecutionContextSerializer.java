@@ -0,0 +1,100 @@
+package com.eastshine.batch.common.repository;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ExecutionContext를 타입 태그와 가변 길이 정수로 기록하는 직렬화 방식입니다.
+ * 스프링 배치의 기본값(Jackson2ExecutionContextStringSerializer)은 값마다 클래스 이름을 JSON에 함께 기록하고,
+ * 청크가 커밋될 때마다 스텝의 ExecutionContext 전체를 다시 직렬화해 BATCH_STEP_EXECUTION_CONTEXT에 저장합니다.
+ * 이 방식은 값마다 1바이트 태그만 기록하므로 직렬화가 가볍고 저장하는 크기가 작습니다.
+ *
+ * JdbcExecutionContextDao는 직렬화 결과를 UTF-8 문자열로 바꿔 SHORT_CONTEXT/SERIALIZED_CONTEXT(문자열 컬럼)에 저장하므로,
+ * 바이너리를 그대로 쓰지 않고 Base64로 인코딩합니다.
+ * - "B1:" + Base64 : 압축하지 않은 형식
+ * - "Z1:" + Base64 : 직렬화한 크기가 compressionThreshold(byte) 이상이라 zstd로 압축한 형식 (-1이면 압축하지 않습니다.)
+ *
+ * 접두사가 없는 값(기존에 Jackson으로 저장된 JSON)은 Jackson2ExecutionContextStringSerializer로 읽으므로,
+ * 직렬화 방식을 바꾼 뒤에도 이전 실행을 재시작할 수 있습니다.
+ * 값의 타입은 ExecutionContextTypeRegistry를 참고합니다.
+ */
+public class BinaryExecutionContextSerializer implements ExecutionContextSerializer {
+    static final String BINARY_PREFIX = "B1:";
+    static final String COMPRESSED_PREFIX = "Z1:";
+    private static final int PREFIX_LENGTH = 3;
+    private static final int COMPRESSION_LEVEL = 3;
+
+    private final ExecutionContextTypeRegistry typeRegistry;
+    private final int compressionThreshold;
+    private final ExecutionContextSerializer legacySerializer = new Jackson2ExecutionContextStringSerializer();
+
+    public BinaryExecutionContextSerializer(ExecutionContextTypeRegistry typeRegistry, int compressionThreshold) {
+        this.typeRegistry = typeRegistry;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+        Assert.notNull(context, "context is required");
+        Assert.notNull(out, "OutputStream is required");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream data = new DataOutputStream(bytes);
+        ExecutionContextTypeRegistry.writeVarLong(context.size(), data);
+        for (Map.Entry<String, Object> entry : context.entrySet()) {
+            ExecutionContextTypeRegistry.writeString(entry.getKey(), data);
+            typeRegistry.write(entry.getValue(), data);
+        }
+        data.flush();
+
+        byte[] raw = bytes.toByteArray();
+        if (compressionThreshold >= 0 && raw.length >= compressionThreshold) {
+            write(COMPRESSED_PREFIX, Zstd.compress(raw, COMPRESSION_LEVEL), out);
+        } else {
+            write(BINARY_PREFIX, raw, out);
+        }
+    }
+
+    @Override
+    public Map<String, Object> deserialize(InputStream in) throws IOException {
+        byte[] serialized = in.readAllBytes();
+        String prefix = serialized.length < PREFIX_LENGTH ? "" : new String(serialized, 0, PREFIX_LENGTH, StandardCharsets.US_ASCII);
+        if (!BINARY_PREFIX.equals(prefix) && !COMPRESSED_PREFIX.equals(prefix)) {
+            return legacySerializer.deserialize(new ByteArrayInputStream(serialized));
+        }
+
+        byte[] decoded = Base64.getDecoder().decode(new String(serialized, PREFIX_LENGTH, serialized.length - PREFIX_LENGTH, StandardCharsets.US_ASCII));
+        InputStream body = new ByteArrayInputStream(decoded);
+        if (COMPRESSED_PREFIX.equals(prefix)) {
+            body = new ZstdInputStream(body);
+        }
+        try (DataInputStream data = new DataInputStream(body)) {
+            int size = (int) ExecutionContextTypeRegistry.readVarLong(data);
+            Map<String, Object> context = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                context.put(ExecutionContextTypeRegistry.readString(data), typeRegistry.read(data));
+            }
+            return context;
+        }
+    }
+
+    private static void write(String prefix, byte[] body, OutputStream out) throws IOException {
+        out.write(prefix.getBytes(StandardCharsets.US_ASCII));
+        out.write(Base64.getEncoder().encode(body));
+    }
+}
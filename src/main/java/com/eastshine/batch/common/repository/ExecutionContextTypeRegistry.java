@@ -0,0 +1,288 @@
+package com.eastshine.batch.common.repository;
+
+import org.springframework.util.Assert;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * BinaryExecutionContextSerializer가 값마다 기록하는 타입 태그(1바이트)와 타입별 인코딩입니다.
+ *
+ * ExecutionContext에는 주로 reader의 위치(Long, Integer), 파티션 범위, 문자열이 저장되므로 이 타입들은 클래스 이름 없이 태그 하나로 기록합니다.
+ * 정수는 zigzag 가변 길이(1~10바이트)로 기록해 작은 값일수록 짧습니다.
+ * 등록되지 않은 타입은 IllegalArgumentException을 던집니다. 저장된 데이터로 임의의 클래스를 만들지 않도록 자바 직렬화는 사용하지 않으므로,
+ * 애플리케이션 타입은 반드시 register(...)로 등록합니다.
+ *
+ * 태그 0~63은 기본 타입이 사용하고, 애플리케이션 타입은 register(...)로 64~126 태그에 등록합니다.
+ * 태그는 저장된 데이터의 형식이므로 한 번 사용한 태그의 번호와 인코딩은 바꾸지 않습니다.
+ * 타입은 정확히 같은 클래스로 먼저 찾고, 없으면 List, Set, Map을 구현한 값(LinkedList, List.of(...), ConcurrentHashMap 등)은
+ * 각각 ArrayList, LinkedHashSet, LinkedHashMap 태그로 기록합니다. 이 값들은 읽을 때 해당 기본 타입으로 복원됩니다.
+ */
+public class ExecutionContextTypeRegistry {
+    public static final int MIN_CUSTOM_TAG = 64;
+    public static final int MAX_CUSTOM_TAG = 126;
+    static final int NULL = 0;
+
+    private final Map<Class<?>, Registration<?>> byType = new HashMap<>();
+    private final Map<Class<?>, Registration<?>> byInterface = new LinkedHashMap<>();
+    private final Registration<?>[] byTag = new Registration<?>[MAX_CUSTOM_TAG + 1];
+
+    /**
+     * 값 하나를 쓰고 읽는 방법입니다. 중첩된 값(List, Map의 원소)은 전달받은 registry로 다시 쓰고 읽습니다.
+     */
+    public interface ValueCodec<T> {
+        void write(T value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException;
+
+        T read(DataInputStream in, ExecutionContextTypeRegistry registry) throws IOException;
+    }
+
+    public ExecutionContextTypeRegistry() {
+        registerBuiltIn(1, String.class, (value, out, registry) -> writeString(value, out), (in, registry) -> readString(in));
+        registerBuiltIn(2, Long.class, (value, out, registry) -> writeVarLong(value, out), (in, registry) -> readVarLong(in));
+        registerBuiltIn(3, Integer.class, (value, out, registry) -> writeVarLong(value, out), (in, registry) -> (int) readVarLong(in));
+        registerBuiltIn(4, Double.class, (value, out, registry) -> out.writeDouble(value), (in, registry) -> in.readDouble());
+        registerBuiltIn(5, Boolean.class, (value, out, registry) -> out.writeBoolean(value), (in, registry) -> in.readBoolean());
+        registerBuiltIn(6, Float.class, (value, out, registry) -> out.writeFloat(value), (in, registry) -> in.readFloat());
+        registerBuiltIn(7, Short.class, (value, out, registry) -> writeVarLong(value, out), (in, registry) -> (short) readVarLong(in));
+        registerBuiltIn(8, Byte.class, (value, out, registry) -> out.writeByte(value), (in, registry) -> in.readByte());
+        registerBuiltIn(9, Character.class, (value, out, registry) -> out.writeChar(value), (in, registry) -> in.readChar());
+        registerBuiltIn(10, Date.class, (value, out, registry) -> writeVarLong(value.getTime(), out), (in, registry) -> new Date(readVarLong(in)));
+        registerBuiltIn(11, Timestamp.class, (value, out, registry) -> {
+            writeVarLong(value.getTime(), out);
+            writeVarLong(value.getNanos(), out);
+        }, (in, registry) -> {
+            Timestamp timestamp = new Timestamp(readVarLong(in));
+            timestamp.setNanos((int) readVarLong(in));
+            return timestamp;
+        });
+        registerBuiltIn(12, LocalDate.class, (value, out, registry) -> writeVarLong(value.toEpochDay(), out),
+                (in, registry) -> LocalDate.ofEpochDay(readVarLong(in)));
+        registerBuiltIn(13, LocalDateTime.class, (value, out, registry) -> {
+            writeVarLong(value.toEpochSecond(ZoneOffset.UTC), out);
+            writeVarLong(value.getNano(), out);
+        }, (in, registry) -> LocalDateTime.ofEpochSecond(readVarLong(in), (int) readVarLong(in), ZoneOffset.UTC));
+        registerBuiltIn(14, BigDecimal.class, (value, out, registry) -> {
+            writeBytes(value.unscaledValue().toByteArray(), out);
+            writeVarLong(value.scale(), out);
+        }, (in, registry) -> new BigDecimal(new BigInteger(readBytes(in)), (int) readVarLong(in)));
+        registerBuiltIn(15, BigInteger.class, (value, out, registry) -> writeBytes(value.toByteArray(), out),
+                (in, registry) -> new BigInteger(readBytes(in)));
+        registerBuiltIn(16, byte[].class, (value, out, registry) -> writeBytes(value, out), (in, registry) -> readBytes(in));
+        registerBuiltIn(17, ArrayList.class, ExecutionContextTypeRegistry::writeCollection,
+                (in, registry) -> readCollection(in, registry, ArrayList::new));
+        registerBuiltIn(18, HashMap.class, ExecutionContextTypeRegistry::writeMap, (in, registry) -> readMap(in, registry, new HashMap<>()));
+        registerBuiltIn(19, LinkedHashMap.class, ExecutionContextTypeRegistry::writeMap, (in, registry) -> readMap(in, registry, new LinkedHashMap<>()));
+        registerBuiltIn(20, LinkedHashSet.class, ExecutionContextTypeRegistry::writeCollection,
+                (in, registry) -> readCollection(in, registry, LinkedHashSet::new));
+
+        addInterface(List.class, ArrayList.class, ExecutionContextTypeRegistry::writeCollection);
+        addInterface(Set.class, LinkedHashSet.class, ExecutionContextTypeRegistry::writeCollection);
+        addInterface(Map.class, LinkedHashMap.class, ExecutionContextTypeRegistry::writeMap);
+    }
+
+    /**
+     * 애플리케이션 타입을 등록합니다. 태그는 MIN_CUSTOM_TAG 이상 MAX_CUSTOM_TAG 이하여야 합니다.
+     */
+    public <T> ExecutionContextTypeRegistry register(int tag, Class<T> type, ValueCodec<T> codec) {
+        Assert.isTrue(tag >= MIN_CUSTOM_TAG && tag <= MAX_CUSTOM_TAG,
+                "tag must be between " + MIN_CUSTOM_TAG + " and " + MAX_CUSTOM_TAG + " but was " + tag);
+        add(tag, type, codec);
+        return this;
+    }
+
+    public void write(Object value, DataOutputStream out) throws IOException {
+        if (Objects.isNull(value)) {
+            out.writeByte(NULL);
+            return;
+        }
+        Registration<?> registration = byType.get(value.getClass());
+        if (Objects.isNull(registration)) {
+            registration = interfaceRegistration(value);
+        }
+        if (Objects.nonNull(registration)) {
+            out.writeByte(registration.tag);
+            registration.write(value, out, this);
+            return;
+        }
+        throw new IllegalArgumentException("Unsupported ExecutionContext value type : " + value.getClass().getName()
+                + ". Register it with ExecutionContextTypeRegistry.register(...) on the executionContextTypeRegistry bean");
+    }
+
+    private Registration<?> interfaceRegistration(Object value) {
+        for (Registration<?> registration : byInterface.values()) {
+            if (registration.type.isInstance(value)) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    public Object read(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        Registration<?> registration = tag < byTag.length ? byTag[tag] : null;
+        if (Objects.isNull(registration)) {
+            throw new IOException("Unknown ExecutionContext type tag : " + tag);
+        }
+        return registration.codec.read(in, this);
+    }
+
+    private <T> void registerBuiltIn(int tag, Class<T> type, Writer<T> writer, Reader<T> reader) {
+        add(tag, type, codec(writer, reader));
+    }
+
+    /**
+     * 정확히 같은 클래스가 등록되지 않은 값 중 type을 구현한 값을 builtInType의 태그로 기록합니다. 읽을 때는 builtInType으로 복원됩니다.
+     */
+    private <T> void addInterface(Class<T> type, Class<? extends T> builtInType, Writer<T> writer) {
+        Registration<?> builtIn = byType.get(builtInType);
+        byInterface.put(type, new Registration<>(builtIn.tag, type, codec(writer, (in, registry) -> type.cast(builtIn.codec.read(in, registry)))));
+    }
+
+    private static <T> ValueCodec<T> codec(Writer<T> writer, Reader<T> reader) {
+        return new ValueCodec<T>() {
+            @Override
+            public void write(T value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException {
+                writer.write(value, out, registry);
+            }
+
+            @Override
+            public T read(DataInputStream in, ExecutionContextTypeRegistry registry) throws IOException {
+                return reader.read(in, registry);
+            }
+        };
+    }
+
+    private <T> void add(int tag, Class<T> type, ValueCodec<T> codec) {
+        Assert.state(Objects.isNull(byTag[tag]), () -> "tag " + tag + " is already registered for " + byTag[tag].type.getName());
+        Assert.state(!byType.containsKey(type), type.getName() + " is already registered");
+        Registration<T> registration = new Registration<>(tag, type, codec);
+        byTag[tag] = registration;
+        byType.put(type, registration);
+    }
+
+    private static void writeCollection(Collection<?> value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException {
+        writeVarLong(value.size(), out);
+        for (Object element : value) {
+            registry.write(element, out);
+        }
+    }
+
+    private static <C extends Collection<Object>> C readCollection(DataInputStream in, ExecutionContextTypeRegistry registry,
+                                                                   IntFunction<C> factory) throws IOException {
+        int size = (int) readVarLong(in);
+        C collection = factory.apply(size);
+        for (int i = 0; i < size; i++) {
+            collection.add(registry.read(in));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void writeMap(Map value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException {
+        writeVarLong(value.size(), out);
+        for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+            registry.write(entry.getKey(), out);
+            registry.write(entry.getValue(), out);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <M extends Map> M readMap(DataInputStream in, ExecutionContextTypeRegistry registry, M map) throws IOException {
+        int size = (int) readVarLong(in);
+        for (int i = 0; i < size; i++) {
+            map.put(registry.read(in), registry.read(in));
+        }
+        return map;
+    }
+
+    static void writeString(String value, DataOutputStream out) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8), out);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(byte[] value, DataOutputStream out) throws IOException {
+        writeVarLong(value.length, out);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] value = new byte[(int) readVarLong(in)];
+        in.readFully(value);
+        return value;
+    }
+
+    /**
+     * zigzag 인코딩(음수를 작은 양수로 바꿈)한 뒤 7비트씩 기록하는 가변 길이 정수입니다.
+     */
+    static void writeVarLong(long value, DataOutputStream out) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int current = in.readUnsignedByte();
+            zigzag |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(T value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInputStream in, ExecutionContextTypeRegistry registry) throws IOException;
+    }
+
+    private static class Registration<T> {
+        private final int tag;
+        private final Class<T> type;
+        private final ValueCodec<T> codec;
+
+        private Registration(int tag, Class<T> type, ValueCodec<T> codec) {
+            this.tag = tag;
+            this.type = type;
+            this.codec = codec;
+        }
+
+        private void write(Object value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException {
+            codec.write(type.cast(value), out, registry);
+        }
+    }
+}
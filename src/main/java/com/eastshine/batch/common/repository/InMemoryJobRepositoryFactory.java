@@ -0,0 +1,72 @@
+package com.eastshine.batch.common.repository;
+
+import org.springframework.batch.core.DefaultJobKeyGenerator;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobKeyGenerator;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.SimpleJobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.dao.ExecutionContextDao;
+import org.springframework.batch.core.repository.dao.JobExecutionDao;
+import org.springframework.batch.core.repository.dao.MapExecutionContextDao;
+import org.springframework.batch.core.repository.dao.MapJobExecutionDao;
+import org.springframework.batch.core.repository.dao.MapJobInstanceDao;
+import org.springframework.batch.core.repository.dao.MapStepExecutionDao;
+import org.springframework.batch.core.repository.dao.StepExecutionDao;
+import org.springframework.batch.core.repository.support.SimpleJobRepository;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 배치 메타데이터를 DB 대신 메모리(Map)에 저장하는 JobRepository와 JobExplorer를 생성합니다.
+ * 두 객체가 같은 DAO를 공유하므로 JobExplorer로 JobRepository가 저장한 실행을 조회할 수 있습니다.
+ * 메타데이터 테이블과 스키마 초기화, 청크마다 실행되는 메타데이터 쿼리가 없으므로 helloJob, usage 예제, 테스트처럼
+ * 실행 기록을 남길 필요가 없는 잡에 사용합니다.
+ *
+ * 재시작 규칙(완료된 JobInstance는 다시 실행할 수 없고, 실행 중인 JobInstance는 동시에 실행할 수 없음)은
+ * 스프링 배치의 SimpleJobRepository가 그대로 판단합니다.
+ * MapJobInstanceDao는 조회 후 저장하므로, 같은 파라미터로 동시에 실행하면 JobInstance가 두 번 생성될 수 있습니다.
+ * UniqueMapJobInstanceDao는 JDBC의 JOB_KEY 유니크 제약과 같이 job key를 ConcurrentHashMap에 원자적으로 추가해,
+ * 두 번째 생성은 DuplicateKeyException으로 실패합니다. (UniqueRunIdIncrementer가 run.id로 새 JobInstance를 보장하는 전제)
+ *
+ * 메모리에만 저장하므로 프로세스가 종료되면 실행 기록이 사라지고, 실패한 잡을 다른 프로세스에서 재시작할 수 없습니다.
+ * 메타데이터 저장은 청크 트랜잭션에 참여하지 않으므로 청크 커밋 자체가 실패하면 메타데이터는 롤백되지 않습니다.
+ * Map DAO는 스프링 배치 4.3에서 deprecated 되었으므로, 5.x로 올릴 때 임베디드 DB의 JDBC DAO로 바꿉니다.
+ */
+@SuppressWarnings("deprecation")
+public class InMemoryJobRepositoryFactory {
+    private final UniqueMapJobInstanceDao jobInstanceDao = new UniqueMapJobInstanceDao();
+    private final JobExecutionDao jobExecutionDao = new MapJobExecutionDao();
+    private final StepExecutionDao stepExecutionDao = new MapStepExecutionDao();
+    private final ExecutionContextDao executionContextDao = new MapExecutionContextDao();
+
+    public JobRepository getJobRepository() {
+        return new SimpleJobRepository(jobInstanceDao, jobExecutionDao, stepExecutionDao, executionContextDao);
+    }
+
+    public JobExplorer getJobExplorer() {
+        return new SimpleJobExplorer(jobInstanceDao, jobExecutionDao, stepExecutionDao, executionContextDao);
+    }
+
+    static class UniqueMapJobInstanceDao extends MapJobInstanceDao {
+        private final Set<String> jobKeys = ConcurrentHashMap.newKeySet();
+        private final JobKeyGenerator<JobParameters> jobKeyGenerator = new DefaultJobKeyGenerator();
+
+        @Override
+        public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+            if (!jobKeys.add(jobName + "|" + jobKeyGenerator.generateKey(jobParameters))) {
+                throw new DuplicateKeyException("JobInstance already exists : " + jobName + " " + jobParameters);
+            }
+            return super.createJobInstance(jobName, jobParameters);
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            jobKeys.clear();
+        }
+    }
+}
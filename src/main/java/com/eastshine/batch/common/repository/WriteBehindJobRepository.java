@@ -0,0 +1,181 @@
+package com.eastshine.batch.common.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 청크가 커밋될 때마다 실행되는 스텝 메타데이터 저장(BATCH_STEP_EXECUTION, BATCH_STEP_EXECUTION_CONTEXT)을 모아서 저장하는 JobRepository입니다.
+ * TaskletStep은 청크 트랜잭션마다 updateExecutionContext(stepExecution), update(stepExecution)를 호출하고,
+ * update는 UPDATE 외에 잡의 중지 요청을 확인하는 SELECT도 실행합니다. 청크 크기가 작으면 비즈니스 데이터보다 메타데이터 쿼리가 많아집니다.
+ *
+ * 실행 중(STARTED)인 스텝의 저장은 미뤄 두고, 아래 시점에 마지막 상태만 저장합니다.
+ * - 미룬 커밋이 commitInterval개가 되었을 때, 또는 마지막 저장 후 flushInterval이 지난 뒤의 커밋
+ * - 스텝이 끝날 때(COMPLETED, FAILED, STOPPED 등). AbstractStep은 실패한 스텝도 상태를 저장하므로 항상 저장됩니다.
+ * 스텝을 시작할 때의 update와 잡, JobInstance에 대한 호출은 바로 저장합니다.
+ *
+ * 미룬 저장도 청크 트랜잭션 안에서 실행되므로 저장된 메타데이터는 항상 커밋된 비즈니스 데이터와 일치합니다.
+ * 예외로 실패한 스텝은 마지막으로 커밋된 청크의 상태가 저장되어 기존과 같은 위치에서 재시작합니다.
+ * 다만 프로세스가 강제 종료(kill -9, OOM)되면 마지막 저장 이후 최대 commitInterval개의 청크가 메타데이터에 반영되지 않아,
+ * 재시작할 때 그 청크들을 다시 처리합니다. 다시 처리해도 결과가 같은(멱등한) writer를 사용하는 잡에서만 사용합니다.
+ * 잡 중지 요청(JobOperator.stop)도 저장할 때 확인하므로 최대 commitInterval개의 청크를 더 처리한 뒤 중지됩니다.
+ */
+@Slf4j
+public class WriteBehindJobRepository implements JobRepository {
+    private final JobRepository delegate;
+    private final int commitInterval;
+    private final long flushIntervalNanos;
+    private final Map<Long, PendingStepExecution> pendingStepExecutions = new ConcurrentHashMap<>();
+
+    public WriteBehindJobRepository(JobRepository delegate, int commitInterval, Duration flushInterval) {
+        this.delegate = delegate;
+        this.commitInterval = commitInterval;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        if (!isRunning(stepExecution)) {
+            PendingStepExecution pending = pendingStepExecutions.remove(stepExecution.getId());
+            if (Objects.nonNull(pending)) {
+                synchronized (pending) {
+                    pending.commits++;
+                    flush(stepExecution, pending);
+                    log.info(">>>>> {} : saved {} of {} step execution updates", stepExecution.getStepName(), pending.flushes, pending.updates);
+                }
+                return;
+            }
+            delegate.update(stepExecution);
+            return;
+        }
+
+        PendingStepExecution pending = pendingStepExecutions.get(stepExecution.getId());
+        if (Objects.isNull(pending)) {
+            delegate.update(stepExecution); // 스텝을 시작할 때(STARTED)의 저장. 재시작 여부를 판단할 때 사용하므로 바로 저장합니다.
+            pendingStepExecutions.put(stepExecution.getId(), new PendingStepExecution());
+            return;
+        }
+        synchronized (pending) {
+            pending.commits++;
+            if (pending.commits >= commitInterval || System.nanoTime() - pending.lastFlushed >= flushIntervalNanos) {
+                flush(stepExecution, pending);
+            }
+        }
+    }
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        PendingStepExecution pending = pendingStepExecutions.get(stepExecution.getId());
+        if (Objects.isNull(pending)) {
+            delegate.updateExecutionContext(stepExecution);
+            return;
+        }
+        synchronized (pending) {
+            if (isRunning(stepExecution)) {
+                pending.executionContextChanged = true;
+                return;
+            }
+            pending.executionContextChanged = false;
+            delegate.updateExecutionContext(stepExecution);
+        }
+    }
+
+    /**
+     * 멀티 스레드 스텝은 여러 스레드가 같은 StepExecution으로 호출하므로 PendingStepExecution으로 동기화한 뒤 호출합니다.
+     */
+    private void flush(StepExecution stepExecution, PendingStepExecution pending) {
+        if (pending.executionContextChanged) {
+            delegate.updateExecutionContext(stepExecution);
+            pending.executionContextChanged = false;
+        }
+        delegate.update(stepExecution);
+        pending.updates += pending.commits;
+        pending.commits = 0;
+        pending.flushes++;
+        pending.lastFlushed = System.nanoTime();
+    }
+
+    private static boolean isRunning(StepExecution stepExecution) {
+        return stepExecution.getStatus() == BatchStatus.STARTED && Objects.isNull(stepExecution.getEndTime());
+    }
+
+    @Override
+    public boolean isJobInstanceExists(String jobName, JobParameters jobParameters) {
+        return delegate.isJobInstanceExists(jobName, jobParameters);
+    }
+
+    @Override
+    public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+        return delegate.createJobInstance(jobName, jobParameters);
+    }
+
+    @Override
+    public JobExecution createJobExecution(JobInstance jobInstance, JobParameters jobParameters, String jobConfigurationLocation) {
+        return delegate.createJobExecution(jobInstance, jobParameters, jobConfigurationLocation);
+    }
+
+    @Override
+    public JobExecution createJobExecution(String jobName, JobParameters jobParameters)
+            throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException {
+        return delegate.createJobExecution(jobName, jobParameters);
+    }
+
+    @Override
+    public void update(JobExecution jobExecution) {
+        delegate.update(jobExecution);
+    }
+
+    @Override
+    public void add(StepExecution stepExecution) {
+        delegate.add(stepExecution);
+    }
+
+    @Override
+    public void addAll(Collection<StepExecution> stepExecutions) {
+        delegate.addAll(stepExecutions);
+    }
+
+    @Override
+    public void updateExecutionContext(JobExecution jobExecution) {
+        delegate.updateExecutionContext(jobExecution);
+    }
+
+    @Nullable
+    @Override
+    public StepExecution getLastStepExecution(JobInstance jobInstance, String stepName) {
+        return delegate.getLastStepExecution(jobInstance, stepName);
+    }
+
+    @Override
+    public int getStepExecutionCount(JobInstance jobInstance, String stepName) {
+        return delegate.getStepExecutionCount(jobInstance, stepName);
+    }
+
+    @Nullable
+    @Override
+    public JobExecution getLastJobExecution(String jobName, JobParameters jobParameters) {
+        return delegate.getLastJobExecution(jobName, jobParameters);
+    }
+
+    private static class PendingStepExecution {
+        private int commits;
+        private boolean executionContextChanged;
+        private long lastFlushed = System.nanoTime();
+        private long updates;
+        private long flushes;
+    }
+}
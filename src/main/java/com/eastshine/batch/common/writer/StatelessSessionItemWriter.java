@@ -0,0 +1,74 @@
+package com.eastshine.batch.common.writer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.orm.hibernate5.SessionFactoryUtils;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Hibernate StatelessSession으로 아이템을 INSERT하는 writer입니다.
+ *
+ * JpaItemWriter는 아이템마다 EntityManager.merge를 호출하므로 청크가 커밋될 때까지 모든 엔티티가 영속성 컨텍스트(1차 캐시)에 쌓이고,
+ * flush 시점에 엔티티마다 dirty checking을 수행합니다. 또한 merge는 id가 없는 엔티티를 저장하기 전에 SELECT가 필요한지 판단해야 합니다.
+ * StatelessSession은 영속성 컨텍스트가 없으므로 insert가 곧바로 INSERT 문이 되고, 저장한 엔티티를 보관하지 않습니다.
+ *
+ * INSERT를 JDBC 배치로 묶으려면 엔티티의 id를 INSERT 전에 알 수 있어야 합니다.
+ * GenerationType.IDENTITY는 INSERT를 실행해야 id를 알 수 있어서 Hibernate가 배치를 사용하지 않으므로,
+ * 엔티티는 SEQUENCE(pooled optimizer, allocationSize > 1)로 id를 생성해야 합니다. 예) Person2
+ *
+ * 청크 트랜잭션(JpaTransactionManager)이 바인딩한 커넥션으로 세션을 열기 때문에 INSERT는 청크와 함께 커밋, 롤백됩니다.
+ * 청크가 끝날 때 남은 배치를 직접 실행하므로 hibernate.jdbc.batch_size 전역 설정은 필요 없습니다.
+ */
+public class StatelessSessionItemWriter<T> implements ItemWriter<T> {
+    public static final int DEFAULT_JDBC_BATCH_SIZE = 1_000;
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final int jdbcBatchSize;
+
+    public StatelessSessionItemWriter(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, DEFAULT_JDBC_BATCH_SIZE);
+    }
+
+    /**
+     * @param jdbcBatchSize 하나의 JDBC 배치로 전송할 INSERT 수. 0 이하의 값을 전달하면 DEFAULT_JDBC_BATCH_SIZE를 사용합니다.
+     */
+    public StatelessSessionItemWriter(EntityManagerFactory entityManagerFactory, int jdbcBatchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = SessionFactoryUtils.getDataSource(sessionFactory);
+        this.jdbcBatchSize = jdbcBatchSize > 0 ? jdbcBatchSize : DEFAULT_JDBC_BATCH_SIZE;
+
+        Assert.notNull(dataSource, "DataSource of the SessionFactory could not be resolved");
+    }
+
+    @Override
+    public void write(List<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        StatelessSession session = sessionFactory.withStatelessOptions()
+                .connection(connection)
+                .openStatelessSession();
+        try {
+            session.setJdbcBatchSize(jdbcBatchSize);
+            for (T item : items) {
+                session.insert(item);
+            }
+            // 트랜잭션을 세션이 아닌 청크가 관리하므로, 마지막 배치는 세션을 닫기 전에 직접 실행합니다.
+            ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+        } finally {
+            session.close();
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
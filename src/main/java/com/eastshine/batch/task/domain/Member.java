@@ -13,7 +13,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @ToString
 @Getter
@@ -54,7 +58,7 @@ public class Member {
     }
 
     public Level levelUp() {
-        Level nextLevel = Level.getNextLevel(this.getTotalAmount());
+        Level nextLevel = Level.nextLevelOf(this.getTotalAmount());
 
         this.level = nextLevel;
         this.updatedDate = LocalDate.now();
@@ -88,7 +92,34 @@ public class Member {
             return totalAmount >= level.nextAmount;
         }
 
-        private static Level getNextLevel(int totalAmount) {
+        /**
+         * availableLevelUp과 같은 등급 상향 조건을 JPQL 조건절로 생성합니다.
+         * 다음 등급이 있는 등급마다 (alias.level = :normalLevel AND alias.totalAmount >= 200000) 형태의 조건을 만들어 OR로 연결합니다.
+         * 기준 금액과 다음 등급은 이 enum에서만 관리하므로, 조회 조건과 자바의 상향 규칙이 서로 달라지지 않습니다.
+         * 등급 파라미터의 값은 levelUpConditionParameters()로 바인딩합니다.
+         */
+        public static String levelUpConditionJpql(String alias) {
+            return Arrays.stream(values())
+                    .filter(level -> Objects.nonNull(level.nextLevel))
+                    .map(level -> String.format("(%s.level = :%s AND %s.totalAmount >= %d)",
+                            alias, level.parameterName(), alias, level.nextAmount))
+                    .collect(Collectors.joining(" OR ", "(", ")"));
+        }
+
+        public static Map<String, Object> levelUpConditionParameters() {
+            return Arrays.stream(values())
+                    .filter(level -> Objects.nonNull(level.nextLevel))
+                    .collect(Collectors.toMap(Level::parameterName, level -> level, (a, b) -> a, LinkedHashMap::new));
+        }
+
+        private String parameterName() {
+            return name().toLowerCase() + "Level";
+        }
+
+        /**
+         * 누적 금액으로 상향될 등급을 계산합니다. 엔티티를 바꾸지 않으므로 JDBC로 갱신하는 writer에서 사용합니다.
+         */
+        public static Level nextLevelOf(int totalAmount) {
             if (totalAmount >= Level.VIP.nextAmount) {
                 return VIP;
             }
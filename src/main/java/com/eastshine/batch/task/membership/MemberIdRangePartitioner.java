@@ -0,0 +1,61 @@
+package com.eastshine.batch.task.membership;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * member_id의 최소값과 최대값을 조회한 뒤, gridSize 개수만큼의 id 범위로 나눕니다.
+ * 각 파티션의 범위(minId, maxId)는 파티션 StepExecution의 ExecutionContext에 저장되므로,
+ * 재시작 시에는 같은 범위를 그대로 사용하고 완료되지 않은 파티션만 다시 실행됩니다.
+ */
+public class MemberIdRangePartitioner implements Partitioner {
+    public static final String MIN_ID = "minId";
+    public static final String MAX_ID = "maxId";
+
+    private static final String PARTITION_PREFIX = "partition";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemberIdRangePartitioner(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(member_id) FROM member", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(member_id) FROM member", Long.class);
+
+        Map<String, ExecutionContext> result = new HashMap<>();
+
+        if (minId == null || maxId == null) {
+            result.put(PARTITION_PREFIX + 0, range(0L, -1L)); // 빈 범위: 워커는 아무것도 읽지 않습니다.
+            return result;
+        }
+
+        long targetSize = (maxId - minId) / Math.max(gridSize, 1) + 1;
+        long start = minId;
+        int number = 0;
+
+        while (start <= maxId) {
+            long end = Math.min(start + targetSize - 1, maxId);
+            result.put(PARTITION_PREFIX + number, range(start, end));
+
+            start += targetSize;
+            number++;
+        }
+
+        return result;
+    }
+
+    private ExecutionContext range(long minId, long maxId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_ID, minId);
+        context.putLong(MAX_ID, maxId);
+        return context;
+    }
+}
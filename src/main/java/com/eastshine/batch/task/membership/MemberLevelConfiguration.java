@@ -1,5 +1,13 @@
 package com.eastshine.batch.task.membership;
 
+import com.eastshine.batch.common.async.AsyncPipelineTaskExecutor;
+import com.eastshine.batch.common.async.MeteredAsyncItemProcessor;
+import com.eastshine.batch.common.async.MeteredAsyncItemWriter;
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.fault.FaultToleranceConfiguration;
+import com.eastshine.batch.common.fault.FaultTolerancePolicy;
+import com.eastshine.batch.common.reader.JpaScrollableCursorItemReader;
 import com.eastshine.batch.task.domain.Member;
 import com.eastshine.batch.task.domain.MemberRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,64 +19,147 @@ import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.AfterJob;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.concurrent.Future;
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
+@Import({ChunkConfiguration.class, FaultToleranceConfiguration.class})
 public class MemberLevelConfiguration {
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final MemberRepository memberRepository;
     private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
+    private final FaultTolerancePolicy faultTolerancePolicy;
 
     private final String JOB_NAME = "memberLevelUpJob";
-    private int chunkSize = 10;
 
+    private static final FlowExecutionStatus ASYNC = new FlowExecutionStatus("ASYNC");
+    private static final FlowExecutionStatus SYNC = new FlowExecutionStatus("SYNC");
+
+    /**
+     * asyncWorkers 잡 파라미터가 있으면 memberLevelUpAsyncStep을, 없으면 memberLevelUpStep을 실행합니다.
+     * 실행 파라미터 --job.name=memberLevelUpJob chunkSize=1000 asyncWorkers=4
+     */
     @Bean
     public Job memberLevelUpJob() {
         return jobBuilderFactory.get("memberLevelUpJob")
                 .incrementer(new RunIdIncrementer())
-                //.start(saveMemberStep())
-                .start(this.memberLevelUpStep())
                 .listener(new MemberLevelJobExecutionListener())
+                //.start(saveMemberStep())
+                .start(this.memberLevelUpModeDecider())
+                    .on(ASYNC.getName()).to(this.memberLevelUpAsyncStep())
+                .from(this.memberLevelUpModeDecider())
+                    .on("*").to(this.memberLevelUpStep())
+                .end()
                 .build();
     }
 
+    @Bean
+    public JobExecutionDecider memberLevelUpModeDecider() {
+        return (jobExecution, stepExecution) -> ChunkParameters.from(jobExecution.getJobParameters()).isAsync() ? ASYNC : SYNC;
+    }
+
     public Step saveMemberStep() {
         return stepBuilderFactory.get("saveMemberStep")
                 .tasklet(new SaveMemberTasklet(memberRepository))
                 .build();
     }
 
+    /**
+     * 데드락 등 일시적인 DB 오류는 청크를 재시도하고, 제약 조건을 위반한 회원은 청크를 반씩 나누어 다시 쓰면서 찾아 스킵합니다.
+     */
     @Bean
     public Step memberLevelUpStep() {
-        return stepBuilderFactory.get("memberLevelUpStep")
-                .<Member, Member>chunk(10)
-                .reader(this.memberLevelUpReader())
-                .processor(this.memberLevelUpProcessor())
-                .writer(this.memberLevelUpWriter())
+        return faultTolerancePolicy.apply(stepBuilderFactory.get("memberLevelUpStep")
+                        .<Member, Member>chunk(chunkCompletionPolicy)
+                        .reader(this.memberLevelUpReader())
+                        .processor(this.memberLevelUpProcessor())
+                        .writer(faultTolerancePolicy.splittingWriter(this.memberLevelUpWriter(), dataSource)))
                 .build();
     }
 
+    /**
+     * memberLevelUpStep과 같은 reader, processor, writer를 사용하지만 processor를 asyncWorkers 개의 스레드에서 실행합니다.
+     * reader 스레드가 다음 아이템을 읽는 동안 이전 아이템의 처리가 진행되고, writer는 청크의 결과(Future)를 모두 기다린 뒤 저장합니다.
+     * processor가 거른 회원도 writeCount에 포함되므로, 실제로 상향된 회원 수는 ExecutionContext의 MeteredAsyncItemWriter.WRITTEN_COUNT로 확인합니다.
+     *
+     * memberLevelUpStep과 같은 스킵, 재시도 정책을 적용합니다. 아이템이 Future이므로 스킵할 회원은 Future를 푼 뒤의
+     * BinarySplitItemWriter가 찾아 스킵하고, 재시도할 예외는 청크를 롤백한 뒤 processor부터 다시 실행합니다.
+     */
     @Bean
-    public JpaPagingItemReader<Member> memberLevelUpReader() {
-        return new JpaPagingItemReaderBuilder<Member>()
-                .name("jpaPagingItemReader")
-                .entityManagerFactory(entityManagerFactory)
-                .pageSize(chunkSize)
-                .queryString("SELECT m FROM Member m")
+    public Step memberLevelUpAsyncStep() {
+        return faultTolerancePolicy.apply(stepBuilderFactory.get("memberLevelUpAsyncStep")
+                        .<Member, Future<Member>>chunk(chunkCompletionPolicy)
+                        .reader(this.memberLevelUpReader())
+                        .processor(this.memberLevelUpAsyncProcessor())
+                        .writer(this.memberLevelUpAsyncWriter()))
                 .build();
     }
 
+    /**
+     * 큐의 크기를 청크 크기로 제한합니다. 큐가 가득 차면 reader 스레드가 직접 처리하므로
+     * 읽은 아이템이 처리 속도보다 빠르게 메모리에 쌓이지 않습니다.
+     */
+    @Bean
+    @StepScope
+    public AsyncPipelineTaskExecutor memberLevelUpAsyncTaskExecutor() {
+        return new AsyncPipelineTaskExecutor(
+                "memberLevelUp",
+                chunkParameters.getAsyncWorkers(),
+                chunkParameters.getChunkSize());
+    }
+
+    @Bean
+    public MeteredAsyncItemProcessor<Member, Member> memberLevelUpAsyncProcessor() {
+        return new MeteredAsyncItemProcessor<>("memberLevelUp", this.memberLevelUpProcessor(), this.memberLevelUpAsyncTaskExecutor());
+    }
+
+    @Bean
+    @StepScope
+    @SuppressWarnings("unchecked")
+    public MeteredAsyncItemWriter<Member> memberLevelUpAsyncWriter() {
+        return new MeteredAsyncItemWriter<>("memberLevelUp",
+                faultTolerancePolicy.splittingWriter((ItemWriter<Member>) this.memberLevelUpWriter(), dataSource));
+    }
+
+    /**
+     * 페이지마다 쿼리를 실행하는 대신 member_id 순서의 커서 하나로 스텝 전체를 읽습니다.
+     * 읽은 회원은 fetchSize 건마다 영속성 컨텍스트에서 분리하므로 회원 수와 관계없이 메모리 사용량이 일정합니다.
+     * 등급 상향 조건을 조회 조건에 포함해 상향 대상 회원만 읽고, 재시작 시 마지막으로 읽은 member_id 다음부터 읽습니다.
+     */
+    @Bean
+    @StepScope
+    public JpaScrollableCursorItemReader<Member> memberLevelUpReader() {
+        JpaScrollableCursorItemReader<Member> reader = new JpaScrollableCursorItemReader<>(
+                "memberLevelUpReader",
+                entityManagerFactory,
+                "SELECT m FROM Member m WHERE m.id > :lastId AND " + Member.Level.levelUpConditionJpql("m") + " ORDER BY m.id",
+                Member::getId,
+                chunkParameters.getFetchSizeOrPageSize());
+        reader.setParameterValues(Member.Level.levelUpConditionParameters());
+        return reader;
+    }
+
+    /**
+     * reader가 상향 대상만 조회하므로 대부분 그대로 통과합니다. 조회 이후 변경된 회원을 거르기 위해 남겨 둡니다.
+     */
     @Bean
     public ItemProcessor<Member, Member> memberLevelUpProcessor() {
         return member -> {
@@ -79,8 +170,19 @@ public class MemberLevelConfiguration {
         };
     }
 
+    /**
+     * 등급별로 묶어 한 번의 UPDATE로 반영하는 writer입니다.
+     */
     @Bean
     public ItemWriter<? super Member> memberLevelUpWriter() {
+        return new MemberLevelUpBulkWriter(dataSource);
+    }
+
+    /**
+     * 아이템마다 merge와 UPDATE를 실행하는 기존 writer입니다. 처리량 비교를 위해 남겨 둡니다.
+     */
+    @Bean
+    public ItemWriter<? super Member> memberLevelUpRepositoryWriter() {
         return members -> members.forEach(m -> {
             m.levelUp();
             memberRepository.save(m);
@@ -91,12 +193,25 @@ public class MemberLevelConfiguration {
 
         @AfterJob
         public void afterJob(JobExecution jobExecution) {
-            int sum = jobExecution.getStepExecutions().stream()
-                    .mapToInt(StepExecution::getWriteCount)
+            long sum = jobExecution.getStepExecutions().stream()
+                    .mapToLong(MemberLevelJobExecutionListener::writtenCount)
                     .sum();
 
             log.info("----------------------------");
             log.info("annotationAfterJob : {}", sum);
+            jobExecution.getStepExecutions().forEach(stepExecution ->
+                    log.info("{} read : {}, filter : {}, write : {}",
+                            stepExecution.getStepName(),
+                            stepExecution.getReadCount(),
+                            stepExecution.getFilterCount(),
+                            stepExecution.getWriteCount()));
+        }
+
+        /**
+         * 비동기 스텝의 writeCount에는 거른 회원이 포함되므로 MeteredAsyncItemWriter가 저장한 수를, 다른 스텝은 writeCount를 사용합니다.
+         */
+        private static long writtenCount(StepExecution stepExecution) {
+            return stepExecution.getExecutionContext().getLong(MeteredAsyncItemWriter.WRITTEN_COUNT, stepExecution.getWriteCount());
         }
     }
 }
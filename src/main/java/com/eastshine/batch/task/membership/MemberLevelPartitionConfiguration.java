@@ -0,0 +1,129 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.executor.BatchTaskExecutorConfiguration;
+import com.eastshine.batch.common.fault.FaultToleranceConfiguration;
+import com.eastshine.batch.common.fault.FaultTolerancePolicy;
+import com.eastshine.batch.common.reader.JpaKeysetPagingItemReader;
+import com.eastshine.batch.task.domain.Member;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * memberLevelUpStep을 member_id 범위로 나누어 여러 스레드에서 병렬로 처리합니다.
+ * 매니저 스텝(memberLevelUpManagerStep)은 MemberIdRangePartitioner로 범위를 나누고,
+ * 워커 스텝(memberLevelUpWorkerStep)은 파티션마다 별도의 StepExecution으로 실행되므로 파티션 단위로 재시작할 수 있습니다.
+ *
+ * 실행 파라미터 --job.name=memberLevelUpPartitionJob gridSize=8
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+@Import({ChunkConfiguration.class, BatchTaskExecutorConfiguration.class, FaultToleranceConfiguration.class})
+public class MemberLevelPartitionConfiguration {
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final ItemProcessor<Member, Member> memberLevelUpProcessor;
+    private final ItemWriter<? super Member> memberLevelUpWriter;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
+    private final TaskExecutor batchTaskExecutor;
+    private final FaultTolerancePolicy faultTolerancePolicy;
+
+    private static final int DEFAULT_GRID_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @Bean
+    public Job memberLevelUpPartitionJob() {
+        return jobBuilderFactory.get("memberLevelUpPartitionJob")
+                .incrementer(new RunIdIncrementer())
+                .start(memberLevelUpManagerStep())
+                .build();
+    }
+
+    @Bean
+    public Step memberLevelUpManagerStep() {
+        return stepBuilderFactory.get("memberLevelUpManagerStep")
+                .partitioner("memberLevelUpWorkerStep", memberIdRangePartitioner())
+                .partitionHandler(memberLevelUpPartitionHandler(null)) // gridSize는 @JobScope로 실행 시점에 바인딩됩니다.
+                .build();
+    }
+
+    @Bean
+    public MemberIdRangePartitioner memberIdRangePartitioner() {
+        return new MemberIdRangePartitioner(dataSource);
+    }
+
+    @Bean
+    @JobScope
+    public PartitionHandler memberLevelUpPartitionHandler(@Value("#{jobParameters[gridSize]}") Integer gridSize) {
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(memberLevelUpWorkerStep());
+        partitionHandler.setTaskExecutor(batchTaskExecutor);
+        partitionHandler.setGridSize(Objects.nonNull(gridSize) ? gridSize : DEFAULT_GRID_SIZE);
+        return partitionHandler;
+    }
+
+    /**
+     * memberLevelUpStep과 같은 스킵, 재시도 정책을 적용합니다. 스킵한 회원은 파티션(워커 스텝 실행)마다 별도의 파일에 남습니다.
+     */
+    @Bean
+    public Step memberLevelUpWorkerStep() {
+        return faultTolerancePolicy.apply(stepBuilderFactory.get("memberLevelUpWorkerStep")
+                        .<Member, Member>chunk(chunkCompletionPolicy)
+                        .reader(memberLevelUpPartitionReader(null, null))
+                        .processor(memberLevelUpProcessor)
+                        .writer(faultTolerancePolicy.splittingWriter(memberLevelUpWriter, dataSource)))
+                .build();
+    }
+
+    /**
+     * 파티션마다 생성되는 reader입니다. 파티셔너가 저장한 범위를 stepExecutionContext에서 늦은 바인딩으로 주입받습니다.
+     * 범위의 시작(minId - 1)부터 keyset 페이징으로 읽으며, 재시작 시에는 파티션별로 저장된 마지막 키부터 이어서 읽습니다.
+     */
+    @Bean
+    @StepScope
+    public JpaKeysetPagingItemReader<Member> memberLevelUpPartitionReader(
+            @Value("#{stepExecutionContext[minId]}") Long minId,
+            @Value("#{stepExecutionContext[maxId]}") Long maxId) {
+        JpaKeysetPagingItemReader<Member> reader = new JpaKeysetPagingItemReader<>(
+                "memberLevelUpPartitionReader",
+                entityManagerFactory,
+                "SELECT m FROM Member m WHERE m.id > :lastId AND m.id <= :maxId AND "
+                        + Member.Level.levelUpConditionJpql("m") + " ORDER BY m.id",
+                Member::getId,
+                chunkParameters.getPageSize());
+
+        Map<String, Object> parameters = new HashMap<>(Member.Level.levelUpConditionParameters());
+        parameters.put(MemberIdRangePartitioner.MAX_ID, maxId);
+
+        reader.setStartKey(minId - 1);
+        reader.setParameterValues(parameters);
+        return reader;
+    }
+}
@@ -0,0 +1,141 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.reader.JpaScrollableCursorItemReader;
+import com.eastshine.batch.common.remote.JmsChunkTransportConfiguration;
+import com.eastshine.batch.common.remote.LocalChunkTransportConfiguration;
+import com.eastshine.batch.common.remote.RemoteChunkingBacklogResetListener;
+import com.eastshine.batch.common.remote.RemoteChunkingChannels;
+import com.eastshine.batch.task.domain.Member;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.integration.chunk.ChunkProcessorChunkHandler;
+import org.springframework.batch.integration.chunk.RemoteChunkingManagerStepBuilderFactory;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.item.support.PassThroughItemProcessor;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.IntegrationFlows;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.PollableChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.function.Function;
+
+/**
+ * memberLevelUpJob의 원격 청킹(remote chunking) 버전입니다.
+ *
+ * 매니저 스텝은 등급 상향 대상의 member_id만 읽어 청크 단위로 요청 채널에 보내고, 워커가 회원을 조회해 등급을 갱신한 뒤 결과를 응답 채널로 돌려줍니다.
+ * 조회와 갱신의 CPU 사용량이 워커로 옮겨지므로, 워커를 다른 프로세스로 늘리면 매니저 JVM 하나의 CPU보다 많은 처리량을 낼 수 있습니다.
+ * 채널은 batch.remote-chunking.transport로 고른 전송 방식(LocalChunkTransportConfiguration, JmsChunkTransportConfiguration)이 등록합니다.
+ *
+ * 매니저 스텝은 워커의 응답을 기다리지 않고 다음 청크를 읽으므로, 마지막으로 보낸 청크의 키는 워커가 처리했다는 보장이 없습니다.
+ * 그래서 재시작하면 항상 처음부터 다시 읽습니다. 워커가 이미 갱신한 회원은 조회 조건에 맞지 않으므로 다시 읽히지 않고, 중복 갱신되지도 않습니다.
+ *
+ * 실행 파라미터 --job.name=memberLevelUpRemoteJob chunkSize=1000 (워커 설정은 JmsChunkTransportConfiguration 참고)
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+@EnableBatchIntegration
+@Import({ChunkConfiguration.class, LocalChunkTransportConfiguration.class, JmsChunkTransportConfiguration.class})
+public class MemberLevelRemoteChunkingConfiguration {
+    private final JobBuilderFactory jobBuilderFactory;
+    private final RemoteChunkingManagerStepBuilderFactory remoteChunkingManagerStepBuilderFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
+
+    /**
+     * 응답을 기다리는 한 번의 receive 시간과, 스텝이 끝날 때 남은 응답을 기다리는 최대 횟수입니다.
+     */
+    private static final long REPLY_TIMEOUT_MILLIS = 1_000L;
+    private static final int MAX_WAIT_TIMEOUTS = 300;
+
+    @Bean
+    public Job memberLevelUpRemoteJob(Step memberLevelUpRemoteStep) {
+        return jobBuilderFactory.get("memberLevelUpRemoteJob")
+                .incrementer(new RunIdIncrementer())
+                .start(memberLevelUpRemoteStep)
+                .build();
+    }
+
+    /**
+     * 워커에서 처리 중인 청크가 throttle-limit 개가 되면 응답을 받을 때까지 다음 청크를 보내지 않습니다.
+     */
+    @Bean
+    public Step memberLevelUpRemoteStep(@Qualifier(RemoteChunkingChannels.REQUESTS) MessageChannel requests,
+                                        @Qualifier(RemoteChunkingChannels.REPLIES) PollableChannel replies,
+                                        @Value("${batch.remote-chunking.throttle-limit:8}") long throttleLimit) {
+        MessagingTemplate messagingTemplate = new MessagingTemplate();
+        messagingTemplate.setDefaultChannel(requests);
+        messagingTemplate.setReceiveTimeout(REPLY_TIMEOUT_MILLIS);
+
+        return remoteChunkingManagerStepBuilderFactory.<Long, Long>get("memberLevelUpRemoteStep")
+                .messagingTemplate(messagingTemplate)
+                .inputChannel(replies)
+                .throttleLimit(throttleLimit)
+                .maxWaitTimeouts(MAX_WAIT_TIMEOUTS)
+                .chunk(chunkCompletionPolicy)
+                .reader(this.memberIdReader())
+                .listener(new RemoteChunkingBacklogResetListener(replies))
+                .build();
+    }
+
+    /**
+     * memberLevelUpReader와 같은 조건으로 회원 엔티티 대신 member_id만 읽으므로, 매니저는 엔티티를 만들지 않고 작은 메시지만 보냅니다.
+     * 보낸 청크의 키를 저장하면 워커가 실패한 청크를 재시작 때 건너뛰므로 상태를 저장하지 않습니다.
+     */
+    @Bean
+    @StepScope
+    public JpaScrollableCursorItemReader<Long> memberIdReader() {
+        JpaScrollableCursorItemReader<Long> reader = new JpaScrollableCursorItemReader<>(
+                "memberIdReader",
+                entityManagerFactory,
+                "SELECT m.id FROM Member m WHERE m.id > :lastId AND " + Member.Level.levelUpConditionJpql("m") + " ORDER BY m.id",
+                Function.identity(),
+                chunkParameters.getFetchSizeOrPageSize());
+        reader.setParameterValues(Member.Level.levelUpConditionParameters());
+        reader.setSaveState(false);
+        return reader;
+    }
+
+    @Bean
+    public ChunkProcessorChunkHandler<Long> memberLevelUpChunkHandler() {
+        ChunkProcessorChunkHandler<Long> chunkHandler = new ChunkProcessorChunkHandler<>();
+        chunkHandler.setChunkProcessor(new SimpleChunkProcessor<>(
+                new PassThroughItemProcessor<>(),
+                new MemberLevelUpByIdWriter(entityManagerFactory, dataSource, transactionManager)));
+        return chunkHandler;
+    }
+
+    /**
+     * 워커 채널로 받은 ChunkRequest를 처리하고 ChunkResponse를 워커 응답 채널로 보냅니다.
+     */
+    @Bean
+    @ConditionalOnExpression(RemoteChunkingChannels.WORKER_ENABLED)
+    public IntegrationFlow memberLevelUpWorkerFlow() {
+        return IntegrationFlows.from(RemoteChunkingChannels.WORKER_REQUESTS)
+                .handle(this.memberLevelUpChunkHandler(), "handleChunk")
+                .channel(RemoteChunkingChannels.WORKER_REPLIES)
+                .get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.task.domain.Member;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 청크의 회원을 상향될 등급별로 묶어, 등급마다 한 번의 UPDATE 문으로 반영합니다.
+ * memberRepository.save(m)는 아이템마다 merge와 UPDATE를 실행하지만, 이 writer는 청크당 최대 등급 수만큼의 UPDATE만 실행합니다.
+ * JDBC로 직접 갱신하므로 영속성 컨텍스트의 변경 감지(dirty checking)를 거치지 않습니다.
+ * reader가 조회한 엔티티는 영속 상태일 수 있으므로(페이지마다 flush하는 reader 등) 엔티티를 바꾸지 않고 id만 모읍니다.
+ * 엔티티를 바꾸면 reader의 flush나 커밋 시점에 회원마다 UPDATE가 한 번 더 실행됩니다.
+ */
+public class MemberLevelUpBulkWriter implements ItemWriter<Member> {
+    private static final String UPDATE_SQL =
+            "UPDATE member SET level = :level, updated_date = :updatedDate WHERE member_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MemberLevelUpBulkWriter(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void write(List<? extends Member> members) {
+        Map<Member.Level, List<Long>> idsByLevel = new EnumMap<>(Member.Level.class);
+
+        for (Member member : members) {
+            Member.Level nextLevel = Member.Level.nextLevelOf(member.getTotalAmount());
+            idsByLevel.computeIfAbsent(nextLevel, level -> new ArrayList<>()).add(member.getId());
+        }
+
+        LocalDate updatedDate = LocalDate.now();
+        idsByLevel.forEach((level, ids) -> jdbcTemplate.update(UPDATE_SQL, new MapSqlParameterSource()
+                .addValue("level", level.name())
+                .addValue("updatedDate", updatedDate)
+                .addValue("ids", ids)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.task.domain.Member;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 원격 청킹 워커의 writer입니다. 매니저가 보낸 member_id 청크의 회원을 한 번의 IN 쿼리로 조회한 뒤,
+ * 등급 상향 대상만 MemberLevelUpBulkWriter로 갱신합니다.
+ *
+ * 워커는 스텝 밖(메시지 리스너 스레드)에서 실행되므로 조회와 갱신을 직접 하나의 트랜잭션으로 묶습니다.
+ * 실패하면 트랜잭션을 롤백한 뒤 예외를 던지고, ChunkProcessorChunkHandler가 실패 응답을 매니저에 보냅니다.
+ * 회원은 읽기 전용으로 조회하며, MemberLevelUpBulkWriter는 엔티티를 바꾸지 않고 JDBC로만 갱신합니다.
+ */
+public class MemberLevelUpByIdWriter implements ItemWriter<Long> {
+    private static final String SELECT_MEMBERS = "SELECT m FROM Member m WHERE m.id IN :ids";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberLevelUpBulkWriter memberLevelUpBulkWriter;
+
+    public MemberLevelUpByIdWriter(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                   PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.memberLevelUpBulkWriter = new MemberLevelUpBulkWriter(dataSource);
+    }
+
+    @Override
+    public void write(List<? extends Long> ids) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            List<Member> members = entityManager.createQuery(SELECT_MEMBERS, Member.class)
+                    .setParameter("ids", ids)
+                    .setHint(QueryHints.HINT_READONLY, true)
+                    .getResultList()
+                    .stream()
+                    .filter(member -> !member.notAvailableLeveUp()) // 매니저가 읽은 뒤 바뀐 회원은 거릅니다.
+                    .collect(Collectors.toList());
+
+            memberLevelUpBulkWriter.write(members);
+        });
+    }
+}
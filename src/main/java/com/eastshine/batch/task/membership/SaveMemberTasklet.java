@@ -0,0 +1,38 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 등급 상향 잡을 실행해 보기 위한 테스트 회원 데이터를 저장합니다.
+ */
+@RequiredArgsConstructor
+public class SaveMemberTasklet implements Tasklet {
+    private final MemberRepository memberRepository;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        List<Member> members = createMembers();
+        memberRepository.saveAll(members);
+
+        return RepeatStatus.FINISHED;
+    }
+
+    private List<Member> createMembers() {
+        List<Member> members = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            members.add(new Member("test name" + i, i * 10_000));
+        }
+
+        return members;
+    }
+}
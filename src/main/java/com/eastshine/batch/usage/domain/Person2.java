@@ -9,6 +9,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.util.Objects;
 
@@ -19,9 +20,20 @@ import java.util.Objects;
 @Setter
 @Table(name = "person2")
 public class Person2 {
+    public static final String ID_SEQUENCE = "person2_seq";
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    /**
+     * IDENTITY는 INSERT 후에야 id를 알 수 있어서 Hibernate가 INSERT를 JDBC 배치로 묶지 못합니다.
+     * 시퀀스를 ID_ALLOCATION_SIZE씩 증가시키고(pooled optimizer) 그 범위의 id를 메모리에서 할당하므로,
+     * ID_ALLOCATION_SIZE건마다 시퀀스를 한 번만 조회합니다. (StatelessSessionItemWriter)
+     *
+     * JDBC writer(jdbcBatchItemWriterJob)도 SequenceIdAllocator로 같은 방식으로 id를 할당해 INSERT하므로 JPA가 할당한 id와 겹치지 않습니다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private int id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private long id;
     private String name;
     private String age;
     private String address;
@@ -1,26 +1,79 @@
 package com.eastshine.batch.usage.job.step.chunk.processor;
 
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.DeduplicationJournal;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.DeduplicationStrategy;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.ExactDeduplicationStrategy;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Function;
 
-public class DuplicateValidationProcessor<T> implements ItemProcessor<T, T> {
+/**
+ * keyExtractor로 추출한 키가 이미 처리된 아이템이면 걸러냅니다(null 반환).
+ * 처리한 키를 기억하는 방법은 DeduplicationStrategy로 선택합니다(기본값은 키를 그대로 보관하는 ExactDeduplicationStrategy).
+ *
+ * 중복 판단 상태는 스텝 실행마다 새로 만들어야 하므로 @StepScope 빈으로 생성하고, 스텝에 stream과 listener(StepExecutionListener, ItemWriteListener)로 등록합니다.
+ * snapshotDirectory를 지정하면 writer가 쓴 아이템의 키를 journal 파일에 기록하고, 커밋마다 파일 경로와 길이를 ExecutionContext에 저장합니다.
+ * process 시점이 아니라 afterWrite에서 기록하므로, 롤백된 청크의 키는 커밋된 길이 밖에 남았다가 재시작 시 잘려 나갑니다.
+ * 재시작 시에는 journal에서 커밋된 키를 복원하므로 이미 처리한 입력을 다시 읽지 않아도 됩니다.
+ * 스텝이 정상 완료되면 journal 파일을 삭제합니다.
+ */
+public class DuplicateValidationProcessor<T> extends ItemStreamSupport implements ItemProcessor<T, T>, StepExecutionListener, ItemWriteListener<T> {
+    private static final String JOURNAL_PATH = "journal.path";
+    private static final String JOURNAL_LENGTH = "journal.length";
+    private static final String DEFAULT_NAME = "duplicateValidationProcessor";
 
-    private final Map<String, Object> keyPool = new ConcurrentHashMap<>();
+    private final DeduplicationStrategy deduplicationStrategy;
     private final Function<T, String> keyExtractor;
     private final boolean allowDuplicate;
 
+    private Path snapshotDirectory;
+    private DeduplicationJournal journal;
+    private boolean completed = false;
+
     public DuplicateValidationProcessor(Function<T, String> keyExtractor) {
         this(keyExtractor, true);
     }
 
     public DuplicateValidationProcessor(Function<T, String> keyExtractor,
                                         boolean allowDuplicate) {
+        this(keyExtractor, allowDuplicate, new ExactDeduplicationStrategy());
+    }
+
+    public DuplicateValidationProcessor(Function<T, String> keyExtractor,
+                                        DeduplicationStrategy deduplicationStrategy) {
+        this(keyExtractor, false, deduplicationStrategy);
+    }
+
+    private DuplicateValidationProcessor(Function<T, String> keyExtractor,
+                                         boolean allowDuplicate,
+                                         DeduplicationStrategy deduplicationStrategy) {
 
         this.keyExtractor = keyExtractor;
         this.allowDuplicate = allowDuplicate;
+        this.deduplicationStrategy = deduplicationStrategy;
+        setName(DEFAULT_NAME);
+    }
+
+    /**
+     * journal 파일을 저장할 디렉토리입니다. 지정하지 않으면 재시작 시 중복 판단 상태를 복원하지 않습니다.
+     */
+    public void setSnapshotDirectory(Path snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
     }
 
     @Override
@@ -29,13 +82,100 @@ public class DuplicateValidationProcessor<T> implements ItemProcessor<T, T> {
             return item;
         }
 
-        String key = keyExtractor.apply(item);
-
-        if (keyPool.containsKey(key)) {
+        if (!deduplicationStrategy.add(keyExtractor.apply(item))) {
             return null;
         }
-
-        keyPool.put(key, key);
         return item;
     }
+
+    @Override
+    public void beforeWrite(List<? extends T> items) {
+    }
+
+    /**
+     * 청크와 같은 트랜잭션 안에서, update보다 먼저 호출됩니다.
+     */
+    @Override
+    public void afterWrite(List<? extends T> items) {
+        if (Objects.isNull(journal)) {
+            return;
+        }
+
+        try {
+            for (T item : items) {
+                journal.append(keyExtractor.apply(item));
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to append to deduplication journal : " + journal.getPath(), e);
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, List<? extends T> items) {
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (allowDuplicate || Objects.isNull(snapshotDirectory)) {
+            return;
+        }
+
+        Path path = executionContext.containsKey(getExecutionContextKey(JOURNAL_PATH))
+                ? Paths.get(executionContext.getString(getExecutionContextKey(JOURNAL_PATH)))
+                : snapshotDirectory.resolve(DEFAULT_NAME + "-" + UUID.randomUUID() + ".journal");
+        long committedLength = executionContext.getLong(getExecutionContextKey(JOURNAL_LENGTH), 0L);
+
+        try {
+            journal = DeduplicationJournal.open(path, committedLength, deduplicationStrategy);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open deduplication journal : " + path, e);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (Objects.isNull(journal)) {
+            return;
+        }
+
+        try {
+            long length = journal.flush();
+            executionContext.putString(getExecutionContextKey(JOURNAL_PATH), journal.getPath().toString());
+            executionContext.putLong(getExecutionContextKey(JOURNAL_LENGTH), length);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to flush deduplication journal : " + journal.getPath(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(journal)) {
+            return;
+        }
+
+        try {
+            journal.close();
+            if (completed) {
+                Files.deleteIfExists(journal.getPath());
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close deduplication journal : " + journal.getPath(), e);
+        } finally {
+            journal = null;
+        }
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        completed = false;
+    }
+
+    /**
+     * afterStep은 stream의 close보다 먼저 호출됩니다. 완료된 경우에만 close에서 journal을 삭제합니다.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        completed = stepExecution.getStatus() == BatchStatus.COMPLETED;
+        return null;
+    }
 }
@@ -0,0 +1,114 @@
+package com.eastshine.batch.usage.job.step.chunk.processor;
+
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.job.UniqueRunIdIncrementer;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.ExternalSortDeduplicationCleanupListener;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.ExternalSortDeduplicationTasklet;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.ExternalSortDeduplicator;
+import com.eastshine.batch.usage.job.step.chunk.reader.PersonLineMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * 키 집합이 힙보다 클 때 사용하는 2단계 중복 제거 잡입니다.
+ * 1. externalSortDedupIndexStep : 입력 전체의 키를 외부 정렬(run 파일 + k-way merge)해 처음 등장한 아이템 위치를 파일로 만듭니다.
+ * 2. externalSortDedupStep : 같은 입력을 다시 읽으면서 FirstSeenItemProcessor로 처음 등장한 아이템만 통과시킵니다.
+ *
+ * 실행 파라미터 --job.name=externalSortDedupJob inputFile=/data/person.csv dedupWorkDir=/data/tmp sortBufferRecords=4000000
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+@Import(ChunkConfiguration.class)
+public class ExternalSortDeduplicationConfiguration {
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final CompletionPolicy chunkCompletionPolicy;
+
+    @Bean
+    public Job externalSortDedupJob() {
+        return jobBuilderFactory.get("externalSortDedupJob")
+                .incrementer(new UniqueRunIdIncrementer())
+                .listener(new ExternalSortDeduplicationCleanupListener())
+                .start(externalSortDedupIndexStep())
+                .next(externalSortDedupStep())
+                .build();
+    }
+
+    @Bean
+    public Step externalSortDedupIndexStep() {
+        return stepBuilderFactory.get("externalSortDedupIndexStep")
+                .tasklet(externalSortDeduplicationTasklet(null, null))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public ExternalSortDeduplicationTasklet<Person> externalSortDeduplicationTasklet(
+            @Value("#{jobParameters[dedupWorkDir]}") String dedupWorkDir,
+            @Value("#{jobParameters[sortBufferRecords]}") Integer sortBufferRecords) {
+        return new ExternalSortDeduplicationTasklet<>(
+                externalSortDedupReader(null),
+                Person::getName,
+                Paths.get(Objects.nonNull(dedupWorkDir) ? dedupWorkDir : System.getProperty("java.io.tmpdir")),
+                Objects.nonNull(sortBufferRecords) ? sortBufferRecords : ExternalSortDeduplicator.DEFAULT_BUFFER_RECORDS);
+    }
+
+    @Bean
+    public Step externalSortDedupStep() {
+        return stepBuilderFactory.get("externalSortDedupStep")
+                .<Person, Person>chunk(chunkCompletionPolicy)
+                .reader(externalSortDedupReader(null))
+                .processor(firstSeenItemProcessor(null))
+                .writer(externalSortDedupWriter())
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public FirstSeenItemProcessor<Person> firstSeenItemProcessor(
+            @Value("#{jobExecutionContext[" + ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS + "]}") String firstSeenPositions) {
+        return new FirstSeenItemProcessor<>(Paths.get(firstSeenPositions));
+    }
+
+    /**
+     * 두 스텝이 같은 순서로 입력을 읽어야 하므로 같은 설정의 reader를 스텝마다 새로 생성합니다(@StepScope).
+     */
+    @Bean
+    @StepScope
+    public FlatFileItemReader<Person> externalSortDedupReader(@Value("#{jobParameters[inputFile]}") String inputFile) {
+        Resource resource = Objects.nonNull(inputFile) ? new FileSystemResource(inputFile) : new ClassPathResource("person.csv");
+
+        return new FlatFileItemReaderBuilder<Person>()
+                .name("externalSortDedupReader")
+                .encoding("UTF-8")
+                .resource(resource)
+                .linesToSkip(1)
+                .lineMapper(new PersonLineMapper())
+                .build();
+    }
+
+    private ItemWriter<Person> externalSortDedupWriter() {
+        return items -> items.forEach(person -> log.info("Distinct Person={}", person));
+    }
+}
@@ -0,0 +1,64 @@
+package com.eastshine.batch.usage.job.step.chunk.processor;
+
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.FirstSeenPositions;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * ExternalSortDeduplicationTasklet이 만든 FirstSeenPositions를 조회해, 키가 처음 등장한 아이템만 통과시킵니다.
+ * 아이템 위치는 process 호출 순서이므로, 반드시 체인의 첫 번째 processor로 두고 첫 번째 스텝과 같은 순서로 입력을 읽어야 합니다.
+ * 처리한 위치는 ExecutionContext에 저장되어 재시작 시 이어서 계산됩니다.
+ */
+public class FirstSeenItemProcessor<T> extends ItemStreamSupport implements ItemProcessor<T, T> {
+    private static final String POSITION = "position";
+
+    private final Path firstSeenPositionsPath;
+
+    private FirstSeenPositions firstSeenPositions;
+    private long position;
+
+    public FirstSeenItemProcessor(Path firstSeenPositionsPath) {
+        this.firstSeenPositionsPath = firstSeenPositionsPath;
+        setName("firstSeenItemProcessor");
+    }
+
+    @Override
+    public T process(T item) {
+        return firstSeenPositions.isSet(position++) ? item : null;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        position = executionContext.getLong(getExecutionContextKey(POSITION), 0L);
+        try {
+            firstSeenPositions = FirstSeenPositions.open(firstSeenPositionsPath);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open first seen positions : " + firstSeenPositionsPath, e);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putLong(getExecutionContextKey(POSITION), position);
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(firstSeenPositions)) {
+            return;
+        }
+        try {
+            firstSeenPositions.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close first seen positions : " + firstSeenPositionsPath, e);
+        } finally {
+            firstSeenPositions = null;
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.eastshine.batch.usage.job.step.chunk.processor;
 
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
 import com.eastshine.batch.usage.domain.Person;
 import com.eastshine.batch.usage.job.UniqueRunIdIncrementer;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.DeduplicationType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.support.CompositeItemProcessor;
 import org.springframework.batch.item.support.ListItemReader;
 import org.springframework.batch.item.support.builder.CompositeItemProcessorBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * ItemProcessor는 잡이 처리하는 아이템에 비즈니스 로직을 적용하는 곳입니다.
@@ -30,14 +40,18 @@ import java.util.List;
  */
 @Slf4j
 @Configuration
+@Import(ChunkConfiguration.class)
 public class ItemProcessorConfiguration {
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
+    private final CompletionPolicy chunkCompletionPolicy;
 
     public ItemProcessorConfiguration(JobBuilderFactory jobBuilderFactory,
-                                      StepBuilderFactory stepBuilderFactory) {
+                                      StepBuilderFactory stepBuilderFactory,
+                                      CompletionPolicy chunkCompletionPolicy) {
         this.jobBuilderFactory = jobBuilderFactory;
         this.stepBuilderFactory = stepBuilderFactory;
+        this.chunkCompletionPolicy = chunkCompletionPolicy;
     }
 
     @Bean
@@ -51,10 +65,13 @@ public class ItemProcessorConfiguration {
     @Bean
     public Step itemProcessorStep() throws Exception {
         return this.stepBuilderFactory.get("itemProcessorStep")
-                .<Person, Person>chunk(10)
+                .<Person, Person>chunk(chunkCompletionPolicy)
                 .reader(itemReader())
                 .processor(itemProcessor())
                 .writer(itemWriter())
+                .listener((ItemWriteListener<Person>) duplicateValidationProcessor(null, null, null, null)) // stream()이 반환하는 빌더에는 ItemWriteListener 전용 메서드가 없으므로 먼저 등록합니다.
+                .stream(duplicateValidationProcessor(null, null, null, null)) // CompositeItemProcessor의 delegate는 자동으로 등록되지 않습니다.
+                .listener((StepExecutionListener) duplicateValidationProcessor(null, null, null, null))
                 .build();
     }
 
@@ -68,13 +85,36 @@ public class ItemProcessorConfiguration {
     @Bean
     public ItemProcessor<? super Person, ? extends Person> itemProcessor() throws Exception {
         CompositeItemProcessor<Person, Person> itemProcessor = new CompositeItemProcessorBuilder<Person, Person>()
-                .delegates(filteringOddNumberIdProcessor(), new DuplicateValidationProcessor<>(Person::getName))
+                .delegates(filteringOddNumberIdProcessor(), duplicateValidationProcessor(null, null, null, null))
                 .build(); // delegates()에 전달한 아규먼트의 순서대로 프로세서 체인이 동작합니다.
 
         itemProcessor.afterPropertiesSet();
         return itemProcessor;
     }
 
+    /**
+     * 실행 파라미터 dedupStrategy(exact|hash|bloom)를 지정하면 이름이 중복된 Person을 걸러냅니다. 지정하지 않으면 중복을 허용합니다.
+     * 예) dedupStrategy=bloom expectedKeys=200000000 falsePositiveRate=0.001 dedupSnapshotDir=/data/batch/dedup
+     * 중복 판단 상태는 스텝 실행마다 새로 만들고(@StepScope), dedupSnapshotDir(기본값 java.io.tmpdir)의 journal로 재시작 시 복원합니다.
+     */
+    @Bean
+    @StepScope
+    public DuplicateValidationProcessor<Person> duplicateValidationProcessor(
+            @Value("#{jobParameters[dedupStrategy]}") String dedupStrategy,
+            @Value("#{jobParameters[expectedKeys]}") Long expectedKeys,
+            @Value("#{jobParameters[falsePositiveRate]}") Double falsePositiveRate,
+            @Value("#{jobParameters[dedupSnapshotDir]}") String dedupSnapshotDir) {
+        if (Objects.isNull(dedupStrategy)) {
+            return new DuplicateValidationProcessor<>(Person::getName);
+        }
+
+        DuplicateValidationProcessor<Person> processor = new DuplicateValidationProcessor<>(Person::getName, DeduplicationType.from(dedupStrategy).create(
+                Objects.nonNull(expectedKeys) ? expectedKeys : DeduplicationType.DEFAULT_EXPECTED_KEYS,
+                Objects.nonNull(falsePositiveRate) ? falsePositiveRate : DeduplicationType.DEFAULT_FALSE_POSITIVE_RATE));
+        processor.setSnapshotDirectory(Paths.get(Objects.nonNull(dedupSnapshotDir) ? dedupSnapshotDir : System.getProperty("java.io.tmpdir")));
+        return processor;
+    }
+
     /**
      * 홀수 id를 필터링한다.
      */
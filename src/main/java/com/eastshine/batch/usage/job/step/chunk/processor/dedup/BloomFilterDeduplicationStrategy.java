@@ -0,0 +1,59 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * Bloom filter로 키의 존재 여부를 판단합니다.
+ * 예상 키 수(expectedKeys)와 오탐률(falsePositiveRate)로 비트 수와 해시 함수 수를 정하며, 1% 오탐률 기준 키마다 약 1.2바이트를 사용합니다.
+ * 처음 보는 키를 중복으로 판단(오탐)할 수는 있지만, 중복된 키를 처음 보는 키로 판단하는 경우는 없습니다.
+ * 즉, 오탐률만큼의 아이템이 중복이 아닌데도 걸러질 수 있습니다.
+ */
+public class BloomFilterDeduplicationStrategy implements HashRestorableDeduplicationStrategy {
+    private static final double LN2 = Math.log(2);
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8; // JVM이 허용하는 배열 길이의 안전한 상한입니다.
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    public BloomFilterDeduplicationStrategy(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedKeys must be positive and falsePositiveRate must be in (0, 1)");
+        }
+
+        double optimalBits = Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (LN2 * LN2));
+        double words = Math.ceil(optimalBits / Long.SIZE);
+        if (words > MAX_WORDS) {
+            throw new IllegalArgumentException("bloom filter for " + expectedKeys + " keys at falsePositiveRate " + falsePositiveRate
+                    + " needs " + (long) words + " words, more than the maximum " + MAX_WORDS);
+        }
+
+        this.bits = new long[(int) Math.max(1, words)];
+        this.bitSize = (long) bits.length * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round(optimalBits / expectedKeys * LN2));
+    }
+
+    @Override
+    public boolean add(String key) {
+        return addHash(KeyHashing.hash64(key));
+    }
+
+    /**
+     * 두 번째 해시도 hash64 값에서 유도하므로, journal에 남긴 8바이트 해시만으로 같은 비트를 복원할 수 있습니다.
+     */
+    @Override
+    public synchronized boolean addHash(long hash1) {
+        long hash2 = KeyHashing.mix(hash1 + 0x9e3779b97f4a7c15L);
+
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+}
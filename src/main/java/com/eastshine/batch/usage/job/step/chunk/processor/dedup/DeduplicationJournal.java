@@ -0,0 +1,107 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 처음 본 키를 로컬 파일에 이어 쓰는 기록(journal)입니다.
+ * 해시만으로 복원할 수 있는 전략(HashRestorableDeduplicationStrategy: hash, bloom)은 키마다 8바이트 해시(long)를, 그 외(exact)는 [길이(int)][UTF-8 바이트]를 기록합니다.
+ * 커밋 시점의 파일 길이를 ExecutionContext에 저장하며, 재시작 시에는 저장된 길이까지의 레코드를 DeduplicationStrategy에 다시 기록하고 커밋되지 않은 뒷부분은 잘라냅니다.
+ */
+public class DeduplicationJournal implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean hashed;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    private DeduplicationJournal(Path path, FileChannel channel, boolean hashed) {
+        this.path = path;
+        this.channel = channel;
+        this.hashed = hashed;
+    }
+
+    /**
+     * journal을 열고 committedLength까지의 키를 strategy에 복원합니다.
+     */
+    public static DeduplicationJournal open(Path path, long committedLength, DeduplicationStrategy strategy) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        if (committedLength > 0) {
+            replay(path, committedLength, strategy);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(committedLength);
+        channel.position(committedLength);
+        return new DeduplicationJournal(path, channel, strategy instanceof HashRestorableDeduplicationStrategy);
+    }
+
+    public synchronized void append(String key) throws IOException {
+        if (hashed) {
+            out.writeLong(KeyHashing.hash64(key));
+            return;
+        }
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * 버퍼의 키를 파일에 쓰고 디스크에 반영(force)한 뒤, 커밋할 파일 길이를 반환합니다.
+     */
+    public synchronized long flush() throws IOException {
+        if (buffer.size() > 0) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer.toByteArray());
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            buffer.reset();
+            channel.force(false);
+        }
+        return channel.position();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static void replay(Path path, long committedLength, DeduplicationStrategy strategy) throws IOException {
+        HashRestorableDeduplicationStrategy hashStrategy = strategy instanceof HashRestorableDeduplicationStrategy
+                ? (HashRestorableDeduplicationStrategy) strategy
+                : null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long position = 0;
+            while (position < committedLength) {
+                if (hashStrategy != null) {
+                    hashStrategy.addHash(in.readLong());
+                    position += Long.BYTES;
+                    continue;
+                }
+
+                int length = in.readInt();
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                strategy.add(new String(bytes, StandardCharsets.UTF_8));
+
+                position += Integer.BYTES + length;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * DuplicateValidationProcessor가 이미 처리한 키를 기억하는 방법입니다.
+ */
+public interface DeduplicationStrategy {
+
+    /**
+     * 키를 기록합니다.
+     * @return 처음 보는 키이면 true, 이미 기록된(또는 기록되었다고 판단되는) 키이면 false
+     */
+    boolean add(String key);
+}
@@ -0,0 +1,34 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * 잡 파라미터(dedupStrategy=exact|hash|bloom)로 중복 제거 방법을 선택합니다.
+ */
+public enum DeduplicationType {
+    EXACT {
+        @Override
+        public DeduplicationStrategy create(long expectedKeys, double falsePositiveRate) {
+            return new ExactDeduplicationStrategy();
+        }
+    },
+    HASH {
+        @Override
+        public DeduplicationStrategy create(long expectedKeys, double falsePositiveRate) {
+            return new HashDeduplicationStrategy(expectedKeys);
+        }
+    },
+    BLOOM {
+        @Override
+        public DeduplicationStrategy create(long expectedKeys, double falsePositiveRate) {
+            return new BloomFilterDeduplicationStrategy(expectedKeys, falsePositiveRate);
+        }
+    };
+
+    public static final long DEFAULT_EXPECTED_KEYS = 1_000_000L;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    public abstract DeduplicationStrategy create(long expectedKeys, double falsePositiveRate);
+
+    public static DeduplicationType from(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
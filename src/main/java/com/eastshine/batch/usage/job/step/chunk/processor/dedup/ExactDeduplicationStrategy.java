@@ -0,0 +1,16 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키 문자열을 그대로 보관합니다. 오차가 없지만 키마다 String과 해시 엔트리 비용(약 100바이트)이 듭니다.
+ */
+public class ExactDeduplicationStrategy implements DeduplicationStrategy {
+    private final Set<String> keyPool = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean add(String key) {
+        return keyPool.add(key);
+    }
+}
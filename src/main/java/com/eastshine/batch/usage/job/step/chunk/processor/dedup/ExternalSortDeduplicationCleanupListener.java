@@ -0,0 +1,40 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 잡이 완료되면 ExternalSortDeduplicationTasklet이 만든 작업 디렉토리(first-seen-positions.bin 포함)를 삭제합니다.
+ * 실패한 잡은 재시작할 때 같은 파일을 다시 조회하므로 남겨 둡니다.
+ */
+@Slf4j
+public class ExternalSortDeduplicationCleanupListener implements JobExecutionListener {
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        ExecutionContext executionContext = jobExecution.getExecutionContext();
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED
+                || !executionContext.containsKey(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS)) {
+            return;
+        }
+
+        Path jobDirectory = Paths.get(executionContext.getString(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS)).getParent();
+        try {
+            FileSystemUtils.deleteRecursively(jobDirectory);
+        } catch (IOException e) {
+            log.warn("Failed to delete external sort dedup directory : {}", jobDirectory, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * 2단계 중복 제거의 첫 번째 스텝입니다.
+ * reader의 모든 아이템 키를 ExternalSortDeduplicator로 정렬, 병합하고,
+ * 처음 등장한 아이템 위치를 담은 파일의 경로를 Job ExecutionContext(FIRST_SEEN_POSITIONS)에 저장합니다.
+ * 다음 청크 스텝은 같은 순서로 입력을 읽으면서 FirstSeenItemProcessor로 이 파일을 조회합니다.
+ * 실패하면 작업 디렉토리를 바로 지우고, 성공한 경우의 디렉토리는 잡이 완료된 뒤 ExternalSortDeduplicationCleanupListener가 지웁니다.
+ */
+public class ExternalSortDeduplicationTasklet<T> implements Tasklet {
+    public static final String FIRST_SEEN_POSITIONS = "firstSeenPositions";
+    static final String FIRST_SEEN_POSITIONS_FILE = "first-seen-positions.bin";
+
+    private final ItemStreamReader<T> reader;
+    private final Function<T, String> keyExtractor;
+    private final Path workDirectory;
+    private final int bufferRecords;
+
+    public ExternalSortDeduplicationTasklet(ItemStreamReader<T> reader,
+                                            Function<T, String> keyExtractor,
+                                            Path workDirectory,
+                                            int bufferRecords) {
+        this.reader = reader;
+        this.keyExtractor = keyExtractor;
+        this.workDirectory = workDirectory;
+        this.bufferRecords = bufferRecords;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = contribution.getStepExecution();
+        Path jobDirectory = workDirectory.resolve("external-sort-dedup-" + stepExecution.getJobExecutionId());
+        ExternalSortDeduplicator deduplicator = new ExternalSortDeduplicator(jobDirectory, bufferRecords);
+        Path output = jobDirectory.resolve(FIRST_SEEN_POSITIONS_FILE);
+
+        try {
+            reader.open(new ExecutionContext());
+            try {
+                T item;
+                while ((item = reader.read()) != null) {
+                    deduplicator.add(keyExtractor.apply(item));
+                    contribution.incrementReadCount();
+                }
+            } finally {
+                reader.close();
+            }
+
+            deduplicator.finish(output);
+        } catch (Exception e) {
+            FileSystemUtils.deleteRecursively(jobDirectory);
+            throw e;
+        }
+
+        stepExecution.getJobExecution().getExecutionContext().putString(FIRST_SEEN_POSITIONS, output.toString());
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,184 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 힙에 담을 수 없을 만큼 키가 많을 때 사용하는 2단계 중복 제거입니다.
+ *
+ * 1단계(add) : 키를 128비트 해시로 바꿔 (해시, 아이템 위치) 레코드를 고정 크기 버퍼에 모으고,
+ *             버퍼가 가득 차면 정렬해 run 파일로 내려 씁니다.
+ * 2단계(finish) : run 파일들을 k-way merge 하면서 해시가 같은 레코드 중 첫 번째(위치가 가장 작은) 레코드의 위치만 모으고,
+ *             모은 위치를 같은 방식(정렬한 run, k-way merge)으로 위치 순서로 정렬해 FirstSeenPositions 비트 집합을 앞에서부터 씁니다.
+ *
+ * 힙 사용량은 bufferRecords * 24바이트로 고정되고, 디스크 입출력은 모두 순차 접근입니다.
+ * 128비트 해시를 사용하므로 수십억 건에서도 서로 다른 키가 같은 해시를 가질 확률은 무시할 수 있습니다.
+ */
+@Slf4j
+public class ExternalSortDeduplicator {
+    public static final int DEFAULT_BUFFER_RECORDS = 4_000_000; // 약 96MB
+    /**
+     * 버퍼는 long 배열 하나이므로 배열의 최대 길이로 제한됩니다. run 파일은 버퍼 단위로 나눠 쓰고 읽으므로 파일 크기는 제한하지 않습니다.
+     */
+    public static final int MAX_BUFFER_RECORDS = (Integer.MAX_VALUE - 8) / SortedRun.RECORD_LONGS;
+
+    private final Path workDirectory;
+    private final long[] records;
+    private final int bufferRecords;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Path> positionRuns = new ArrayList<>();
+
+    private int count = 0;
+    private long position = 0;
+
+    public ExternalSortDeduplicator(Path workDirectory, int bufferRecords) throws IOException {
+        if (bufferRecords <= 0 || bufferRecords > MAX_BUFFER_RECORDS) {
+            throw new IllegalArgumentException("bufferRecords must be in [1, " + MAX_BUFFER_RECORDS + "] : " + bufferRecords);
+        }
+
+        this.workDirectory = Files.createDirectories(workDirectory);
+        this.bufferRecords = bufferRecords;
+        this.records = new long[bufferRecords * SortedRun.RECORD_LONGS];
+    }
+
+    /**
+     * 다음 아이템의 키를 기록합니다. 아이템 위치는 호출 순서(0부터)입니다.
+     */
+    public void add(String key) throws IOException {
+        int offset = count * SortedRun.RECORD_LONGS;
+        records[offset] = KeyHashing.hash64(key);
+        records[offset + 1] = KeyHashing.secondHash64(key);
+        records[offset + 2] = position++;
+
+        if (++count == bufferRecords) {
+            spill();
+        }
+    }
+
+    /**
+     * run 파일을 병합해 처음 등장한 아이템 위치를 output에 기록합니다. 병합의 성공 여부와 관계없이 run 파일은 삭제합니다.
+     * @return 전체 아이템 수
+     */
+    public long finish(Path output) throws IOException {
+        long distinct;
+        try {
+            if (count > 0) {
+                spill();
+            }
+            distinct = mergeRuns();
+            writeFirstSeenPositions(output);
+        } finally {
+            deleteRuns();
+        }
+        log.info("external sort dedup : items={}, distinct={}, runs={}, positionRuns={}", position, distinct, runs.size(), positionRuns.size());
+        return position;
+    }
+
+    /**
+     * 해시 순서로 병합하면서 해시가 같은 레코드 중 첫 번째 레코드의 위치를 버퍼에 모읍니다.
+     * 이 위치들은 해시 순서라 무작위이므로 비트 집합에 바로 쓰지 않고, 버퍼가 가득 차면 위치 순으로 정렬해 position run으로 내려 씁니다.
+     * 레코드 버퍼는 이미 모두 run으로 내려 썼으므로 위치 버퍼로 다시 사용합니다.
+     */
+    private long mergeRuns() throws IOException {
+        long distinct = 0;
+        int positionCount = 0;
+        List<SortedRun.Cursor> cursors = new ArrayList<>(runs.size());
+        try {
+            PriorityQueue<SortedRun.Cursor> queue = new PriorityQueue<>(Math.max(1, runs.size()), SortedRun.Cursor::compareTo);
+            for (Path run : runs) {
+                SortedRun.Cursor cursor = SortedRun.open(run);
+                cursors.add(cursor);
+                if (cursor.next()) {
+                    queue.add(cursor);
+                }
+            }
+
+            boolean first = true;
+            long lastHash1 = 0;
+            long lastHash2 = 0;
+            while (!queue.isEmpty()) {
+                SortedRun.Cursor cursor = queue.poll();
+                if (first || cursor.hash1 != lastHash1 || cursor.hash2 != lastHash2) {
+                    records[positionCount++] = cursor.position;
+                    if (positionCount == records.length) {
+                        spillPositions(positionCount);
+                        positionCount = 0;
+                    }
+                    lastHash1 = cursor.hash1;
+                    lastHash2 = cursor.hash2;
+                    first = false;
+                    distinct++;
+                }
+                if (cursor.next()) {
+                    queue.add(cursor);
+                }
+            }
+            if (positionCount > 0) {
+                spillPositions(positionCount);
+            }
+        } finally {
+            for (SortedRun.Cursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * position run들을 위치 순서로 병합해 비트 집합을 앞에서부터 한 번에 씁니다.
+     */
+    private void writeFirstSeenPositions(Path output) throws IOException {
+        List<PositionRun.Cursor> cursors = new ArrayList<>(positionRuns.size());
+        try (FirstSeenPositions.Writer firstSeenPositions = FirstSeenPositions.create(output, position)) {
+            PriorityQueue<PositionRun.Cursor> queue = new PriorityQueue<>(Math.max(1, positionRuns.size()),
+                    (cursor, other) -> Long.compare(cursor.position, other.position));
+            for (Path run : positionRuns) {
+                PositionRun.Cursor cursor = PositionRun.open(run);
+                cursors.add(cursor);
+                if (cursor.next()) {
+                    queue.add(cursor);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                PositionRun.Cursor cursor = queue.poll();
+                firstSeenPositions.set(cursor.position);
+                if (cursor.next()) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (PositionRun.Cursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private void deleteRuns() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        for (Path run : positionRuns) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private void spill() throws IOException {
+        Path run = workDirectory.resolve("dedup-run-" + runs.size() + ".bin");
+        SortedRun.write(run, records, count);
+        runs.add(run);
+        count = 0;
+    }
+
+    private void spillPositions(int positionCount) throws IOException {
+        Path run = workDirectory.resolve("dedup-positions-" + positionRuns.size() + ".bin");
+        PositionRun.write(run, records, positionCount);
+        positionRuns.add(run);
+    }
+}
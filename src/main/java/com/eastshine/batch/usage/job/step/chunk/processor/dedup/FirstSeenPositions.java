@@ -0,0 +1,95 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 아이템 위치(읽은 순서, 0부터 시작)마다 1비트를 사용하는 비트 집합 파일입니다.
+ * 비트가 켜진 위치는 해당 키가 처음 등장한 아이템입니다.
+ *
+ * 파일은 Writer로 오름차순의 위치를 받아 앞에서부터 순차적으로 쓰고, 읽을 때는 memory-mapped 파일로 조회합니다.
+ * 파일 하나를 한 번에 매핑하므로 약 170억(Integer.MAX_VALUE * 8)개의 위치까지 표현할 수 있습니다.
+ */
+public class FirstSeenPositions implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer bits;
+
+    private FirstSeenPositions(FileChannel channel, MappedByteBuffer bits) {
+        this.channel = channel;
+        this.bits = bits;
+    }
+
+    public static Writer create(Path path, long itemCount) throws IOException {
+        long size = Math.max(1L, (itemCount + 7) / 8);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many items for a single bitmap : " + itemCount);
+        }
+        return new Writer(new BufferedOutputStream(Files.newOutputStream(path), SortedRun.IO_BUFFER_BYTES), size);
+    }
+
+    public static FirstSeenPositions open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new FirstSeenPositions(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    public boolean isSet(long position) {
+        int index = (int) (position >>> 3);
+        return index < bits.limit() && (bits.get(index) & (1 << (position & 7))) != 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 위치를 오름차순으로 받아 비트 집합을 앞에서부터 한 바이트씩 씁니다. 건너뛴 위치의 바이트는 0으로 채웁니다.
+     */
+    public static class Writer implements Closeable {
+        private final OutputStream out;
+        private final long size;
+
+        private long index = 0;
+        private int current = 0;
+        private long lastPosition = -1;
+
+        private Writer(OutputStream out, long size) {
+            this.out = out;
+            this.size = size;
+        }
+
+        public void set(long position) throws IOException {
+            if (position <= lastPosition || (position >>> 3) >= size) {
+                throw new IllegalArgumentException("position must be ascending and less than the item count : " + position);
+            }
+            long target = position >>> 3;
+            while (index < target) {
+                out.write(current);
+                current = 0;
+                index++;
+            }
+            current |= 1 << (position & 7);
+            lastPosition = position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                while (index < size) {
+                    out.write(current);
+                    current = 0;
+                    index++;
+                }
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * 키의 64비트 해시만 long 배열(open addressing, linear probing)에 보관합니다.
+ * 키마다 약 8~16바이트를 사용하며, 서로 다른 두 키의 해시가 같으면 뒤의 키를 중복으로 판단합니다.
+ * 2억 건 기준 충돌 확률은 약 0.1% 수준입니다.
+ * 테이블은 최대 2^30 슬롯(8GiB)까지만 늘리며, 이를 넘는 키는 bloom 방식이나 외부 정렬 방식으로 처리해야 합니다.
+ */
+public class HashDeduplicationStrategy implements HashRestorableDeduplicationStrategy {
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MAX_CAPACITY = 1 << 30;
+    public static final long MAX_KEYS = (long) (MAX_CAPACITY * LOAD_FACTOR);
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    public HashDeduplicationStrategy(long expectedKeys) {
+        if (expectedKeys < 0 || expectedKeys > MAX_KEYS) {
+            throw new IllegalArgumentException("expectedKeys must be in [0, " + MAX_KEYS + "] for the hash strategy: " + expectedKeys);
+        }
+
+        long required = Math.max(16L, (long) Math.ceil(expectedKeys / LOAD_FACTOR));
+        allocate((int) Math.min(MAX_CAPACITY, Long.highestOneBit(required * 2 - 1)));
+    }
+
+    @Override
+    public boolean add(String key) {
+        return addHash(KeyHashing.hash64(key));
+    }
+
+    @Override
+    public synchronized boolean addHash(long hash) {
+        if (hash == EMPTY) {
+            hash = 1L; // 0은 빈 슬롯 표시로 사용합니다.
+        }
+
+        if (!insert(table, mask, hash)) {
+            return false;
+        }
+
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static boolean insert(long[] table, int mask, long hash) {
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == hash) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = hash;
+        return true;
+    }
+
+    private void resize() {
+        long[] oldTable = table;
+        if (oldTable.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("hash strategy cannot hold more than " + MAX_KEYS + " keys; use the bloom strategy instead");
+        }
+        allocate(oldTable.length * 2);
+        for (long hash : oldTable) {
+            if (hash != EMPTY) {
+                insert(table, mask, hash);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,14 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * 키 문자열 대신 64비트 해시만으로 상태를 복원할 수 있는 DeduplicationStrategy입니다.
+ * DeduplicationJournal은 이 전략에 대해 키마다 8바이트 해시만 기록하고, 재시작 시 addHash로 복원합니다.
+ */
+public interface HashRestorableDeduplicationStrategy extends DeduplicationStrategy {
+
+    /**
+     * 키의 64비트 해시(KeyHashing.hash64)를 기록합니다.
+     * @return 처음 보는 해시이면 true, 이미 기록된(또는 기록되었다고 판단되는) 해시이면 false
+     */
+    boolean addHash(long hash);
+}
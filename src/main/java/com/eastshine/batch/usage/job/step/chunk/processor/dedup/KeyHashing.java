@@ -0,0 +1,39 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+/**
+ * 키 문자열의 64비트 해시(FNV-1a + murmur3 fmix64)를 계산합니다.
+ */
+final class KeyHashing {
+
+    private KeyHashing() {
+    }
+
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * hash64와 독립적인 두 번째 64비트 해시입니다. 두 값을 합쳐 128비트 해시로 사용합니다.
+     */
+    static long secondHash64(String key) {
+        long hash = key.length();
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash + key.charAt(i)) * 0x9e3779b97f4a7c15L;
+        }
+        return mix(hash ^ 0x5bd1e995L);
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,64 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 처음 등장한 아이템 위치(long)를 오름차순으로 정렬해 저장한 run 파일입니다.
+ * SortedRun과 같이 IO_BUFFER_BYTES 크기의 버퍼로 순차 접근합니다.
+ */
+class PositionRun {
+
+    private PositionRun() {
+    }
+
+    /**
+     * positions의 앞쪽 count개 위치를 정렬한 뒤 path에 저장합니다.
+     */
+    static void write(Path path, long[] positions, int count) throws IOException {
+        Arrays.sort(positions, 0, count);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), SortedRun.IO_BUFFER_BYTES))) {
+            for (int i = 0; i < count; i++) {
+                out.writeLong(positions[i]);
+            }
+        }
+    }
+
+    static Cursor open(Path path) throws IOException {
+        long remaining = Files.size(path) / Long.BYTES;
+        return new Cursor(new DataInputStream(new BufferedInputStream(Files.newInputStream(path), SortedRun.IO_BUFFER_BYTES)), remaining);
+    }
+
+    static class Cursor implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        long position;
+
+        private Cursor(DataInputStream in, long remaining) {
+            this.in = in;
+            this.remaining = remaining;
+        }
+
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            position = in.readLong();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
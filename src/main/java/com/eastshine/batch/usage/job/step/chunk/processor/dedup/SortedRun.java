@@ -0,0 +1,138 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * (키 해시 128비트, 아이템 위치) 레코드를 정렬해 저장한 run 파일입니다.
+ * 레코드는 long 3개(24바이트)이며, 쓰기와 읽기 모두 IO_BUFFER_BYTES 크기의 버퍼로 순차 접근합니다.
+ * 파일 전체를 한 번에 매핑하지 않으므로 run 파일의 크기는 2GB로 제한되지 않습니다.
+ */
+class SortedRun {
+    static final int RECORD_LONGS = 3;
+    static final int RECORD_BYTES = RECORD_LONGS * Long.BYTES;
+    static final int IO_BUFFER_BYTES = 1 << 16;
+
+    private SortedRun() {
+    }
+
+    /**
+     * records의 앞쪽 count개 레코드를 정렬한 뒤 path에 저장합니다.
+     */
+    static void write(Path path, long[] records, int count) throws IOException {
+        sort(records, 0, count - 1);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), IO_BUFFER_BYTES))) {
+            for (int i = 0; i < count * RECORD_LONGS; i++) {
+                out.writeLong(records[i]);
+            }
+        }
+    }
+
+    static Cursor open(Path path) throws IOException {
+        long remaining = Files.size(path) / RECORD_BYTES;
+        return new Cursor(new DataInputStream(new BufferedInputStream(Files.newInputStream(path), IO_BUFFER_BYTES)), remaining);
+    }
+
+    static int compare(long hash1, long hash2, long position, long otherHash1, long otherHash2, long otherPosition) {
+        int result = Long.compare(hash1, otherHash1);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(hash2, otherHash2);
+        return result != 0 ? result : Long.compare(position, otherPosition);
+    }
+
+    /**
+     * 레코드 배열을 제자리에서 정렬합니다. 위치 값이 모두 다르므로 같은 레코드는 없습니다.
+     */
+    private static void sort(long[] records, int low, int high) {
+        while (high - low > 16) {
+            int pivot = partition(records, low, high);
+            if (pivot - low < high - pivot) {
+                sort(records, low, pivot - 1);
+                low = pivot + 1;
+            } else {
+                sort(records, pivot + 1, high);
+                high = pivot - 1;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(records, j, j - 1) < 0; j--) {
+                swap(records, j, j - 1);
+            }
+        }
+    }
+
+    private static int partition(long[] records, int low, int high) {
+        int middle = (low + high) >>> 1;
+        if (compare(records, middle, low) < 0) swap(records, middle, low);
+        if (compare(records, high, low) < 0) swap(records, high, low);
+        if (compare(records, middle, high) < 0) swap(records, middle, high); // 세 값의 중앙값을 high에 둡니다.
+
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (compare(records, i, high) < 0) {
+                swap(records, i, store++);
+            }
+        }
+        swap(records, store, high);
+        return store;
+    }
+
+    private static int compare(long[] records, int i, int j) {
+        int a = i * RECORD_LONGS;
+        int b = j * RECORD_LONGS;
+        return compare(records[a], records[a + 1], records[a + 2], records[b], records[b + 1], records[b + 2]);
+    }
+
+    private static void swap(long[] records, int i, int j) {
+        int a = i * RECORD_LONGS;
+        int b = j * RECORD_LONGS;
+        for (int k = 0; k < RECORD_LONGS; k++) {
+            long temp = records[a + k];
+            records[a + k] = records[b + k];
+            records[b + k] = temp;
+        }
+    }
+
+    static class Cursor implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        long hash1;
+        long hash2;
+        long position;
+
+        private Cursor(DataInputStream in, long remaining) {
+            this.in = in;
+            this.remaining = remaining;
+        }
+
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            hash1 = in.readLong();
+            hash2 = in.readLong();
+            position = in.readLong();
+            remaining--;
+            return true;
+        }
+
+        int compareTo(Cursor other) {
+            return compare(hash1, hash2, position, other.hash1, other.hash2, other.position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
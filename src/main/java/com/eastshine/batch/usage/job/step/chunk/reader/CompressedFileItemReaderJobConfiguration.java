@@ -0,0 +1,128 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.executor.BatchTaskExecutorConfiguration;
+import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.job.UniqueRunIdIncrementer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * gzip/zstd로 압축된 여러 개의 csv 파일(shard)을 읽습니다.
+ * inputPattern에 해당하는 파일을 ShardPartitioner로 파티션에 나누어 배정하고,
+ * 파티션마다 CompressedShardItemReader가 별도의 스레드에서 압축을 해제하므로 압축 해제와 파싱이 여러 코어에서 겹쳐 실행됩니다.
+ *
+ * 실행 파라미터 --job.name=compressedCsvFileJob inputPattern=file:/data/export/person-*.csv.gz gridSize=8
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+@Import({ChunkConfiguration.class, BatchTaskExecutorConfiguration.class})
+public class CompressedFileItemReaderJobConfiguration {
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final ResourceLoader resourceLoader;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final TaskExecutor batchTaskExecutor;
+
+    private static final int DEFAULT_GRID_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @Bean
+    public Job compressedCsvFileJob() {
+        return jobBuilderFactory.get("compressedCsvFileJob")
+                .incrementer(new UniqueRunIdIncrementer())
+                .start(compressedCsvFileManagerStep())
+                .build();
+    }
+
+    @Bean
+    public Step compressedCsvFileManagerStep() {
+        return stepBuilderFactory.get("compressedCsvFileManagerStep")
+                .partitioner("compressedCsvFileWorkerStep", shardPartitioner(null))
+                .partitionHandler(compressedCsvFilePartitionHandler(null)) // gridSize는 @JobScope로 실행 시점에 바인딩됩니다.
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public ShardPartitioner shardPartitioner(@Value("#{jobParameters[inputPattern]}") String inputPattern) throws IOException {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(resourceLoader);
+        Resource[] shards = resolver.getResources(Objects.requireNonNull(inputPattern, "inputPattern job parameter is required"));
+        log.info(">>>>> {} shards matched {}", shards.length, inputPattern);
+
+        return new ShardPartitioner(shards);
+    }
+
+    /**
+     * 워커 스레드(batchTaskExecutor)는 파싱과 쓰기를, reader마다 생성되는 스레드는 압축 해제를 담당하므로 실행 중인 스레드는 워커 수의 두 배입니다.
+     */
+    @Bean
+    @JobScope
+    public PartitionHandler compressedCsvFilePartitionHandler(@Value("#{jobParameters[gridSize]}") Integer gridSize) {
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(compressedCsvFileWorkerStep());
+        partitionHandler.setTaskExecutor(batchTaskExecutor);
+        partitionHandler.setGridSize(Objects.nonNull(gridSize) ? gridSize : DEFAULT_GRID_SIZE);
+        return partitionHandler;
+    }
+
+    @Bean
+    public Step compressedCsvFileWorkerStep() {
+        return stepBuilderFactory.get("compressedCsvFileWorkerStep")
+                .<Person, Person>chunk(chunkCompletionPolicy)
+                .reader(compressedShardItemReader(null, null))
+                .writer(compressedCsvFileWriter())
+                .build();
+    }
+
+    /**
+     * 파티션마다 생성되는 reader입니다. 파티셔너가 배정한 파일 목록을 stepExecutionContext에서 늦은 바인딩으로 주입받습니다.
+     */
+    @Bean
+    @StepScope
+    public CompressedShardItemReader<Person> compressedShardItemReader(
+            @Value("#{stepExecutionContext[shards]}") String shards,
+            @Value("#{jobParameters[bufferBlocks]}") Integer bufferBlocks) {
+        List<Resource> resources = new ArrayList<>();
+        if (Objects.nonNull(shards) && !shards.isEmpty()) {
+            for (String uri : shards.split(ShardPartitioner.SHARD_SEPARATOR)) {
+                resources.add(resourceLoader.getResource(uri));
+            }
+        }
+
+        return new CompressedShardItemReader<>(
+                "compressedShardItemReader",
+                resources,
+                new PersonLineMapper(),
+                1, // shard마다 헤더 한 줄은 건너뛴다.
+                Objects.nonNull(bufferBlocks) ? bufferBlocks : CompressedShardItemReader.DEFAULT_BUFFER_BLOCKS);
+    }
+
+    private ItemWriter<Person> compressedCsvFileWriter() {
+        return items -> log.debug("Write {} persons", items.size());
+    }
+}
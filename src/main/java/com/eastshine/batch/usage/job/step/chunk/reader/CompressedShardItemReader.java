@@ -0,0 +1,230 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 여러 개의 압축 파일(shard)을 순서대로 읽는 reader입니다. 확장자가 .gz이면 gzip, .zst이면 zstd로 해제하고, 그 외에는 그대로 읽습니다.
+ *
+ * 압축 해제와 줄 분리는 별도의 스레드에서 수행해 크기가 제한된 큐(bufferBlocks x BLOCK_LINES 줄)에 넣고,
+ * read를 호출하는 청크 스레드는 큐에서 꺼낸 줄을 LineMapper로 매핑만 하므로 압축 해제와 파싱이 서로 다른 코어에서 겹쳐 실행됩니다.
+ * 큐가 가득 차면 압축 해제 스레드가 기다리므로 메모리 사용량은 큐 크기로 제한됩니다.
+ *
+ * ExecutionContext에는 현재 파일의 인덱스(shard.index)와 그 파일에서 읽은 줄 수(shard.line)를 저장합니다.
+ * 압축 스트림은 임의 위치로 이동할 수 없으므로, 재시작 시에는 해당 파일을 처음부터 해제하면서 저장된 줄 수만큼 매핑 없이 건너뜁니다.
+ */
+public class CompressedShardItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+    public static final int DEFAULT_BUFFER_BLOCKS = 64;
+
+    private static final String SHARD_INDEX = "shard.index";
+    private static final String SHARD_LINE = "shard.line";
+    private static final int BLOCK_LINES = 256;
+    private static final Block END = new Block(-1, 0L, Collections.emptyList(), null);
+
+    private final List<Resource> shards;
+    private final LineMapper<T> lineMapper;
+    private final int linesToSkip;
+    private final int bufferBlocks;
+
+    private BlockingQueue<Block> queue;
+    private Thread decompressor;
+    private volatile boolean running;
+
+    private Block block;
+    private int blockIndex;
+    private int shardIndex;
+    private long shardLine;
+    private int restartShardIndex;
+    private long restartShardLine;
+
+    /**
+     * @param linesToSkip 파일마다 건너뛸 헤더 줄 수
+     */
+    public CompressedShardItemReader(String name,
+                                     List<Resource> shards,
+                                     LineMapper<T> lineMapper,
+                                     int linesToSkip,
+                                     int bufferBlocks) {
+        Assert.isTrue(bufferBlocks > 0, "bufferBlocks must be greater than zero");
+
+        setName(name);
+        this.shards = new ArrayList<>(shards);
+        this.lineMapper = lineMapper;
+        this.linesToSkip = linesToSkip;
+        this.bufferBlocks = bufferBlocks;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        restartShardIndex = executionContext.getInt(getExecutionContextKey(SHARD_INDEX), 0);
+        restartShardLine = executionContext.getLong(getExecutionContextKey(SHARD_LINE), 0L);
+        super.open(executionContext);
+    }
+
+    @Override
+    protected void doOpen() {
+        shardIndex = restartShardIndex;
+        shardLine = restartShardLine;
+        block = null;
+        blockIndex = 0;
+
+        queue = new ArrayBlockingQueue<>(bufferBlocks);
+        running = true;
+        decompressor = new Thread(this::decompress, getExecutionContextKey("decompressor"));
+        decompressor.setDaemon(true);
+        decompressor.start();
+    }
+
+    /**
+     * 재시작 위치는 doOpen에서 압축 해제 스레드에 넘겼으므로 아이템을 다시 읽지 않습니다.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        while (Objects.isNull(block) || blockIndex == block.lines.size()) {
+            if (block == END) {
+                return null;
+            }
+            if (Objects.nonNull(block) && Objects.nonNull(block.failure)) {
+                throw new ItemStreamException("Failed to decompress shard : " + shards.get(block.shardIndex), block.failure);
+            }
+
+            block = queue.take();
+            blockIndex = 0;
+
+            if (!block.lines.isEmpty() && block.shardIndex != shardIndex) {
+                shardIndex = block.shardIndex;
+                shardLine = block.firstLine;
+            }
+        }
+
+        String line = block.lines.get(blockIndex++);
+        shardLine++;
+        try {
+            return lineMapper.mapLine(line, (int) (shardLine + linesToSkip));
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at line: " + (shardLine + linesToSkip)
+                    + " in shard=[" + shards.get(shardIndex) + "], input=[" + line + "]", e, line, (int) (shardLine + linesToSkip));
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putInt(getExecutionContextKey(SHARD_INDEX), shardIndex);
+            executionContext.putLong(getExecutionContextKey(SHARD_LINE), shardLine);
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        running = false;
+        if (Objects.nonNull(decompressor)) {
+            decompressor.interrupt();
+            decompressor.join();
+            decompressor = null;
+        }
+        queue = null;
+        block = null;
+    }
+
+    private void decompress() {
+        int index = restartShardIndex;
+        try {
+            for (; index < shards.size() && running; index++) {
+                long skip = index == restartShardIndex ? restartShardLine : 0L;
+                decompress(index, skip);
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                queue.put(new Block(index, 0L, Collections.emptyList(), e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void decompress(int index, long skip) throws IOException, InterruptedException {
+        Resource shard = shards.get(index);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(shard), StandardCharsets.UTF_8), 64 * 1024)) {
+            for (long i = 0; i < linesToSkip + skip; i++) {
+                if (reader.readLine() == null) {
+                    return;
+                }
+            }
+
+            long firstLine = skip;
+            List<String> lines = new ArrayList<>(BLOCK_LINES);
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == BLOCK_LINES) {
+                    queue.put(new Block(index, firstLine, lines, null));
+                    firstLine += lines.size();
+                    lines = new ArrayList<>(BLOCK_LINES);
+                }
+            }
+            if (!lines.isEmpty()) {
+                queue.put(new Block(index, firstLine, lines, null));
+            }
+        }
+    }
+
+    private static InputStream open(Resource shard) throws IOException {
+        InputStream inputStream = new BufferedInputStream(shard.getInputStream(), 64 * 1024);
+        String filename = Objects.requireNonNullElse(shard.getFilename(), "");
+
+        if (filename.endsWith(".gz")) {
+            return new GZIPInputStream(inputStream, 64 * 1024);
+        }
+        if (filename.endsWith(".zst")) {
+            return new ZstdInputStream(inputStream);
+        }
+        return inputStream;
+    }
+
+    /**
+     * 압축 해제 스레드가 넘겨주는 줄 묶음입니다. 줄마다 큐에 넣는 것보다 동기화 비용이 적습니다.
+     * firstLine은 해당 파일에서 이 묶음 앞에 있는 줄 수(헤더 제외)입니다.
+     */
+    private static class Block {
+        private final int shardIndex;
+        private final long firstLine;
+        private final List<String> lines;
+        private final Exception failure;
+
+        private Block(int shardIndex, long firstLine, List<String> lines, Exception failure) {
+            this.shardIndex = shardIndex;
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.failure = failure;
+        }
+    }
+}
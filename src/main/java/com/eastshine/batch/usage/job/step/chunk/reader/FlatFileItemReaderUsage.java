@@ -1,30 +1,52 @@
 package com.eastshine.batch.usage.job.step.chunk.reader;
 
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.executor.BatchTaskExecutorConfiguration;
+import com.eastshine.batch.common.fault.FaultToleranceConfiguration;
+import com.eastshine.batch.common.fault.FaultTolerancePolicy;
 import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.job.UniqueRunIdIncrementer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
 
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
+@Import({ChunkConfiguration.class, BatchTaskExecutorConfiguration.class, FaultToleranceConfiguration.class})
 public class FlatFileItemReaderUsage {
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final TaskExecutor batchTaskExecutor;
+    private final FaultTolerancePolicy faultTolerancePolicy;
 
-    private int chunkSize = 10;
+    private static final int DEFAULT_GRID_SIZE = Runtime.getRuntime().availableProcessors();
 
     @Bean
     public Job flatFileItemReaderJob() throws Exception {
@@ -33,17 +55,36 @@ public class FlatFileItemReaderUsage {
                 .build();
     }
 
+    /**
+     * 형식이 잘못된 행은 스킵하고 dead letter 파일에 줄 번호와 원본 행을 남깁니다.
+     */
     @Bean
     public Step csvFileStep() throws Exception {
-        return stepBuilderFactory.get("csvFileStep")
-                .allowStartIfComplete(true) //테스트를 위한 옵션
-                .<Person, Person>chunk(chunkSize)
-                .reader(csvFileItemReader())
-                .writer(itemWriter())
+        return faultTolerancePolicy.apply(stepBuilderFactory.get("csvFileStep")
+                        .allowStartIfComplete(true) //테스트를 위한 옵션
+                        .<Person, Person>chunk(chunkCompletionPolicy)
+                        .reader(csvFileItemReader())
+                        .writer(itemWriter()))
                 .build();
     }
 
     private FlatFileItemReader<Person> csvFileItemReader() throws Exception {
+        FlatFileItemReader<Person> itemReader = new FlatFileItemReaderBuilder<Person>()
+                .name("csvFileItemReader")
+                .encoding("UTF-8")
+                .resource(new ClassPathResource("person.csv")) //ClassPathResource는 스프링에서 제공
+                .linesToSkip(1) // 파일의 2번째 라인부터 읽는다.
+                .lineMapper(new PersonLineMapper()) // 컬럼 순서가 고정된 파일은 인덱스로 토큰화, 매핑하는 PersonLineMapper 적용
+                .build();
+        itemReader.afterPropertiesSet(); //ItemReader에서 필요한 필수 설정 값이 정상적으로 설정이 되었는 지 검증.
+
+        return itemReader;
+    }
+
+    /**
+     * DelimitedLineTokenizer + 필드 이름 기반 FieldSetMapper 구성입니다. PersonLineMapper의 결과와 성능을 비교하는 기준으로 사용합니다.
+     */
+    public static DefaultLineMapper<Person> personLineMapper() {
         DefaultLineMapper<Person> lineMapper = new DefaultLineMapper<>(); // 파일을 한 줄씩 읽어들인다.
         DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
         tokenizer.setNames("id", "name", "age", "address"); // csv파일을 Person 객체에 매핑하기 위해서 Person 필드명을 설정.
@@ -58,16 +99,79 @@ public class FlatFileItemReaderUsage {
         return new Person(id, name, age, address); // Person 객체에 매핑
             });
 
-        FlatFileItemReader<Person> itemReader = new FlatFileItemReaderBuilder<Person>()
-                .name("csvFileItemReader")
-                .encoding("UTF-8")
-                .resource(new ClassPathResource("person.csv")) //ClassPathResource는 스프링에서 제공
-                .linesToSkip(1) // 파일의 2번째 라인부터 읽는다.
-                .lineMapper(lineMapper) // 위에서 작성한 lineMapper 적용
+        return lineMapper;
+    }
+
+    /**
+     * csv 파일을 메모리 매핑한 뒤 줄 단위의 바이트 범위로 나누어 여러 스레드에서 병렬로 읽습니다.
+     *
+     * 실행 파라미터 --job.name=mappedCsvFileJob inputFile=/data/person.csv gridSize=8
+     */
+    @Bean
+    public Job mappedCsvFileJob() {
+        return jobBuilderFactory.get("mappedCsvFileJob")
+                .incrementer(new UniqueRunIdIncrementer())
+                .start(mappedCsvFileManagerStep())
                 .build();
-        itemReader.afterPropertiesSet(); //ItemReader에서 필요한 필수 설정 값이 정상적으로 설정이 되었는 지 검증.
+    }
 
-        return itemReader;
+    @Bean
+    public Step mappedCsvFileManagerStep() {
+        return stepBuilderFactory.get("mappedCsvFileManagerStep")
+                .partitioner("mappedCsvFileWorkerStep", mappedFileRangePartitioner(null))
+                .partitionHandler(mappedCsvFilePartitionHandler(null)) // gridSize는 @JobScope로 실행 시점에 바인딩됩니다.
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public MappedFileRangePartitioner mappedFileRangePartitioner(@Value("#{jobParameters[inputFile]}") String inputFile) {
+        return new MappedFileRangePartitioner(inputPath(inputFile), 1); // 헤더 한 줄은 건너뛴다.
+    }
+
+    @Bean
+    @JobScope
+    public PartitionHandler mappedCsvFilePartitionHandler(@Value("#{jobParameters[gridSize]}") Integer gridSize) {
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(mappedCsvFileWorkerStep());
+        partitionHandler.setTaskExecutor(batchTaskExecutor);
+        partitionHandler.setGridSize(Objects.nonNull(gridSize) ? gridSize : DEFAULT_GRID_SIZE);
+        return partitionHandler;
+    }
+
+    @Bean
+    public Step mappedCsvFileWorkerStep() {
+        return faultTolerancePolicy.apply(stepBuilderFactory.get("mappedCsvFileWorkerStep")
+                        .<Person, Person>chunk(chunkCompletionPolicy)
+                        .reader(mappedPersonItemReader(null, null, null))
+                        .writer(itemWriter()))
+                .build();
+    }
+
+    /**
+     * 파티션마다 생성되는 reader입니다. 파티셔너가 저장한 바이트 범위를 stepExecutionContext에서 늦은 바인딩으로 주입받습니다.
+     */
+    @Bean
+    @StepScope
+    public MappedPersonItemReader mappedPersonItemReader(
+            @Value("#{jobParameters[inputFile]}") String inputFile,
+            @Value("#{stepExecutionContext[startOffset]}") Long startOffset,
+            @Value("#{stepExecutionContext[endOffset]}") Long endOffset) {
+        return new MappedPersonItemReader(inputPath(inputFile), startOffset, endOffset);
+    }
+
+    /**
+     * 메모리 매핑은 파일 시스템의 파일만 가능하므로, inputFile이 없으면 클래스패스의 person.csv를 파일로 찾습니다.
+     */
+    private static Path inputPath(String inputFile) {
+        if (Objects.nonNull(inputFile)) {
+            return Paths.get(inputFile);
+        }
+        try {
+            return new ClassPathResource("person.csv").getFile().toPath();
+        } catch (IOException e) {
+            throw new IllegalStateException("person.csv is not a file on the classpath. Set the inputFile job parameter.", e);
+        }
     }
 
     private ItemWriter<Person> itemWriter() {
@@ -1,5 +1,9 @@
 package com.eastshine.batch.usage.job.step.chunk.reader;
 
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.jdbc.MethodHandleRowMapper;
+import com.eastshine.batch.common.jdbc.StreamingJdbcCursorItemReaderBuilder;
 import com.eastshine.batch.usage.domain.Person;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,13 +11,14 @@ import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
-import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.context.annotation.Import;
 
 import javax.sql.DataSource;
 
@@ -23,16 +28,18 @@ import javax.sql.DataSource;
  * DB Connection 빈도가 낮아 성능이 좋은 반면, 긴 Connection 유지 시간 필요
  * 하나의 Connection에서 처리되기 때문에, Thread Safe 하지 않음
  * 모든 결과를 메모리에 할당하기 때문에, 더 많은 메모리를 사용
+ * -> StreamingJdbcCursorItemReaderBuilder로 fetchSize 단위로 가져오면(streaming) 메모리 사용량이 fetchSize로 제한된다.
  */
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
+@Import(ChunkConfiguration.class)
 public class JdbcCursorItemReaderJobConfiguration {
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final DataSource dataSource;
-
-    private static final int chunkSize = 10;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
 
     @Bean
     public Job jdbcCursorItemReaderJob() throws Exception {
@@ -46,12 +53,13 @@ public class JdbcCursorItemReaderJobConfiguration {
     @Bean
     public Step jdbcCursorItemReaderStep() throws Exception {
         return stepBuilderFactory.get("jdbcCursorItemReaderStep")
-                .<Person, Person>chunk(chunkSize)
+                .<Person, Person>chunk(chunkCompletionPolicy)
         /**
          * <Person, Person>
          * 첫번째 파라미터 - Reader에서 반환할 타입(이것을 ItemProcessor에서 받아서 처리하고 Output한다).
          * 두번째 파라미터 - Person Writer에 파라미터로 넘어올 타입.
          * chunkSize로 인자값을 넣은 경우는 Reader & Writer가 묶일 Chunk 트랜잭션 범위이다.
+         * 여기서는 chunkSize 잡 파라미터로 크기를 정하는 CompletionPolicy를 전달한다.
          */
                 .reader(jdbcCursorItemReader())
                 .writer(jdbcCursorItemWriter())
@@ -59,16 +67,20 @@ public class JdbcCursorItemReaderJobConfiguration {
     }
 
     @Bean
+    @StepScope
     public JdbcCursorItemReader<Person> jdbcCursorItemReader() throws Exception {
-        JdbcCursorItemReader<Person> itemReader = new JdbcCursorItemReaderBuilder<Person>()
+        JdbcCursorItemReader<Person> itemReader = new StreamingJdbcCursorItemReaderBuilder<Person>()
+                .streamingFetchSize(chunkParameters.getFetchSize()) // fetchSize 단위로 가져와 결과 전체를 메모리에 올리지 않는다.
                 .name("jdbcCursorItemReader") // reader의 이름을 지정, Bean의 이름이 아니며 Spring Batch의 ExecutionContext에서 저장되어질 이름.
                 .dataSource(dataSource)
                 .sql("select id, name, age, address from person")
-                .rowMapper(new BeanPropertyRowMapper<>(Person.class))
+                .rowMapper(MethodHandleRowMapper.newInstance(Person.class))
                 /*.
                  * 쿼리 결과를 Java 인스턴스로 매핑하기 위한 Mapper
                  * 커스텀하게 생성해서 사용할 수 도 있지만, 이렇게 될 경우 매번 커스텀 Mapper 클래스를 생성해야 된다.
                  * 보편적으로 Spring에서 공식적으로 지원하는 BeanPropertyRowMapper.class를 많이 사용.
+                 * BeanPropertyRowMapper는 행마다 리플렉션으로 setter를 찾으므로, 같은 규칙으로 매핑하면서
+                 * 첫 행에서 컬럼과 setter(MethodHandle)를 한 번만 연결하는 MethodHandleRowMapper를 사용한다.
                  * 아래는 커스텀 매퍼 생성 예시
                 .rowMapper((rs, rowNum) -> new Person(
                         rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4)))*/
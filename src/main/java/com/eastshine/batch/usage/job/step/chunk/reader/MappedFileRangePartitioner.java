@@ -0,0 +1,96 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 파일을 gridSize 개수의 바이트 범위(startOffset, endOffset)로 나눕니다.
+ * 각 범위의 끝은 다음 줄바꿈('\n') 바로 뒤로 맞추므로, 한 줄이 두 파티션에 걸치지 않습니다.
+ * 줄바꿈은 ASCII 바이트이고 UTF-8 멀티바이트 문자 안에는 나타나지 않으므로 문자 중간에서 잘리지도 않습니다.
+ *
+ * 하나의 MappedByteBuffer는 2GB를 넘을 수 없으므로, 범위가 MAX_PARTITION_BYTES보다 크면 파티션 수를 늘립니다.
+ */
+public class MappedFileRangePartitioner implements Partitioner {
+    public static final String START_OFFSET = "startOffset";
+    public static final String END_OFFSET = "endOffset";
+
+    static final long MAX_PARTITION_BYTES = 1L << 30;
+
+    private static final String PARTITION_PREFIX = "partition";
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final Path file;
+    private final int linesToSkip;
+
+    public MappedFileRangePartitioner(Path file, int linesToSkip) {
+        this.file = file;
+        this.linesToSkip = linesToSkip;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0L;
+            for (int i = 0; i < linesToSkip; i++) {
+                start = nextLineStart(channel, start, size);
+            }
+
+            long count = Math.max(Math.max(gridSize, 1), (size - start) / MAX_PARTITION_BYTES + 1);
+            long targetSize = (size - start) / count + 1;
+
+            Map<String, ExecutionContext> result = new HashMap<>();
+            int number = 0;
+            do {
+                long end = nextLineStart(channel, Math.min(start + targetSize, size) - 1, size);
+                result.put(PARTITION_PREFIX + number, range(start, end));
+
+                start = end;
+                number++;
+            } while (start < size);
+
+            return result;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to partition file : " + file, e);
+        }
+    }
+
+    /**
+     * position부터 찾은 첫 번째 줄바꿈 바로 다음 위치를 반환합니다. 줄바꿈이 없으면 파일 크기를 반환합니다.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long current = Math.max(position, 0L);
+
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private ExecutionContext range(long startOffset, long endOffset) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(START_OFFSET, startOffset);
+        context.putLong(END_OFFSET, endOffset);
+        return context;
+    }
+}
@@ -0,0 +1,235 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * person.csv(id,name,age,address)의 [startOffset, endOffset) 범위를 메모리 매핑(FileChannel.map)해서 Person으로 읽습니다.
+ *
+ * FlatFileItemReader + DefaultLineMapper는 한 줄마다 line String, 토큰 String[], FieldSet을 만든 뒤 다시 필드 이름으로 값을 찾습니다.
+ * 이 reader는 매핑된 바이트에서 구분자(',', '\n')를 직접 찾고, id는 바이트에서 바로 정수로 변환하며,
+ * 문자열 필드만 재사용하는 byte[]에서 UTF-8로 디코딩하므로 Person의 필드 외에는 객체를 거의 만들지 않습니다.
+ * 구분자는 모두 ASCII 바이트라 UTF-8 멀티바이트 문자의 일부로 나타나지 않으므로, 바이트 단위로 나누어도 문자가 깨지지 않습니다.
+ *
+ * DelimitedLineTokenizer와 같이 큰따옴표로 감싼 필드("a,b", "")를 지원하고, 필드 앞뒤의 공백과 '\r'은 제거합니다.
+ * 범위는 MappedFileRangePartitioner가 줄 단위로 나눈 값을 사용하며, 읽은 바이트 위치를 ExecutionContext에 저장하므로
+ * 재시작 시 앞부분을 다시 파싱하지 않고 바로 이어서 읽습니다.
+ */
+public class MappedPersonItemReader extends AbstractItemCountingItemStreamItemReader<Person> {
+    private static final String OFFSET = "offset";
+    private static final byte DELIMITER = ',';
+    private static final byte NEW_LINE = '\n';
+    private static final byte QUOTE = '"';
+
+    private final Path file;
+    private final long startOffset;
+    private final long endOffset;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private boolean endOfLine;
+    private int lineStart;
+    private int restartOffset;
+
+    public MappedPersonItemReader(Path file, long startOffset, long endOffset) {
+        Assert.isTrue(startOffset <= endOffset, "startOffset must not be greater than endOffset");
+        Assert.isTrue(endOffset - startOffset <= Integer.MAX_VALUE, "range must not be larger than 2GB");
+
+        setName("mappedPersonItemReader");
+        this.file = file;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, startOffset, endOffset - startOffset);
+    }
+
+    @Override
+    protected Person doRead() throws Exception {
+        skipEmptyLines();
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        lineStart = buffer.position();
+        int id = readInt();
+        String name = readString();
+        String age = readString();
+        String address = readString();
+
+        if (!endOfLine) {
+            throw parseException("Too many tokens");
+        }
+        return new Person(id, name, age, address);
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        buffer = null; // 매핑은 GC 시점에 해제됩니다.
+        if (Objects.nonNull(channel)) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        restartOffset = (int) executionContext.getLong(getExecutionContextKey(OFFSET), 0L);
+        super.open(executionContext);
+    }
+
+    /**
+     * 읽은 건수만큼 다시 파싱하지 않고, 저장해 둔 바이트 위치로 바로 이동합니다.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {
+        buffer.position(restartOffset);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState() && Objects.nonNull(buffer)) {
+            executionContext.putLong(getExecutionContextKey(OFFSET), buffer.position());
+        }
+    }
+
+    private void skipEmptyLines() {
+        while (buffer.hasRemaining()) {
+            byte current = buffer.get(buffer.position());
+            if (current != NEW_LINE && current != '\r') {
+                return;
+            }
+            buffer.get();
+        }
+    }
+
+    private int readInt() {
+        readField();
+        if (fieldLength == 0) {
+            throw parseException("Empty id");
+        }
+
+        int index = 0;
+        boolean negative = field[0] == '-';
+        if (negative) {
+            index++;
+        }
+
+        int value = 0;
+        for (; index < fieldLength; index++) {
+            int digit = field[index] - '0';
+            if (digit < 0 || digit > 9) {
+                throw parseException("Unparseable id");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private String readString() {
+        readField();
+        return new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 다음 구분자까지의 바이트를 field에 복사합니다. 줄의 마지막 필드를 지나 읽으려고 하면 토큰 수가 부족한 것입니다.
+     */
+    private void readField() {
+        if (endOfLine && buffer.position() != lineStart) {
+            throw parseException("Too few tokens");
+        }
+        fieldLength = 0;
+        endOfLine = false;
+
+        skipLeadingWhitespace();
+        if (buffer.hasRemaining() && buffer.get(buffer.position()) == QUOTE) {
+            buffer.get();
+            readQuoted();
+        }
+
+        boolean delimited = false;
+        while (buffer.hasRemaining()) {
+            byte current = buffer.get();
+            if (current == DELIMITER) {
+                delimited = true;
+                break;
+            }
+            if (current == NEW_LINE) {
+                break;
+            }
+            append(current);
+        }
+        endOfLine = !delimited; // 줄바꿈 또는 범위의 끝
+
+        while (fieldLength > 0 && (field[fieldLength - 1] & 0xff) <= ' ') {
+            fieldLength--;
+        }
+    }
+
+    private void readQuoted() {
+        while (buffer.hasRemaining()) {
+            byte current = buffer.get();
+            if (current != QUOTE) {
+                append(current);
+            } else if (buffer.hasRemaining() && buffer.get(buffer.position()) == QUOTE) {
+                append(buffer.get()); // "" 는 큰따옴표 한 글자입니다.
+            } else {
+                return;
+            }
+        }
+        throw parseException("Unclosed quote");
+    }
+
+    private void skipLeadingWhitespace() {
+        while (buffer.hasRemaining()) {
+            byte current = buffer.get(buffer.position());
+            if ((current & 0xff) > ' ' || current == NEW_LINE) {
+                return;
+            }
+            buffer.get();
+        }
+    }
+
+    private void append(byte value) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = value;
+    }
+
+    /**
+     * 잘못된 행을 스킵하면 다음 read가 다음 행부터 읽도록 위치를 행의 끝으로 옮깁니다.
+     */
+    private FlatFileParseException parseException(String message) {
+        int end = lineStart;
+        while (end < buffer.limit() && buffer.get(end) != NEW_LINE) {
+            end++;
+        }
+        buffer.position(end);
+        byte[] line = new byte[end - lineStart];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = buffer.get(lineStart + i);
+        }
+
+        String input = new String(line, StandardCharsets.UTF_8);
+        return new FlatFileParseException(message + " in " + file + " at offset " + (startOffset + lineStart), input, getCurrentItemCount());
+    }
+}
@@ -0,0 +1,27 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+/**
+ * id,name,age,address 순서가 고정된 FieldSet을 인덱스로 읽어 Person으로 매핑합니다.
+ * 필드 이름으로 읽으면(readInt("id")) 줄마다 이름 목록에서 인덱스를 찾으므로, 컬럼 순서가 고정된 파일은 인덱스로 읽습니다.
+ * tokenizer에 names를 지정하지 않아도 됩니다.
+ */
+public class PersonFieldSetMapper implements FieldSetMapper<Person> {
+    public static final int ID = 0;
+    public static final int NAME = 1;
+    public static final int AGE = 2;
+    public static final int ADDRESS = 3;
+    public static final int FIELD_COUNT = 4;
+
+    @Override
+    public Person mapFieldSet(FieldSet fieldSet) {
+        return new Person(
+                fieldSet.readInt(ID),
+                fieldSet.readString(NAME),
+                fieldSet.readString(AGE),
+                fieldSet.readString(ADDRESS));
+    }
+}
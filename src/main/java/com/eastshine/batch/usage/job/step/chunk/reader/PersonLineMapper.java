@@ -0,0 +1,204 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static com.eastshine.batch.usage.job.step.chunk.reader.PersonFieldSetMapper.ADDRESS;
+import static com.eastshine.batch.usage.job.step.chunk.reader.PersonFieldSetMapper.AGE;
+import static com.eastshine.batch.usage.job.step.chunk.reader.PersonFieldSetMapper.FIELD_COUNT;
+import static com.eastshine.batch.usage.job.step.chunk.reader.PersonFieldSetMapper.ID;
+import static com.eastshine.batch.usage.job.step.chunk.reader.PersonFieldSetMapper.NAME;
+
+/**
+ * id,name,age,address 한 줄을 토큰화와 매핑을 한 번에 수행해 Person으로 변환합니다.
+ *
+ * DelimitedLineTokenizer + FieldSetMapper는 토큰마다 String을 만들고 FieldSet으로 감싼 뒤, 값을 읽을 때 다시 trim합니다.
+ * 이 LineMapper는 줄을 스레드별로 재사용하는 char[]에 복사해 필드의 시작, 끝 인덱스만 기록하고
+ * - id는 substring 없이 char[]에서 바로 정수로 변환합니다.
+ * - age처럼 값의 종류가 적은 컬럼은 캐시한 String을 재사용합니다.
+ * - name, address만 새 String으로 만듭니다.
+ *
+ * DelimitedLineTokenizer와 같이 큰따옴표로 감싼 필드를 지원하고, FieldSet.readString과 같이 값의 앞뒤 공백을 제거합니다.
+ * 여러 스레드에서 같은 인스턴스를 사용해도 됩니다.
+ */
+public class PersonLineMapper implements LineMapper<Person> {
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int AGE_CACHE_SIZE = 256;
+    private static final int MAX_CACHED_LENGTH = 16;
+
+    private final ThreadLocal<LineBuffer> lineBuffer = ThreadLocal.withInitial(LineBuffer::new);
+
+    /**
+     * 슬롯을 덮어쓰는 경쟁이 있어도 String은 불변 객체이므로 잘못된 값을 읽지 않습니다. 캐시 적중률만 조금 떨어집니다.
+     */
+    private final String[] ageCache = new String[AGE_CACHE_SIZE];
+
+    @Override
+    public Person mapLine(String line, int lineNumber) {
+        LineBuffer buffer = lineBuffer.get();
+        tokenize(line, buffer);
+
+        char[] chars = buffer.chars;
+        int[] starts = buffer.starts;
+        int[] ends = buffer.ends;
+
+        return new Person(
+                parseInt(chars, starts[ID], ends[ID]),
+                new String(chars, starts[NAME], ends[NAME] - starts[NAME]),
+                cached(chars, starts[AGE], ends[AGE]),
+                new String(chars, starts[ADDRESS], ends[ADDRESS] - starts[ADDRESS]));
+    }
+
+    private void tokenize(String line, LineBuffer buffer) {
+        int length = line.length();
+        char[] chars = buffer.ensureCapacity(length);
+        line.getChars(0, length, chars, 0);
+
+        int read = 0;
+        int field = 0;
+        while (true) {
+            if (field == FIELD_COUNT) {
+                throw incorrectTokenCount(line, FIELD_COUNT + 1 + countDelimiters(chars, read, length));
+            }
+
+            while (read < length && chars[read] <= ' ') {
+                read++;
+            }
+
+            int start = read;
+            int end;
+            if (read < length && chars[read] == QUOTE) {
+                start = ++read;
+                end = start;
+                while (read < length) {
+                    char current = chars[read++];
+                    if (current != QUOTE) {
+                        chars[end++] = current;
+                    } else if (read < length && chars[read] == QUOTE) {
+                        chars[end++] = QUOTE; // "" 는 큰따옴표 한 글자입니다. 쓰는 위치는 읽는 위치보다 항상 앞에 있습니다.
+                        read++;
+                    } else {
+                        break;
+                    }
+                }
+                while (read < length && chars[read] != DELIMITER) {
+                    read++;
+                }
+            } else {
+                while (read < length && chars[read] != DELIMITER) {
+                    read++;
+                }
+                end = read;
+            }
+
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+            buffer.starts[field] = start;
+            buffer.ends[field] = end;
+            field++;
+
+            if (read >= length) {
+                break;
+            }
+            read++;
+        }
+
+        if (field != FIELD_COUNT) {
+            throw incorrectTokenCount(line, field);
+        }
+    }
+
+    private static int parseInt(char[] chars, int start, int end) {
+        boolean negative = start < end && chars[start] == '-';
+        int index = negative ? start + 1 : start;
+        if (index == end) {
+            throw unparseableNumber(chars, start, end);
+        }
+
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = chars[index] - '0';
+            if (digit < 0 || digit > 9) {
+                throw unparseableNumber(chars, start, end);
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw unparseableNumber(chars, start, end);
+            }
+        }
+
+        long result = negative ? -value : value;
+        if (result > Integer.MAX_VALUE) {
+            throw unparseableNumber(chars, start, end);
+        }
+        return (int) result;
+    }
+
+    private String cached(char[] chars, int start, int end) {
+        int length = end - start;
+        if (length > MAX_CACHED_LENGTH) {
+            return new String(chars, start, length);
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (AGE_CACHE_SIZE - 1);
+
+        String cached = ageCache[slot];
+        if (cached != null && matches(cached, chars, start, length)) {
+            return cached;
+        }
+
+        String value = new String(chars, start, length);
+        ageCache[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(String value, char[] chars, int start, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countDelimiters(char[] chars, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (chars[i] == DELIMITER) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static IncorrectTokenCountException incorrectTokenCount(String line, int actualCount) {
+        return new IncorrectTokenCountException("Incorrect number of tokens found in record", FIELD_COUNT, actualCount, line);
+    }
+
+    private static NumberFormatException unparseableNumber(char[] chars, int start, int end) {
+        return new NumberFormatException("Unparseable number: " + new String(chars, start, end - start));
+    }
+
+    private static class LineBuffer {
+        private char[] chars = new char[256];
+        private final int[] starts = new int[FIELD_COUNT];
+        private final int[] ends = new int[FIELD_COUNT];
+
+        private char[] ensureCapacity(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
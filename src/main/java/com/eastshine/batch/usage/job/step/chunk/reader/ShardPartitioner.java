@@ -0,0 +1,84 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 개의 파일(shard)을 gridSize 개수의 파티션에 나누어 배정합니다.
+ * 파일 이름 순으로 정렬한 뒤 크기가 큰 파일부터 가장 적게 배정된 파티션에 넣으므로, 파티션마다 처리할 바이트 수가 비슷해집니다.
+ * 배정된 파일의 URI 목록은 파티션 StepExecution의 ExecutionContext(SHARDS)에 저장되므로 재시작 시에도 같은 배정을 사용합니다.
+ */
+public class ShardPartitioner implements Partitioner {
+    public static final String SHARDS = "shards";
+    public static final String SHARD_SEPARATOR = "\n";
+
+    private static final String PARTITION_PREFIX = "partition";
+
+    private final Resource[] shards;
+
+    public ShardPartitioner(Resource[] shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int count = Math.max(1, Math.min(gridSize, shards.length));
+        List<List<String>> partitions = new ArrayList<>();
+        long[] partitionBytes = new long[count];
+        for (int i = 0; i < count; i++) {
+            partitions.add(new ArrayList<>());
+        }
+
+        Resource[] sorted = shards.clone();
+        Arrays.sort(sorted, Comparator.comparing(ShardPartitioner::contentLength).reversed()
+                .thenComparing(Resource::getFilename, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        for (Resource shard : sorted) {
+            int target = 0;
+            for (int i = 1; i < count; i++) {
+                if (partitionBytes[i] < partitionBytes[target]) {
+                    target = i;
+                }
+            }
+            partitions.get(target).add(uri(shard));
+            partitionBytes[target] += contentLength(shard);
+        }
+
+        Map<String, ExecutionContext> result = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            List<String> assigned = partitions.get(i);
+            assigned.sort(Comparator.naturalOrder());
+
+            ExecutionContext context = new ExecutionContext();
+            context.putString(SHARDS, String.join(SHARD_SEPARATOR, assigned));
+            result.put(PARTITION_PREFIX + i, context);
+        }
+        return result;
+    }
+
+    private static long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read shard length : " + resource, e);
+        }
+    }
+
+    private static String uri(Resource resource) {
+        try {
+            return resource.getURI().toString();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to resolve shard uri : " + resource, e);
+        }
+    }
+}
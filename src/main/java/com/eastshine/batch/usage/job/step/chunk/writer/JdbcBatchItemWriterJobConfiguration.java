@@ -1,31 +1,44 @@
 package com.eastshine.batch.usage.job.step.chunk.writer;
 
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.jdbc.MethodHandleRowMapper;
+import com.eastshine.batch.common.jdbc.MultiRowInsertItemWriter;
+import com.eastshine.batch.common.jdbc.SequenceIdAllocator;
+import com.eastshine.batch.common.jdbc.StreamingJdbcCursorItemReaderBuilder;
 import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.domain.Person2;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.context.annotation.Import;
 
 import javax.sql.DataSource;
+import java.util.Objects;
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
+@Import(ChunkConfiguration.class)
 public class JdbcBatchItemWriterJobConfiguration {
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final DataSource dataSource;
-
-    private static final int chunkSize = 10;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
 
     @Bean
     public Job jdbcBatchItemWriterJob() {
@@ -37,36 +50,93 @@ public class JdbcBatchItemWriterJobConfiguration {
     @Bean
     public Step jdbcBatchItemWriterStep() {
         return stepBuilderFactory.get("jdbcBatchItemWriterStep")
-                .<Person, Person>chunk(chunkSize)
+                .<Person, Person2>chunk(chunkCompletionPolicy)
                 .reader(jdbcBatchItemWriterReader())
-                .writer(jdbcBatchItemWriter())
+                .processor(person2Processor())
+                .writer(person2ItemWriter(null))
                 .build();
     }
 
+    /**
+     * fetchSize만 지정하면 streaming ResultSet의 getRow() 값 때문에 "Unexpected cursor position change" 예외가 발생하고,
+     * 지정하지 않으면 MariaDB 드라이버가 person 테이블 전체를 메모리에 읽습니다.
+     * StreamingJdbcCursorItemReaderBuilder로 커서 위치 검증을 끄고 fetchSize(잡 파라미터, 기본 1000) 단위로 가져옵니다.
+     */
     @Bean
+    @StepScope
     public JdbcCursorItemReader<Person> jdbcBatchItemWriterReader() {
-        return new JdbcCursorItemReaderBuilder<Person>()
-                // .fetchSize(chunkSize) -> InvalidDataAccessResourceUsageException: Unexpected cursor position change.
+        return new StreamingJdbcCursorItemReaderBuilder<Person>()
+                .streamingFetchSize(chunkParameters.getFetchSize())
                 .dataSource(dataSource)
-                .rowMapper(new BeanPropertyRowMapper<>(Person.class))
+                .rowMapper(MethodHandleRowMapper.newInstance(Person.class))
                 .sql("select id, name, age, address from person")
                 .name("jdbcBatchItemWriter")
                 .build();
     }
 
+    /**
+     * Person2의 id를 person2_seq에서 ID_ALLOCATION_SIZE개씩 할당받습니다. JPA writer(jpaItemWriterJob)가 할당한 id와 겹치지 않습니다.
+     */
+    @Bean
+    public SequenceIdAllocator person2IdAllocator() {
+        return new SequenceIdAllocator(dataSource, Person2.ID_SEQUENCE, Person2.ID_ALLOCATION_SIZE);
+    }
+
+    private ItemProcessor<Person, Person2> person2Processor() {
+        SequenceIdAllocator idAllocator = person2IdAllocator();
+        return person -> {
+            Person2 person2 = new Person2(person.getName(), person.getAge(), person.getAddress());
+            person2.setId(idAllocator.nextId());
+            return person2;
+        };
+    }
+
     /**
      * reader에서 넘어온 데이터를 하나씩 출력하는 writer
      */
     @Bean // beanMapped()을 사용할때는 필수
-    public JdbcBatchItemWriter<Person> jdbcBatchItemWriter() {
-        return new JdbcBatchItemWriterBuilder<Person>()
+    public JdbcBatchItemWriter<Person2> jdbcBatchItemWriter() {
+        return new JdbcBatchItemWriterBuilder<Person2>()
                 .dataSource(dataSource)
-                .sql("insert into person2(name, age, address) values (:name, :age, :address)")
-                .beanMapped() // Pojo(Person) 기반으로 Insert SQL의 Values를 매핑합니다
+                .sql("insert into person2(id, name, age, address) values (:id, :name, :age, :address)")
+                .beanMapped() // Pojo(Person2) 기반으로 Insert SQL의 Values를 매핑합니다
                 .assertUpdates(true) // 적어도 하나의 항목이 행을 업데이트하거나 삭제하지 않을 경우 예외를 throw할지 여부를 설정합니다. 기본값은 true입니다. Exception:EmptyResultDataAccessException
                 .build();
     }
 
+    /**
+     * rowsPerStatement 잡 파라미터가 있으면 다중 행 INSERT writer를, 없으면 jdbcBatchItemWriter를 사용합니다.
+     * 실행 파라미터 --job.name=jdbcBatchItemWriterJob chunkSize=1000 rowsPerStatement=100
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<Person2> person2ItemWriter(@Value("#{jobParameters[rowsPerStatement]}") Integer rowsPerStatement) {
+        if (Objects.isNull(rowsPerStatement)) {
+            return jdbcBatchItemWriter();
+        }
+        return multiRowInsertItemWriter(rowsPerStatement);
+    }
+
+    /**
+     * 파라미터를 이름 대신 위치로 바인딩하고, rowsPerStatement 건씩 하나의 INSERT 문으로 묶어 저장합니다.
+     * MariaDB는 application-mariadb.yml의 useBulkStmts(3.x), rewriteBatchedStatements(2.x) 설정으로
+     * 드라이버가 JDBC 배치를 한 번에 전송합니다.
+     */
+    private MultiRowInsertItemWriter<Person2> multiRowInsertItemWriter(int rowsPerStatement) {
+        return new MultiRowInsertItemWriter<>(
+                "person2",
+                dataSource,
+                "insert into person2(id, name, age, address)",
+                4,
+                (ps, index, person) -> {
+                    ps.setLong(index, person.getId());
+                    ps.setString(index + 1, person.getName());
+                    ps.setString(index + 2, person.getAge());
+                    ps.setString(index + 3, person.getAddress());
+                },
+                rowsPerStatement);
+    }
+
     /*
     public JdbcBatchItemWriter<Map<String, Object>> jdbcBatchItemWriterWithColumnMapped() {
         return new JdbcBatchItemWriterBuilder<Map<String, Object>>()
@@ -1,5 +1,9 @@
 package com.eastshine.batch.usage.job.step.chunk.writer;
 
+import com.eastshine.batch.common.chunk.ChunkConfiguration;
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.common.reader.JpaScrollableCursorItemReader;
+import com.eastshine.batch.common.writer.StatelessSessionItemWriter;
 import com.eastshine.batch.usage.domain.Person;
 import com.eastshine.batch.usage.domain.Person2;
 import lombok.RequiredArgsConstructor;
@@ -8,24 +12,31 @@ import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 import javax.persistence.EntityManagerFactory;
+import java.util.Objects;
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
+@Import(ChunkConfiguration.class)
 public class JpaItemWriterUsage {
+    public static final String STATELESS_WRITER = "stateless";
+
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final EntityManagerFactory entityManagerFactory;
-
-    private static final int CHUNK_SIZE = 10;
+    private final CompletionPolicy chunkCompletionPolicy;
+    private final ChunkParameters chunkParameters;
 
     @Bean
     public Job jpaItemWriterJob() {
@@ -37,21 +48,26 @@ public class JpaItemWriterUsage {
     @Bean
     public Step jpaItemWriterStep() {
         return stepBuilderFactory.get("jpaItemWriterStep")
-                .<Person, Person2>chunk(CHUNK_SIZE)
+                .<Person, Person2>chunk(chunkCompletionPolicy)
                 .reader(jpaItemWriterReader())
                 .processor(jpaItemProcessor())
-                .writer(jpaItemWriter())
+                .writer(person2JpaItemWriter(null))
                 .build();
     }
 
+    /**
+     * JpaPagingItemReader는 페이지마다 트랜잭션과 쿼리를 새로 실행하고, OFFSET이 커질수록 느려집니다.
+     * id 순서의 커서 하나로 person 테이블 전체를 읽고, 재시작 시 마지막으로 읽은 id 다음부터 읽습니다.
+     */
     @Bean
-    public JpaPagingItemReader<Person> jpaItemWriterReader() {
-        return new JpaPagingItemReaderBuilder<Person>()
-                .name("jpaItemWriterReader")
-                .entityManagerFactory(entityManagerFactory)
-                .pageSize(CHUNK_SIZE)
-                .queryString("SELECT p FROM Person p")
-                .build();
+    @StepScope
+    public JpaScrollableCursorItemReader<Person> jpaItemWriterReader() {
+        return new JpaScrollableCursorItemReader<>(
+                "jpaItemWriterReader",
+                entityManagerFactory,
+                "SELECT p FROM Person p WHERE p.id > :lastId ORDER BY p.id",
+                Person::getId,
+                chunkParameters.getFetchSizeOrPageSize());
     }
 
     @Bean
@@ -73,4 +89,28 @@ public class JpaItemWriterUsage {
         jpaItemWriter.setEntityManagerFactory(entityManagerFactory);
         return jpaItemWriter;
     }
+
+    /**
+     * writer 잡 파라미터가 stateless이면 StatelessSessionItemWriter를, 없으면 jpaItemWriter를 사용합니다.
+     * 실행 파라미터 --job.name=jpaItemWriterJob chunkSize=1000 writer=stateless
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<Person2> person2JpaItemWriter(@Value("#{jobParameters[writer]}") String writer) {
+        if (Objects.isNull(writer)) {
+            return jpaItemWriter();
+        }
+        if (!STATELESS_WRITER.equals(writer)) {
+            throw new IllegalArgumentException("Unknown writer : " + writer);
+        }
+        return statelessSessionItemWriter();
+    }
+
+    /**
+     * 영속성 컨텍스트 없이 청크를 INSERT하고, Person2의 시퀀스(pooled) id로 INSERT를 JDBC 배치로 묶습니다.
+     * 배치 크기는 청크 크기와 같게 지정해 청크 하나를 배치 하나로 전송합니다.
+     */
+    private StatelessSessionItemWriter<Person2> statelessSessionItemWriter() {
+        return new StatelessSessionItemWriter<>(entityManagerFactory, chunkParameters.getChunkSize());
+    }
 }
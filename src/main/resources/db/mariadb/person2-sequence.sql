@@ -0,0 +1,22 @@
+-- person2의 id를 IDENTITY(AUTO_INCREMENT)에서 시퀀스(person2_seq)로 바꿉니다. (MariaDB 10.3 이상)
+-- Person2는 시퀀스를 Person2.ID_ALLOCATION_SIZE(100)씩 증가시키고 그 범위의 id를 메모리에서 할당합니다. (JPA pooled optimizer, SequenceIdAllocator)
+-- 실행 예시) mariadb -u root spring_batch < src/main/resources/db/mariadb/person2-sequence.sql
+
+CREATE TABLE IF NOT EXISTS person2 (
+    id      BIGINT       NOT NULL PRIMARY KEY,
+    name    VARCHAR(255),
+    age     VARCHAR(255),
+    address VARCHAR(255)
+);
+
+-- 기존 테이블의 AUTO_INCREMENT를 없애고 id를 long(BIGINT)으로 넓힙니다.
+ALTER TABLE person2 MODIFY id BIGINT NOT NULL;
+
+CREATE SEQUENCE IF NOT EXISTS person2_seq START WITH 100 INCREMENT BY 100;
+
+-- 처음 할당하는 범위(시퀀스 값 - 99 ~ 시퀀스 값)가 기존 id와 겹치지 않도록 시퀀스를 max(id) + 100부터 시작합니다.
+SET @person2_seq_start = (SELECT COALESCE(MAX(id), 0) + 100 FROM person2);
+SET @restart_person2_seq = CONCAT('ALTER SEQUENCE person2_seq RESTART WITH ', @person2_seq_start);
+PREPARE restart_person2_seq FROM @restart_person2_seq;
+EXECUTE restart_person2_seq;
+DEALLOCATE PREPARE restart_person2_seq;
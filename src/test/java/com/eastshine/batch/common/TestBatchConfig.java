@@ -0,0 +1,17 @@
+package com.eastshine.batch.common;
+
+import com.eastshine.batch.common.repository.BatchRepositoryConfiguration;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 배치 테스트의 공통 설정입니다. 테스트 클래스에 @ActiveProfiles("ephemeral")를 지정하면 배치 메타데이터를 메모리에 저장합니다.
+ */
+@Configuration
+@EnableBatchProcessing
+@EnableAutoConfiguration
+@Import(BatchRepositoryConfiguration.class)
+public class TestBatchConfig {
+}
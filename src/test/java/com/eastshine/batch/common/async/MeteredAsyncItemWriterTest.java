@@ -0,0 +1,38 @@
+package com.eastshine.batch.common.async;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredAsyncItemWriterTest {
+
+    @Test
+    @DisplayName("커밋된 청크에서 저장한 아이템만 집계하고, 롤백된 청크와 거른 아이템은 집계하지 않는다.")
+    void countsOnlyCommittedResults() throws Exception {
+        List<String> written = new ArrayList<>();
+        MeteredAsyncItemWriter<String> writer = new MeteredAsyncItemWriter<>("test", written::addAll);
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+
+        writer.beforeChunk(null);
+        writer.write(Arrays.asList(CompletableFuture.completedFuture("a"), CompletableFuture.completedFuture(null)));
+        writer.update(executionContext);
+        writer.afterChunk(null);
+
+        writer.beforeChunk(null);
+        writer.write(Arrays.asList(CompletableFuture.completedFuture("b"), CompletableFuture.completedFuture("c")));
+        writer.afterChunkError(null); // 커밋에 실패해 롤백된 청크
+
+        writer.update(executionContext);
+
+        assertThat(written).containsExactly("a", "b", "c");
+        assertThat(executionContext.getLong(MeteredAsyncItemWriter.WRITTEN_COUNT)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eastshine.batch.common.chunk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveCompletionPolicyTest {
+    private static final long TARGET_COMMIT_MILLIS = 100L;
+
+    private long now = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("첫 청크는 비교할 이전 청크가 없으므로 초기 크기를 유지한다.")
+    void firstChunk() {
+        AdaptiveCompletionPolicy policy = policy(100);
+
+        policy.start(new RepeatContextSupport(null));
+
+        assertThat(policy.getChunkSize()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("청크가 목표보다 빨리 끝나면 늘리고, 늦게 끝나면 줄인다.")
+    void growsAndShrinksTowardTarget() {
+        AdaptiveCompletionPolicy policy = policy(100);
+        policy.start(new RepeatContextSupport(null));
+
+        assertThat(nextChunk(policy, 80)).isEqualTo(125); // 100 * 100ms / 80ms
+        assertThat(nextChunk(policy, 125)).isEqualTo(100); // 125 * 100ms / 125ms
+        assertThat(nextChunk(policy, 100)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("한 번에 바뀌는 폭은 최대 2배다.")
+    void changeIsCappedPerChunk() {
+        AdaptiveCompletionPolicy policy = policy(100);
+        policy.start(new RepeatContextSupport(null));
+
+        assertThat(nextChunk(policy, 1)).isEqualTo(200);
+        assertThat(nextChunk(policy, 10_000)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("청크 크기는 [1, 10000] 범위를 벗어나지 않는다.")
+    void clampsToBounds() {
+        AdaptiveCompletionPolicy growing = policy(8_000);
+        growing.start(new RepeatContextSupport(null));
+        assertThat(nextChunk(growing, 1)).isEqualTo(AdaptiveCompletionPolicy.DEFAULT_MAX_CHUNK_SIZE);
+
+        AdaptiveCompletionPolicy shrinking = policy(1);
+        shrinking.start(new RepeatContextSupport(null));
+        assertThat(nextChunk(shrinking, 10_000)).isEqualTo(AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * 이전 청크가 elapsedMillis 걸린 뒤 다음 청크를 시작하고, 조정된 청크 크기를 반환합니다.
+     */
+    private int nextChunk(AdaptiveCompletionPolicy policy, long elapsedMillis) {
+        now += TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+        policy.start(new RepeatContextSupport(null));
+        return policy.getChunkSize();
+    }
+
+    private AdaptiveCompletionPolicy policy(int initialChunkSize) {
+        return new AdaptiveCompletionPolicy(initialChunkSize, TARGET_COMMIT_MILLIS,
+                AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE, AdaptiveCompletionPolicy.DEFAULT_MAX_CHUNK_SIZE, () -> now);
+    }
+}
@@ -0,0 +1,75 @@
+package com.eastshine.batch.common.chunk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkParametersTest {
+
+    @Test
+    @DisplayName("파라미터가 없으면 기본값을 사용하고, pageSize와 fetchSize는 chunkSize를 따른다.")
+    void defaults() {
+        ChunkParameters chunkParameters = ChunkParameters.from(Collections.emptyMap());
+
+        assertThat(chunkParameters.getChunkSize()).isEqualTo(ChunkParameters.DEFAULT_CHUNK_SIZE);
+        assertThat(chunkParameters.getPageSize()).isEqualTo(ChunkParameters.DEFAULT_CHUNK_SIZE);
+        assertThat(chunkParameters.getFetchSize()).isEqualTo(ChunkParameters.FETCH_SIZE_NOT_SET);
+        assertThat(chunkParameters.getFetchSizeOrPageSize()).isEqualTo(ChunkParameters.DEFAULT_CHUNK_SIZE);
+        assertThat(chunkParameters.isAdaptive()).isFalse();
+        assertThat(chunkParameters.isAsync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("커맨드 라인의 문자열 값과 코드에서 전달한 Long 값을 모두 읽는다.")
+    void readsStringsAndLongs() {
+        Map<String, Object> jobParameters = new HashMap<>();
+        jobParameters.put(ChunkParameters.CHUNK_SIZE, "1000");
+        jobParameters.put(ChunkParameters.PAGE_SIZE, 500L);
+        jobParameters.put(ChunkParameters.TARGET_COMMIT_MILLIS, "200");
+
+        ChunkParameters chunkParameters = ChunkParameters.from(jobParameters);
+
+        assertThat(chunkParameters.getChunkSize()).isEqualTo(1000);
+        assertThat(chunkParameters.getPageSize()).isEqualTo(500);
+        assertThat(chunkParameters.getFetchSizeOrPageSize()).isEqualTo(500);
+        assertThat(chunkParameters.isAdaptive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("fetchSize를 지정하면 pageSize 대신 사용한다.")
+    void fetchSize() {
+        ChunkParameters chunkParameters = ChunkParameters.from(new JobParametersBuilder()
+                .addLong(ChunkParameters.CHUNK_SIZE, 100L)
+                .addLong(ChunkParameters.FETCH_SIZE, 5000L)
+                .addLong(ChunkParameters.ASYNC_WORKERS, 4L)
+                .toJobParameters());
+
+        assertThat(chunkParameters.getFetchSizeOrPageSize()).isEqualTo(5000);
+        assertThat(chunkParameters.isAsync()).isTrue();
+    }
+
+    @Test
+    @DisplayName("범위를 벗어나거나 숫자가 아닌 값은 IllegalArgumentException을 던진다.")
+    void invalidValues() {
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.CHUNK_SIZE, 0L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ChunkParameters.CHUNK_SIZE);
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.PAGE_SIZE, -1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.FETCH_SIZE, 0L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.TARGET_COMMIT_MILLIS, -1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.ASYNC_WORKERS, -2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChunkParameters.from(Map.of(ChunkParameters.CHUNK_SIZE, "ten")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.eastshine.batch.common.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchTaskExecutorConfigurationTest {
+    private final BatchTaskExecutorConfiguration configuration = new BatchTaskExecutorConfiguration();
+
+    @Test
+    @DisplayName("platform 모드는 pool-size 크기의 스레드 풀을 생성한다.")
+    void platformMode() {
+        TaskExecutor taskExecutor = configuration.batchTaskExecutor(BatchTaskExecutorConfiguration.PLATFORM, 3, -1);
+
+        assertThat(taskExecutor).isInstanceOf(ThreadPoolTaskExecutor.class);
+        assertThat(((ThreadPoolTaskExecutor) taskExecutor).getMaxPoolSize()).isEqualTo(3);
+        ((ThreadPoolTaskExecutor) taskExecutor).shutdown();
+    }
+
+    @Test
+    @DisplayName("virtual 모드는 JDK 21 이상이면 가상 스레드에서, 아니면 스레드 풀에서 실행한다.")
+    void virtualMode() throws Exception {
+        TaskExecutor taskExecutor = configuration.batchTaskExecutor(BatchTaskExecutorConfiguration.VIRTUAL, 2, -1);
+        if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) taskExecutor).initialize(); // 스프링 컨테이너가 빈을 초기화할 때와 같이 호출합니다.
+        }
+
+        CompletableFuture<String> threadName = new CompletableFuture<>();
+        taskExecutor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+
+        if (VirtualThreads.isSupported()) {
+            assertThat(taskExecutor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+            assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("batch-virtual-");
+        } else {
+            assertThat(taskExecutor).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("batch-");
+            ((ThreadPoolTaskExecutor) taskExecutor).shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("알 수 없는 모드는 IllegalArgumentException을 던진다.")
+    void unknownMode() {
+        assertThatThrownBy(() -> configuration.batchTaskExecutor("fiber", 0, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
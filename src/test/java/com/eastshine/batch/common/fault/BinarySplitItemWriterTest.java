@@ -0,0 +1,226 @@
+package com.eastshine.batch.common.fault;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinarySplitItemWriterTest {
+    @TempDir
+    Path deadLetterDirectory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private StepExecution stepExecution;
+    private StepContribution contribution;
+    private StepContribution previousContribution;
+    private DeadLetterSkipListener deadLetterSkipListener;
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:org/springframework/batch/core/schema-h2.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+        stepExecution = MetaDataInstanceFactory.createStepExecution(
+                MetaDataInstanceFactory.createJobExecution("faultTolerantJob", 1L, 1L), "faultTolerantStep", 1L);
+        StepSynchronizationManager.register(stepExecution);
+        contribution = stepExecution.createStepContribution();
+        previousContribution = ContributionAwareStepBuilder.bind(contribution);
+        deadLetterSkipListener = new DeadLetterSkipListener(deadLetterDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ContributionAwareStepBuilder.restore(previousContribution);
+        StepSynchronizationManager.close();
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("실패한 아이템이 하나이면 청크를 반씩 나누어 2log2(n)+1번의 쓰기로 찾아 스킵한다.")
+    void isolatesFailingItemWithBinarySplit() throws Exception {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5)");
+
+        writeInTransaction(writer(10), items(16));
+
+        assertThat(writes.get()).isEqualTo(9);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class)).isEqualTo(16);
+        assertThat(contribution.getWriteSkipCount()).isEqualTo(1);
+        assertThat(contribution.getWriteCount()).isEqualTo(-1); // 스프링 배치가 writer 호출 뒤 청크의 아이템 수(16)를 더합니다.
+    }
+
+    @Test
+    @DisplayName("스킵한 아이템은 커밋된 뒤 dead letter 파일에 한 줄씩 남는다.")
+    void writesSkippedItemsToDeadLetterFile() throws Exception {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5), (11)");
+
+        writeInTransaction(writer(10), items(16));
+        deadLetterSkipListener.afterStep(stepExecution);
+
+        List<String> lines = Files.readAllLines(deadLetterSkipListener.file(stepExecution));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("write\t5\tDuplicateKeyException: ");
+        assertThat(lines.get(1)).startsWith("write\t11\tDuplicateKeyException: ");
+        assertThat(contribution.getWriteSkipCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class)).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("청크가 롤백되면 dead letter 파일을 남기지 않는다. 스킵 건수는 스프링 배치가 StepContribution과 함께 버린다.")
+    void discardsSkippedItemsOnRollback() {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5)");
+        ItemWriter<Integer> writer = writer(10);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(items(16));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        assertThat(Files.exists(deadLetterSkipListener.file(stepExecution))).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("FaultTolerancePolicy.apply(...)로 만든 스텝에서는 스킵 건수와 writeCount가 StepContribution을 거쳐 StepExecution에 반영된다.")
+    void reportsSkipsThroughStepContribution() throws Exception {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(transactionManager);
+        factory.afterPropertiesSet();
+        JobRepository jobRepository = factory.getObject();
+
+        FaultTolerancePolicy policy = policy(10);
+        TaskletStep step = policy.apply(new StepBuilderFactory(jobRepository, transactionManager).get("splitStep")
+                        .<Integer, Integer>chunk(16)
+                        .reader(new ListItemReader<>(items(16)))
+                        .writer(writer(10)))
+                .build();
+        JobExecution jobExecution = jobRepository.createJobExecution("faultTolerantJob", new JobParameters());
+        StepExecution splitStepExecution = jobExecution.createStepExecution("splitStep");
+        jobRepository.add(splitStepExecution);
+
+        step.execute(splitStepExecution);
+
+        assertThat(splitStepExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(splitStepExecution.getWriteSkipCount()).isEqualTo(1);
+        assertThat(splitStepExecution.getWriteCount()).isEqualTo(15);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class)).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("FaultTolerancePolicy.apply(...)로 만든 스텝 밖에서는 쓰지 않는다.")
+    void requiresStepContribution() {
+        ContributionAwareStepBuilder.restore(null);
+
+        assertThatThrownBy(() -> writeInTransaction(writer(10), items(16)))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(writes.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("스킵 건수는 스텝의 이전 청크에서 스킵한 건수를 포함해 skipLimit과 비교한다.")
+    void countsPreviousSkipsAgainstSkipLimit() {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5)");
+        stepExecution.setWriteSkipCount(1);
+        ContributionAwareStepBuilder.bind(stepExecution.createStepContribution());
+
+        assertThatThrownBy(() -> writeInTransaction(writer(1), items(16)))
+                .hasCauseInstanceOf(SkipLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("재시도할 예외는 나누지 않고 그대로 던진다.")
+    void rethrowsRetryableException() {
+        ItemWriter<Integer> writer = new BinarySplitItemWriter<>(items -> {
+            writes.incrementAndGet();
+            throw new DeadlockLoserDataAccessException("deadlock", null);
+        }, database, policy(10), deadLetterSkipListener);
+
+        assertThatThrownBy(() -> writeInTransaction(writer, items(16)))
+                .hasCauseInstanceOf(DeadlockLoserDataAccessException.class);
+        assertThat(writes.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스킵 건수가 skipLimit에 도달하면 SkipLimitExceededException을 던진다.")
+    void failsWhenSkipLimitExceeded() {
+        jdbcTemplate.update("INSERT INTO item (id) VALUES (5), (11)");
+
+        assertThatThrownBy(() -> writeInTransaction(writer(1), items(16)))
+                .hasCauseInstanceOf(SkipLimitExceededException.class);
+    }
+
+    private ItemWriter<Integer> writer(int skipLimit) {
+        ItemWriter<Integer> delegate = items -> {
+            writes.incrementAndGet();
+            jdbcTemplate.batchUpdate("INSERT INTO item (id) VALUES (?)", items, items.size(),
+                    (ps, id) -> ps.setInt(1, id));
+        };
+        return policy(skipLimit).splittingWriter(delegate, database);
+    }
+
+    private FaultTolerancePolicy policy(int skipLimit) {
+        return new FaultTolerancePolicy(skipLimit, 3, Duration.ofMillis(1), 2.0, Duration.ofMillis(10), deadLetterSkipListener);
+    }
+
+    private void writeInTransaction(ItemWriter<Integer> writer, List<Integer> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(items);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static List<Integer> items(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,142 @@
+package com.eastshine.batch.common.jdbc;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodHandleRowMapperTest {
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+
+        jdbcTemplate.execute("CREATE TABLE person (id INT, name VARCHAR(50), age VARCHAR(10), address VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE account (account_id BIGINT, total_amount DECIMAL(19, 2), score INT, active BOOLEAN, updated_date TIMESTAMP, memo VARCHAR(10))");
+
+        for (int i = 1; i <= 10; i++) {
+            jdbcTemplate.update("INSERT INTO person VALUES (?, ?, ?, ?)", i, "홍길동" + i, String.valueOf(20 + i), "서울특별시 " + i);
+        }
+        jdbcTemplate.update("INSERT INTO account VALUES (1, 1000.50, 7, TRUE, ?, 'memo')", LocalDateTime.of(2022, 8, 1, 10, 0));
+        jdbcTemplate.update("INSERT INTO account VALUES (2, NULL, NULL, NULL, NULL, NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Person을 BeanPropertyRowMapper와 같은 결과로 매핑한다.")
+    void mapsPersonLikeBeanPropertyRowMapper() {
+        String sql = "select id, name, age, address from person order by id";
+
+        List<Person> expected = jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(Person.class));
+        List<Person> actual = jdbcTemplate.query(sql, MethodHandleRowMapper.newInstance(Person.class));
+
+        assertThat(actual).extracting(Person::toString)
+                .containsExactlyElementsOf(expected.stream().map(Person::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("'_'가 포함된 컬럼, 기본형, null 값을 매핑한다.")
+    void mapsUnderscoreColumnsAndNulls() {
+        MethodHandleRowMapper<Account> rowMapper = MethodHandleRowMapper.newInstance(Account.class);
+
+        List<Account> accounts = jdbcTemplate.query("select * from account order by account_id", rowMapper);
+
+        Account first = accounts.get(0);
+        assertThat(first.getAccountId()).isEqualTo(1L);
+        assertThat(first.getTotalAmount()).isEqualByComparingTo("1000.50");
+        assertThat(first.getScore()).isEqualTo(7);
+        assertThat(first.isActive()).isTrue();
+        assertThat(first.getUpdatedDate()).isEqualTo(LocalDateTime.of(2022, 8, 1, 10, 0));
+
+        Account second = accounts.get(1);
+        assertThat(second.getTotalAmount()).isNull();
+        assertThat(second.getScore()).isZero();
+        assertThat(second.isActive()).isFalse();
+        assertThat(second.getUpdatedDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("다른 쿼리의 ResultSet이 들어오면 컬럼을 다시 연결한다.")
+    void resolvesColumnsPerResultSet() {
+        MethodHandleRowMapper<Person> rowMapper = MethodHandleRowMapper.newInstance(Person.class);
+
+        Person byAllColumns = jdbcTemplate.queryForObject("select id, name, age, address from person where id = 1", rowMapper);
+        Person byReorderedColumns = jdbcTemplate.queryForObject("select address, id from person where id = 2", rowMapper);
+
+        assertThat(byAllColumns.getName()).isEqualTo("홍길동1");
+        assertThat(byReorderedColumns.getId()).isEqualTo(2);
+        assertThat(byReorderedColumns.getAddress()).isEqualTo("서울특별시 2");
+        assertThat(byReorderedColumns.getName()).isNull();
+    }
+
+    public static class Account {
+        private long accountId;
+        private BigDecimal totalAmount;
+        private int score;
+        private boolean active;
+        private LocalDateTime updatedDate;
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public void setAccountId(long accountId) {
+            this.accountId = accountId;
+        }
+
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+
+        public void setTotalAmount(BigDecimal totalAmount) {
+            this.totalAmount = totalAmount;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public void setScore(int score) {
+            this.score = score;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public LocalDateTime getUpdatedDate() {
+            return updatedDate;
+        }
+
+        public void setUpdatedDate(LocalDateTime updatedDate) {
+            this.updatedDate = updatedDate;
+        }
+    }
+}
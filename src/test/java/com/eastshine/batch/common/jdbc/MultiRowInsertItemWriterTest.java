@@ -0,0 +1,74 @@
+package com.eastshine.batch.common.jdbc;
+
+import com.eastshine.batch.usage.domain.Person;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiRowInsertItemWriterTest {
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE person2 (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50), age VARCHAR(10), address VARCHAR(100))");
+
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("청크를 rowsPerStatement 건씩 묶어 저장하고, 나머지는 별도의 문으로 저장한다.")
+    void writesChunkWithMultiRowStatements() {
+        MultiRowInsertItemWriter<Person> writer = new MultiRowInsertItemWriter<>(
+                "test",
+                database,
+                "insert into person2(name, age, address)",
+                3,
+                (ps, index, person) -> {
+                    ps.setString(index, person.getName());
+                    ps.setString(index + 1, person.getAge());
+                    ps.setString(index + 2, person.getAddress());
+                },
+                10);
+
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            persons.add(new Person(i, "홍길동" + i, String.valueOf(20 + i), "서울특별시 " + i));
+        }
+
+        writer.write(persons);
+
+        assertThat(jdbcTemplate.queryForList("select name from person2 order by id", String.class))
+                .containsExactlyElementsOf(persons.stream().map(Person::getName).collect(Collectors.toList()));
+        assertThat(jdbcTemplate.queryForObject("select address from person2 where name = '홍길동24'", String.class))
+                .isEqualTo("서울특별시 24");
+        assertThat(meterRegistry.get("batch.writer.multirow.statements").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("batch.writer.multirow.rows").counter().count()).isEqualTo(25);
+    }
+}
@@ -0,0 +1,137 @@
+package com.eastshine.batch.common.jdbc;
+
+import com.eastshine.batch.common.chunk.ChunkParameters;
+import com.eastshine.batch.usage.domain.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 힙(-Xmx64m)보다 큰 테이블을 streaming 커서로 끝까지 읽을 수 있는지 확인합니다.
+ * 결과를 한 번에 메모리에 올리면 OutOfMemoryError가 발생합니다.
+ *
+ * ./gradlew streamingTest
+ * DB_HOST(DB_PORT, DB_NAME, DB_USERNAME, DB_PASSWORD)를 지정하면 mariadb 프로파일과 같은 MariaDB에서도 확인합니다.
+ */
+class StreamingJdbcCursorItemReaderTest {
+    private static final Logger log = LoggerFactory.getLogger(StreamingJdbcCursorItemReaderTest.class);
+
+    private static final String TABLE = "streaming_person";
+    private static final int ROWS = 250_000;
+    private static final int ADDRESS_LENGTH = 1_000;
+    private static final long TABLE_BYTES = (long) ROWS * ADDRESS_LENGTH;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("builder는 fetchSize를 지정하고 커서 위치 검증을 끈다.")
+    void appliesStreamingSettings() {
+        JdbcCursorItemReader<Person> reader = createReader(new DriverManagerDataSource(), 500);
+        assertThat(ReflectionTestUtils.getField(reader, "fetchSize")).isEqualTo(500);
+        assertThat(ReflectionTestUtils.getField(reader, "verifyCursorPosition")).isEqualTo(false);
+
+        JdbcCursorItemReader<Person> defaultReader = createReader(new DriverManagerDataSource(), ChunkParameters.FETCH_SIZE_NOT_SET);
+        assertThat(ReflectionTestUtils.getField(defaultReader, "fetchSize")).isEqualTo(StreamingJdbcCursorItemReaderBuilder.DEFAULT_FETCH_SIZE);
+    }
+
+    @Test
+    @Tag("streaming")
+    @DisplayName("streaming 커서는 힙보다 큰 테이블을 읽는 동안 메모리 사용량이 fetchSize로 제한된다.")
+    void readsTableLargerThanHeap() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() < TABLE_BYTES, "streamingTest 태스크(-Xmx64m)에서만 실행합니다.");
+
+        readTableLargerThanHeap(new DriverManagerDataSource(
+                "jdbc:h2:file:" + tempDir.resolve("streaming") + ";CACHE_SIZE=4096;LAZY_QUERY_EXECUTION=TRUE", "sa", ""));
+    }
+
+    /**
+     * MariaDB Connector/J는 fetchSize가 없으면 결과 전체를 메모리에 올리고, 커서 위치를 검증하면 streaming 중에 예외가 발생합니다.
+     */
+    @Test
+    @Tag("streaming")
+    @EnabledIfEnvironmentVariable(named = "DB_HOST", matches = ".+")
+    @DisplayName("MariaDB에서도 streaming 커서로 힙보다 큰 테이블을 읽는다.")
+    void readsMariaDbTableLargerThanHeap() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() < TABLE_BYTES, "streamingTest 태스크(-Xmx64m)에서만 실행합니다.");
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:mariadb://" + System.getenv("DB_HOST") + ":" + env("DB_PORT", "3306") + "/" + env("DB_NAME", "spring_batch"),
+                env("DB_USERNAME", "root"), env("DB_PASSWORD", ""));
+        try {
+            readTableLargerThanHeap(dataSource);
+        } finally {
+            new JdbcTemplate(dataSource).execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+
+    private void readTableLargerThanHeap(DataSource dataSource) throws Exception {
+        insertPersons(new JdbcTemplate(dataSource));
+        JdbcCursorItemReader<Person> reader = createReader(dataSource, 500);
+
+        long read = 0;
+        long maxUsedHeap = 0;
+        reader.open(new ExecutionContext());
+        while (reader.read() != null) {
+            if (++read % 10_000 == 0) {
+                Runtime runtime = Runtime.getRuntime();
+                maxUsedHeap = Math.max(maxUsedHeap, runtime.totalMemory() - runtime.freeMemory());
+            }
+        }
+        reader.close();
+
+        log.info(">>>>> read {} rows ({} MB) with max used heap {} MB / max heap {} MB",
+                read, TABLE_BYTES >> 20, maxUsedHeap >> 20, Runtime.getRuntime().maxMemory() >> 20);
+
+        assertThat(read).isEqualTo(ROWS);
+        assertThat(maxUsedHeap).isLessThan(TABLE_BYTES);
+    }
+
+    private JdbcCursorItemReader<Person> createReader(DataSource dataSource, int fetchSize) {
+        return new StreamingJdbcCursorItemReaderBuilder<Person>()
+                .streamingFetchSize(fetchSize)
+                .name("streamingReader")
+                .dataSource(dataSource)
+                .sql("select id, name, age, address from " + TABLE)
+                .rowMapper(MethodHandleRowMapper.newInstance(Person.class))
+                .build();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return Objects.nonNull(value) ? value : defaultValue;
+    }
+
+    private void insertPersons(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (id INT PRIMARY KEY, name VARCHAR(50), age VARCHAR(10), address VARCHAR(2000))");
+
+        String address = "x".repeat(ADDRESS_LENGTH);
+        int batchSize = 1_000;
+        for (int from = 0; from < ROWS; from += batchSize) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            for (int id = from; id < from + batchSize; id++) {
+                batch.add(new Object[]{id, "홍길동" + id, "32", address});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " VALUES (?, ?, ?, ?)", batch);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eastshine.batch.common.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchMetricsListenerTest {
+    private final BatchMetricsListener listener = new BatchMetricsListener();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("청크가 끝나면 청크 시간과 청크에서 늘어난 아이템 수를 기록한다.")
+    void afterChunk() {
+        StepExecution stepExecution = stepExecution("metricsStep");
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        stepExecution.setReadCount(10);
+
+        listener.beforeChunk(chunkContext);
+        stepExecution.setReadCount(15);
+        stepExecution.setWriteCount(4);
+        stepExecution.setFilterCount(1);
+        listener.afterChunk(chunkContext);
+
+        assertThat(registry.get("batch.chunk.duration").tags("job", "metricsJob", "step", "metricsStep").timer().count()).isEqualTo(1);
+        assertThat(registry.get("batch.step.items").tags("type", "read").counter().count()).isEqualTo(5);
+        assertThat(registry.get("batch.step.items").tags("type", "write").counter().count()).isEqualTo(4);
+        assertThat(registry.get("batch.step.items").tags("type", "filter").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("파티션 워커 스텝은 파티션 이름을 제외한 스텝 이름으로 기록한다.")
+    void partitionStepTag() {
+        StepExecution stepExecution = stepExecution("metricsStep:partition0");
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+
+        listener.beforeChunk(chunkContext);
+        listener.afterChunkError(chunkContext);
+
+        assertThat(registry.get("batch.chunk.rollback").tags("step", "metricsStep").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스텝이 끝나면 상태별 스텝 실행 시간을 기록한다.")
+    void afterStep() {
+        StepExecution stepExecution = stepExecution("metricsStep");
+        stepExecution.setStartTime(new Date(System.currentTimeMillis() - 1000));
+        stepExecution.setEndTime(new Date());
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        listener.afterStep(stepExecution);
+
+        assertThat(registry.get("batch.step.duration").tags("status", "COMPLETED").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PrometheusFileExporter는 잡이 끝나면 메트릭을 Prometheus 텍스트 형식으로 저장한다.")
+    void prometheusFileExporter(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("metrics/batch.prom");
+        PrometheusFileExporter exporter = new PrometheusFileExporter(file);
+        try {
+            StepExecution stepExecution = stepExecution("metricsStep");
+            stepExecution.setStartTime(new Date());
+            listener.afterStep(stepExecution);
+
+            JobExecution jobExecution = stepExecution.getJobExecution();
+            exporter.afterJob(jobExecution);
+
+            assertThat(Files.readString(file)).contains("batch_step_duration_seconds_count");
+        } finally {
+            exporter.destroy();
+        }
+    }
+
+    private static StepExecution stepExecution(String stepName) {
+        return MetaDataInstanceFactory.createStepExecution(MetaDataInstanceFactory.createJobExecution("metricsJob", 1L, 1L), stepName, 1L);
+    }
+}
@@ -0,0 +1,149 @@
+package com.eastshine.batch.common.reader;
+
+import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import com.eastshine.batch.usage.domain.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestBatchConfig.class)
+@EnableJpaRepositories(basePackageClasses = MemberRepository.class)
+@EntityScan(basePackageClasses = {Member.class, Person.class})
+class JpaScrollableCursorItemReaderTest {
+    private static final int MEMBERS = 10;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member("회원" + i, i * 100_000));
+        }
+        ids = memberRepository.saveAll(members).stream()
+                .map(Member::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        jdbcTemplate.update("delete from person");
+    }
+
+    @Test
+    @DisplayName("커서 하나로 조건에 맞는 엔티티를 키 순서대로 모두 읽는다.")
+    void readsAllWithOneCursor() throws Exception {
+        JpaScrollableCursorItemReader<Member> reader = reader();
+        reader.setParameterValues(Collections.singletonMap("minAmount", 300_000));
+        reader.setClearInterval(3);
+
+        reader.open(new ExecutionContext());
+        List<Long> read = readAll(reader);
+        reader.close();
+
+        assertThat(read).containsExactlyElementsOf(ids.subList(3, MEMBERS));
+    }
+
+    @Test
+    @DisplayName("재시작하면 마지막으로 읽은 키 다음부터 읽는다.")
+    void restartsAfterLastReadKey() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+
+        JpaScrollableCursorItemReader<Member> reader = reader();
+        reader.setParameterValues(Collections.singletonMap("minAmount", 0));
+        reader.setClearInterval(1);
+        reader.open(executionContext);
+        for (int i = 0; i < 4; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        JpaScrollableCursorItemReader<Member> restarted = reader();
+        restarted.setParameterValues(Collections.singletonMap("minAmount", 0));
+        restarted.open(executionContext);
+        List<Long> read = readAll(restarted);
+        restarted.close();
+
+        assertThat(read).containsExactlyElementsOf(ids.subList(4, MEMBERS));
+    }
+
+    @Test
+    @DisplayName("키가 int인 엔티티도 :lastId를 키 타입으로 바인딩해 재시작 후 이어서 읽는다.")
+    void bindsLastIdWithKeyType() throws Exception {
+        for (int i = 0; i < MEMBERS; i++) {
+            jdbcTemplate.update("insert into person(name, age, address) values (?, ?, ?)", "홍길동" + i, "30", "서울특별시");
+        }
+        List<Integer> personIds = jdbcTemplate.queryForList("select id from person order by id", Integer.class);
+        ExecutionContext executionContext = new ExecutionContext();
+
+        JpaScrollableCursorItemReader<Person> reader = personReader();
+        reader.open(executionContext);
+        List<Integer> read = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            read.add(reader.read().getId());
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        JpaScrollableCursorItemReader<Person> restarted = personReader();
+        restarted.open(executionContext);
+        Person person;
+        while ((person = restarted.read()) != null) {
+            read.add(person.getId());
+        }
+        restarted.close();
+
+        assertThat(read).containsExactlyElementsOf(personIds);
+    }
+
+    private JpaScrollableCursorItemReader<Person> personReader() {
+        return new JpaScrollableCursorItemReader<>(
+                "personCursorReader",
+                entityManagerFactory,
+                "SELECT p FROM Person p WHERE p.id > :lastId ORDER BY p.id",
+                Person::getId,
+                2);
+    }
+
+    private JpaScrollableCursorItemReader<Member> reader() {
+        return new JpaScrollableCursorItemReader<>(
+                "memberCursorReader",
+                entityManagerFactory,
+                "SELECT m FROM Member m WHERE m.id > :lastId AND m.totalAmount >= :minAmount ORDER BY m.id",
+                Member::getId,
+                2);
+    }
+
+    private List<Long> readAll(JpaScrollableCursorItemReader<Member> reader) throws Exception {
+        List<Long> read = new ArrayList<>();
+        Member member;
+        while ((member = reader.read()) != null) {
+            read.add(member.getId());
+        }
+        return read;
+    }
+}
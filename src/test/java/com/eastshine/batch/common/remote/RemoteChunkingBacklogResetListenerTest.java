@@ -0,0 +1,30 @@
+package com.eastshine.batch.common.remote;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteChunkingBacklogResetListenerTest {
+
+    @Test
+    @DisplayName("스텝을 시작하기 전에 이전 실행의 청크 수와 응답 채널에 남은 응답을 지운다.")
+    void clearsPreviousBacklog() {
+        QueueChannel replies = new QueueChannel();
+        replies.send(new GenericMessage<>("stale response 1"));
+        replies.send(new GenericMessage<>("stale response 2"));
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.getExecutionContext().putInt(RemoteChunkingBacklogResetListener.EXPECTED, 3);
+        stepExecution.getExecutionContext().putInt(RemoteChunkingBacklogResetListener.ACTUAL, 1);
+
+        new RemoteChunkingBacklogResetListener(replies).beforeStep(stepExecution);
+
+        assertThat(stepExecution.getExecutionContext().containsKey(RemoteChunkingBacklogResetListener.EXPECTED)).isFalse();
+        assertThat(stepExecution.getExecutionContext().containsKey(RemoteChunkingBacklogResetListener.ACTUAL)).isFalse();
+        assertThat(replies.getQueueSize()).isZero();
+    }
+}
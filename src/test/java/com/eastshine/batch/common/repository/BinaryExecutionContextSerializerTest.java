@@ -0,0 +1,272 @@
+package com.eastshine.batch.common.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryExecutionContextSerializerTest {
+    private final BinaryExecutionContextSerializer serializer = new BinaryExecutionContextSerializer(new ExecutionContextTypeRegistry(), -1);
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:org/springframework/batch/core/schema-h2.sql")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("기본 타입은 같은 클래스와 값으로 복원된다.")
+    void builtInTypes() throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("string", "홍길동");
+        context.put("long", Long.MIN_VALUE);
+        context.put("int", -1);
+        context.put("double", 1.5d);
+        context.put("boolean", true);
+        context.put("date", new Date(1_666_000_000_000L));
+        context.put("timestamp", new Timestamp(1_666_000_000_123L));
+        context.put("localDate", LocalDate.of(2022, 10, 17));
+        context.put("localDateTime", LocalDateTime.of(2022, 10, 17, 12, 30, 15, 123_000));
+        context.put("decimal", new BigDecimal("-12345.6789"));
+        context.put("bytes", new byte[]{1, 2, 3});
+        context.put("list", new ArrayList<>(Arrays.asList(1L, "a", null)));
+        context.put("map", new LinkedHashMap<>(Map.of("minId", 1L)));
+        context.put("null", null);
+
+        Map<String, Object> restored = roundTrip(serializer, context);
+
+        assertThat(restored).containsOnlyKeys(context.keySet());
+        context.forEach((key, value) -> {
+            if (value == null) {
+                assertThat(restored.get(key)).isNull();
+            } else {
+                assertThat(restored.get(key)).isInstanceOf(value.getClass()).isEqualTo(value);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("등록한 타입은 태그로 기록하고, 등록하지 않은 타입은 Serializable이어도 기록하지 않는다.")
+    void customTypes() throws IOException {
+        ExecutionContextTypeRegistry registry = new ExecutionContextTypeRegistry()
+                .register(64, Range.class, new ExecutionContextTypeRegistry.ValueCodec<Range>() {
+                    @Override
+                    public void write(Range value, DataOutputStream out, ExecutionContextTypeRegistry registry) throws IOException {
+                        out.writeLong(value.min);
+                        out.writeLong(value.max);
+                    }
+
+                    @Override
+                    public Range read(DataInputStream in, ExecutionContextTypeRegistry registry) throws IOException {
+                        return new Range(in.readLong(), in.readLong());
+                    }
+                });
+        BinaryExecutionContextSerializer customSerializer = new BinaryExecutionContextSerializer(registry, -1);
+
+        Map<String, Object> restored = roundTrip(customSerializer, Map.of("range", new Range(1, 100)));
+
+        assertThat(restored.get("range")).isEqualTo(new Range(1, 100));
+        assertThatThrownBy(() -> serialize(serializer, Map.of("range", new Range(1, 100))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serialize(serializer, Map.of("value", new Object())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.register(1, Object.class, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("List, Set, Map을 구현한 다른 클래스는 ArrayList, LinkedHashSet, LinkedHashMap으로 기록하고 복원한다.")
+    void collectionInterfaces() throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("list", List.of(1L, 2L));
+        context.put("linkedList", new LinkedList<>(List.of("a", "b")));
+        context.put("set", new TreeSet<>(Set.of(3L, 1L, 2L)));
+        context.put("map", new ConcurrentHashMap<>(Map.of("minId", 1L)));
+        context.put("unmodifiable", Collections.unmodifiableMap(new TreeMap<>(Map.of("a", 1, "b", 2))));
+
+        Map<String, Object> restored = roundTrip(serializer, context);
+
+        assertThat(restored.get("list")).isInstanceOf(ArrayList.class).isEqualTo(List.of(1L, 2L));
+        assertThat(restored.get("linkedList")).isInstanceOf(ArrayList.class).isEqualTo(List.of("a", "b"));
+        assertThat((Set<?>) restored.get("set")).isInstanceOf(LinkedHashSet.class).containsExactly(1L, 2L, 3L);
+        assertThat(restored.get("map")).isInstanceOf(LinkedHashMap.class).isEqualTo(Map.of("minId", 1L));
+        assertThat(restored.get("unmodifiable")).isInstanceOf(LinkedHashMap.class).isEqualTo(Map.of("a", 1, "b", 2));
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 태그로 기록된 값은 읽지 않는다.")
+    void rejectsUnknownTag() {
+        ExecutionContextTypeRegistry registry = new ExecutionContextTypeRegistry();
+        byte[] unknownTag = {127};
+
+        assertThatThrownBy(() -> registry.read(new DataInputStream(new ByteArrayInputStream(unknownTag))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("127");
+    }
+
+    @Test
+    @DisplayName("임계값 이상이면 압축하고, 결과는 ASCII 문자열이다.")
+    void compression() throws IOException {
+        BinaryExecutionContextSerializer compressingSerializer = new BinaryExecutionContextSerializer(new ExecutionContextTypeRegistry(), 128);
+        Map<String, Object> context = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            context.put("partition" + i + ".minId", (long) i * 1000);
+        }
+
+        String compressed = serialize(compressingSerializer, context);
+        String uncompressed = serialize(serializer, context);
+
+        assertThat(compressed).startsWith(BinaryExecutionContextSerializer.COMPRESSED_PREFIX).hasSizeLessThan(uncompressed.length());
+        assertThat(uncompressed).startsWith(BinaryExecutionContextSerializer.BINARY_PREFIX);
+        assertThat(StandardCharsets.US_ASCII.newEncoder().canEncode(compressed)).isTrue();
+        assertThat(deserialize(compressingSerializer, compressed)).isEqualTo(context);
+    }
+
+    @Test
+    @DisplayName("Jackson으로 저장된 ExecutionContext도 읽는다.")
+    void readsJackson() throws IOException {
+        Map<String, Object> context = Map.of("FlatFileItemReader.read.count", 10, "minId", 1L, "name", "홍길동");
+
+        Jackson2ExecutionContextStringSerializer jacksonSerializer = new Jackson2ExecutionContextStringSerializer();
+        String json = serialize(jacksonSerializer, context);
+
+        assertThat(json).startsWith("{");
+        assertThat(deserialize(serializer, json)).isEqualTo(deserialize(jacksonSerializer, json)).containsKeys("minId", "name");
+    }
+
+    @Test
+    @DisplayName("JobRepository에 저장한 ExecutionContext를 JobExplorer로 다시 읽는다. jackson으로 저장한 이전 실행도 읽는다.")
+    void jobRepositoryRoundTrip() throws Exception {
+        JobRepository jacksonRepository = jobRepository(new Jackson2ExecutionContextStringSerializer());
+        StepExecution jacksonStep = stepExecution(jacksonRepository, "jackson");
+        jacksonStep.getExecutionContext().putLong("JpaPagingItemReader.read.count", 300L);
+        jacksonRepository.updateExecutionContext(jacksonStep);
+
+        JobRepository binaryRepository = jobRepository(serializer);
+        StepExecution binaryStep = stepExecution(binaryRepository, "binary");
+        binaryStep.getExecutionContext().putLong("JpaPagingItemReader.read.count", 500L);
+        binaryStep.getExecutionContext().putString("name", "홍길동");
+        binaryRepository.updateExecutionContext(binaryStep);
+
+        JobExplorer jobExplorer = jobExplorer(serializer);
+        assertThat(jobExplorer.getStepExecution(jacksonStep.getJobExecutionId(), jacksonStep.getId())
+                .getExecutionContext().getLong("JpaPagingItemReader.read.count")).isEqualTo(300L);
+        StepExecution restored = jobExplorer.getStepExecution(binaryStep.getJobExecutionId(), binaryStep.getId());
+        assertThat(restored.getExecutionContext().getLong("JpaPagingItemReader.read.count")).isEqualTo(500L);
+        assertThat(restored.getExecutionContext().getString("name")).isEqualTo("홍길동");
+    }
+
+    private StepExecution stepExecution(JobRepository jobRepository, String run) throws Exception {
+        JobParameters jobParameters = new JobParametersBuilder().addString("run", run).toJobParameters();
+        JobExecution jobExecution = jobRepository.createJobExecution("serializerJob", jobParameters);
+        StepExecution stepExecution = jobExecution.createStepExecution("serializerStep");
+        jobRepository.add(stepExecution);
+        return stepExecution;
+    }
+
+    private JobRepository jobRepository(ExecutionContextSerializer executionContextSerializer) throws Exception {
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(new DataSourceTransactionManager(database));
+        factory.setSerializer(executionContextSerializer);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private JobExplorer jobExplorer(ExecutionContextSerializer executionContextSerializer) throws Exception {
+        JobExplorerFactoryBean factory = new JobExplorerFactoryBean();
+        factory.setDataSource(database);
+        factory.setSerializer(executionContextSerializer);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static Map<String, Object> roundTrip(ExecutionContextSerializer serializer, Map<String, Object> context) throws IOException {
+        return deserialize(serializer, serialize(serializer, context));
+    }
+
+    /**
+     * JdbcExecutionContextDao와 같이 직렬화 결과를 UTF-8 문자열로 바꿉니다.
+     */
+    private static String serialize(ExecutionContextSerializer serializer, Map<String, Object> context) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(context, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> deserialize(ExecutionContextSerializer serializer, String serialized) throws IOException {
+        return serializer.deserialize(new ByteArrayInputStream(serialized.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class Range {
+        private final long min;
+        private final long max;
+
+        private Range(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Range && ((Range) o).min == min && ((Range) o).max == max;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(min) * 31 + Long.hashCode(max);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.eastshine.batch.common.repository;
+
+import com.eastshine.batch.usage.job.UniqueRunIdIncrementer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryJobRepositoryFactoryTest {
+    private final InMemoryJobRepositoryFactory factory = new InMemoryJobRepositoryFactory();
+    private final JobRepository jobRepository = factory.getJobRepository();
+    private final JobExplorer jobExplorer = factory.getJobExplorer();
+
+    @Test
+    @DisplayName("JobRepository가 저장한 실행을 JobExplorer로 조회한다.")
+    void sharesExecutions() throws Exception {
+        JobExecution jobExecution = jobRepository.createJobExecution("memoryJob", new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution("memoryStep");
+        jobRepository.add(stepExecution);
+        stepExecution.getExecutionContext().putLong("read.count", 10L);
+        jobRepository.updateExecutionContext(stepExecution);
+
+        StepExecution found = jobExplorer.getStepExecution(jobExecution.getId(), stepExecution.getId());
+
+        assertThat(found.getStepName()).isEqualTo("memoryStep");
+        assertThat(found.getExecutionContext().getLong("read.count")).isEqualTo(10L);
+        assertThat(jobExplorer.findRunningJobExecutions("memoryJob")).extracting(JobExecution::getId).containsExactly(jobExecution.getId());
+    }
+
+    @Test
+    @DisplayName("완료된 JobInstance는 다시 실행할 수 없고, UniqueRunIdIncrementer의 다음 파라미터는 새 JobInstance로 실행한다.")
+    void completedInstanceCannotRunAgain() throws Exception {
+        UniqueRunIdIncrementer incrementer = new UniqueRunIdIncrementer();
+        JobParameters first = incrementer.getNext(null);
+        complete(jobRepository.createJobExecution("memoryJob", first));
+
+        assertThatThrownBy(() -> jobRepository.createJobExecution("memoryJob", first))
+                .isInstanceOf(JobInstanceAlreadyCompleteException.class);
+
+        JobExecution next = jobRepository.createJobExecution("memoryJob", incrementer.getNext(first));
+        assertThat(next.getJobParameters().getLong("run.id")).isEqualTo(2L);
+        assertThat(jobExplorer.getJobInstanceCount("memoryJob")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 파라미터로 동시에 실행하면 JobInstance와 JobExecution은 하나만 생성된다.")
+    void concurrentLaunchesCreateOneInstance() throws Exception {
+        int threads = 8;
+        JobParameters jobParameters = new JobParametersBuilder().addLong("run.id", 1L).toJobParameters();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<JobExecution>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<JobExecution> launch = () -> {
+                    start.await();
+                    return jobRepository.createJobExecution("concurrentJob", jobParameters);
+                };
+                futures.add(executorService.submit(launch));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<JobExecution> future : futures) {
+                try {
+                    future.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    // DuplicateKeyException, JobExecutionAlreadyRunningException 등으로 실패합니다.
+                }
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(jobExplorer.getJobInstanceCount("concurrentJob")).isEqualTo(1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void complete(JobExecution jobExecution) {
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        jobExecution.setEndTime(new Date());
+        jobRepository.update(jobExecution);
+    }
+}
@@ -0,0 +1,158 @@
+package com.eastshine.batch.common.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindJobRepositoryTest {
+    private static final int ITEMS = 100;
+
+    private EmbeddedDatabase database;
+    private DataSourceTransactionManager transactionManager;
+    private JobRepository jdbcJobRepository;
+    private JobExplorer jobExplorer;
+    private final List<Integer> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:org/springframework/batch/core/schema-h2.sql")
+                .build();
+        transactionManager = new DataSourceTransactionManager(database);
+
+        JobRepositoryFactoryBean jobRepositoryFactory = new JobRepositoryFactoryBean();
+        jobRepositoryFactory.setDataSource(database);
+        jobRepositoryFactory.setTransactionManager(transactionManager);
+        jobRepositoryFactory.afterPropertiesSet();
+        jdbcJobRepository = jobRepositoryFactory.getObject();
+
+        JobExplorerFactoryBean jobExplorerFactory = new JobExplorerFactoryBean();
+        jobExplorerFactory.setDataSource(database);
+        jobExplorerFactory.afterPropertiesSet();
+        jobExplorer = jobExplorerFactory.getObject();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("청크마다 저장하지 않고 commit-interval마다 저장하며, 스텝이 끝나면 마지막 상태를 저장한다.")
+    void coalescesChunkUpdates() throws Exception {
+        JobRepository writeBehindJobRepository = new WriteBehindJobRepository(jdbcJobRepository, 10, Duration.ofHours(1));
+
+        StepExecution jdbc = lastStepExecution(run(jdbcJobRepository, "jdbc", -1));
+        StepExecution writeBehind = lastStepExecution(run(writeBehindJobRepository, "writeBehind", -1));
+
+        // 저장할 때마다 VERSION이 1씩 증가합니다. (시작 1회 + 청크 101회 + 종료 1회)
+        assertThat(jdbc.getVersion()).isGreaterThan(100);
+        assertThat(writeBehind.getVersion()).isLessThanOrEqualTo(12);
+        assertThat(writeBehind.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(writeBehind.getReadCount()).isEqualTo(jdbc.getReadCount()).isEqualTo(ITEMS);
+        assertThat(writeBehind.getWriteCount()).isEqualTo(ITEMS);
+        assertThat(writeBehind.getCommitCount()).isEqualTo(jdbc.getCommitCount());
+        assertThat(writeBehind.getExecutionContext().getInt("numberReader.read.count")).isEqualTo(ITEMS);
+    }
+
+    @Test
+    @DisplayName("스텝이 실패하면 마지막으로 커밋된 청크의 상태를 저장하고, 재시작하면 다음 아이템부터 처리한다.")
+    void restartsAfterFailure() throws Exception {
+        JobRepository writeBehindJobRepository = new WriteBehindJobRepository(jdbcJobRepository, 10, Duration.ofHours(1));
+
+        JobExecution failed = run(writeBehindJobRepository, "restart", 55);
+
+        StepExecution failedStep = lastStepExecution(failed);
+        assertThat(failed.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(failedStep.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(failedStep.getWriteCount()).isEqualTo(54);
+        assertThat(failedStep.getExecutionContext().getInt("numberReader.read.count")).isEqualTo(54);
+
+        written.clear();
+        JobExecution restarted = run(writeBehindJobRepository, "restart", -1);
+
+        assertThat(restarted.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(restarted.getJobInstance().getInstanceId()).isEqualTo(failed.getJobInstance().getInstanceId());
+        assertThat(written).hasSize(ITEMS - 54).startsWith(55).endsWith(ITEMS);
+    }
+
+    private JobExecution run(JobRepository jobRepository, String run, int failOn) throws Exception {
+        ItemWriter<Integer> writer = items -> {
+            if (items.contains(failOn)) {
+                throw new IllegalStateException("fail on " + failOn);
+            }
+            written.addAll(items);
+        };
+        Job job = new JobBuilder("numberJob")
+                .repository(jobRepository)
+                .start(new StepBuilder("numberStep")
+                        .repository(jobRepository)
+                        .transactionManager(transactionManager)
+                        .<Integer, Integer>chunk(1)
+                        .reader(new NumberReader())
+                        .writer(writer)
+                        .build())
+                .build();
+
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        JobParameters jobParameters = new JobParametersBuilder().addString("run", run).toJobParameters();
+        return jobLauncher.run(job, jobParameters);
+    }
+
+    private StepExecution lastStepExecution(JobExecution jobExecution) {
+        return jobExplorer.getJobExecution(jobExecution.getId()).getStepExecutions().iterator().next();
+    }
+
+    /**
+     * 1부터 ITEMS까지 읽고, 읽은 건수(numberReader.read.count)를 ExecutionContext에 저장하는 reader입니다.
+     */
+    private static class NumberReader extends AbstractItemCountingItemStreamItemReader<Integer> {
+        private NumberReader() {
+            setName("numberReader");
+            setMaxItemCount(ITEMS);
+        }
+
+        @Override
+        protected Integer doRead() {
+            return getCurrentItemCount();
+        }
+
+        @Override
+        protected void doOpen() {
+        }
+
+        @Override
+        protected void doClose() {
+        }
+    }
+}
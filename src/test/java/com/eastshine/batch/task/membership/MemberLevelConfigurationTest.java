@@ -1,6 +1,8 @@
 package com.eastshine.batch.task.membership;
 
 import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.common.async.MeteredAsyncItemWriter;
+import com.eastshine.batch.common.reader.JpaScrollableCursorItemReader;
 import com.eastshine.batch.task.domain.Member;
 import com.eastshine.batch.task.domain.MemberRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -10,16 +12,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.database.JpaPagingItemReader;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.Arrays;
@@ -29,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBatchTest
 @SpringBootTest(classes={TestBatchConfig.class, MemberLevelConfiguration.class, MemberRepository.class})
+@ActiveProfiles("ephemeral") // 배치 메타데이터를 메모리에 저장합니다.
 @RunWith(SpringRunner.class)
 @EnableJpaRepositories(basePackages = {"com.eastshine.batch.task.domain"})
 @EntityScan(basePackages = {"com.eastshine.batch.task.domain"})
@@ -36,7 +40,7 @@ class MemberLevelConfigurationTest {
 
     @Autowired MemberRepository memberRepository;
     @Autowired JobLauncherTestUtils jobLauncherTestUtils; // 내부에 JobLauncher를 포함하고 있으며, Job과 Step을 테스트할 수 있다.
-    @Autowired JpaPagingItemReader<Member> reader;
+    @Autowired JpaScrollableCursorItemReader<Member> reader;
     @Autowired ItemProcessor<Member, Member> processor;
 
     @AfterEach
@@ -46,13 +50,15 @@ class MemberLevelConfigurationTest {
 
     // Reader 단위 테스트 예시
     @Test
-    @DisplayName("Cf. 현재 Reader는 모든 Member를 조회한다")
+    @DisplayName("Reader는 등급 상향 대상 Member만 조회한다")
     void testReader() throws Exception {
         // given
         List<Member> members = Arrays.asList(
                 new Member("최동호",450000),
                 new Member("김동호",250000),
-                new Member("이동호",50000)
+                new Member("이동호",50000),
+                new Member("박동호",250000, Member.Level.SILVER),
+                new Member("정동호",900000, Member.Level.VIP)
         );
         memberRepository.saveAll(members);
 
@@ -60,11 +66,13 @@ class MemberLevelConfigurationTest {
         reader.open(new ExecutionContext());
 
         //then
+        int readCount = 0;
         Member memberRecord;
         while ((memberRecord = reader.read()) != null) {
-            assertThat(memberRecord.getTotalAmount()).isNotNull();
-            assertThat(memberRecord.getName()).contains("동호");
+            assertThat(memberRecord.notAvailableLeveUp()).isFalse(); // 조회 조건과 Member.Level의 상향 규칙이 일치해야 한다.
+            readCount++;
         }
+        assertThat(readCount).isEqualTo(2);
 
         reader.close();
     }
@@ -145,4 +153,37 @@ class MemberLevelConfigurationTest {
         )
                 .isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("asyncWorkers 파라미터가 있으면 memberLevelUpAsyncStep에서 processor를 여러 스레드로 실행해 등급을 상향한다.")
+    public void testMemberLevelUpJobWithAsyncWorkers() throws Exception {
+        // given
+        List<Member> members = Arrays.asList(
+                new Member("김동호",250000, Member.Level.SILVER),
+                new Member("이동호",50000),
+                new Member("박동호",350000),
+                new Member("최동호",450000)
+        );
+        memberRepository.saveAll(members);
+
+        // when
+        JobParameters jobParameters = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLong("chunkSize", 2L)
+                .addLong("asyncWorkers", 2L)
+                .toJobParameters();
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions())
+                .extracting(StepExecution::getStepName)
+                .containsExactly("memberLevelUpAsyncStep");
+        assertThat(jobExecution.getStepExecutions())
+                .extracting(stepExecution -> stepExecution.getExecutionContext().getLong(MeteredAsyncItemWriter.WRITTEN_COUNT))
+                .containsExactly(2L);
+        assertThat(memberRepository.findAll())
+                .filteredOn(member -> member.getLevel() == Member.Level.GOLD)
+                .extracting(Member::getName)
+                .containsExactlyInAnyOrder("박동호", "최동호");
+    }
 }
@@ -0,0 +1,93 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 Job(memberLevelUpJob, memberLevelUpPartitionJob)이 등록되므로 JobLauncherTestUtils 대신 JobLauncher로 직접 실행합니다.
+ */
+@SpringBootTest(classes = {TestBatchConfig.class, MemberLevelConfiguration.class, MemberLevelPartitionConfiguration.class})
+@EnableJpaRepositories(basePackages = {"com.eastshine.batch.task.domain"})
+@EntityScan(basePackages = {"com.eastshine.batch.task.domain"})
+class MemberLevelPartitionConfigurationTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired JobLauncher jobLauncher;
+    @Autowired MemberIdRangePartitioner partitioner;
+    @Autowired @Qualifier("memberLevelUpPartitionJob") Job memberLevelUpPartitionJob;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("MemberIdRangePartitioner는 member_id 전체 범위를 겹치지 않게 나눈다.")
+    void testPartitioner() {
+        List<Member> members = memberRepository.saveAll(Arrays.asList(
+                new Member("김동호", 250_000),
+                new Member("이동호", 50_000),
+                new Member("박동호", 350_000),
+                new Member("최동호", 450_000),
+                new Member("정동호", 10_000)
+        ));
+        long minId = members.get(0).getId();
+        long maxId = members.get(members.size() - 1).getId();
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        assertThat(partitions).hasSize(2);
+        assertThat(partitions.values().stream()
+                .mapToLong(context -> context.getLong(MemberIdRangePartitioner.MAX_ID) - context.getLong(MemberIdRangePartitioner.MIN_ID) + 1)
+                .sum())
+                .isEqualTo(maxId - minId + 1);
+    }
+
+    @Test
+    @DisplayName("memberLevelUpPartitionJob은 모든 파티션의 레벨업 대상자의 레벨을 상향한다.")
+    void testMemberLevelUpPartitionJob() throws Exception {
+        memberRepository.saveAll(Arrays.asList(
+                new Member("김동호", 250_000, Member.Level.SILVER),
+                new Member("이동호", 50_000),
+                new Member("박동호", 350_000),
+                new Member("최동호", 450_000)
+        ));
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("gridSize", 2L)
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+
+        JobExecution jobExecution = jobLauncher.run(memberLevelUpPartitionJob, jobParameters);
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().startsWith("memberLevelUpWorkerStep"))
+                .mapToInt(StepExecution::getWriteCount)
+                .sum())
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,129 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.integration.chunk.ChunkProcessorChunkHandler;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.PassThroughItemProcessor;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBatchTest
+@SpringBootTest(classes = {TestBatchConfig.class, MemberLevelRemoteChunkingConfiguration.class, MemberRepository.class},
+        properties = "batch.remote-chunking.workers=2")
+@EnableJpaRepositories(basePackages = {"com.eastshine.batch.task.domain"})
+@EntityScan(basePackages = {"com.eastshine.batch.task.domain"})
+class MemberLevelRemoteChunkingConfigurationTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired JobLauncherTestUtils jobLauncherTestUtils;
+    @Autowired ChunkProcessorChunkHandler<Long> memberLevelUpChunkHandler;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        memberLevelUpChunkHandler.setChunkProcessor(new SimpleChunkProcessor<>(new PassThroughItemProcessor<>(), memberLevelUpByIdWriter()));
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("memberLevelUpRemoteJob은 member_id 청크를 워커에 보내 레벨업 대상자의 레벨을 상향한다.")
+    void testMemberLevelUpRemoteJob() throws Exception {
+        // given
+        List<Member> members = Arrays.asList(
+                new Member("김동호", 250000, Member.Level.SILVER),
+                new Member("이동호", 50000),
+                new Member("박동호", 350000),
+                new Member("최동호", 450000),
+                new Member("정동호", 600000, Member.Level.GOLD)
+        );
+        memberRepository.saveAll(members);
+
+        // when
+        JobParameters jobParameters = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLong("chunkSize", 2L)
+                .toJobParameters();
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions().stream()
+                .mapToInt(StepExecution::getWriteCount)
+                .sum())
+                .isEqualTo(3);
+        assertThat(memberRepository.findAll())
+                .filteredOn(member -> member.getLevel() == Member.Level.GOLD)
+                .extracting(Member::getName)
+                .containsExactlyInAnyOrder("박동호", "최동호");
+        assertThat(memberRepository.findAll())
+                .filteredOn(member -> member.getLevel() == Member.Level.VIP)
+                .extracting(Member::getName)
+                .containsExactly("정동호");
+    }
+
+    @Test
+    @DisplayName("워커가 실패한 청크는 매니저가 그 뒤의 청크를 보냈더라도 재시작하면 다시 처리한다.")
+    void restartsFailedWorkerChunk() throws Exception {
+        // given
+        List<Member> members = memberRepository.saveAll(Arrays.asList(
+                new Member("박동호", 350000),
+                new Member("최동호", 450000),
+                new Member("정동호", 600000, Member.Level.GOLD)
+        ));
+        Long failingId = members.get(0).getId();
+
+        MemberLevelUpByIdWriter writer = memberLevelUpByIdWriter();
+        AtomicBoolean failed = new AtomicBoolean();
+        ItemWriter<Long> failingOnceWriter = ids -> {
+            if (ids.contains(failingId) && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("worker failure");
+            }
+            writer.write(ids);
+        };
+        memberLevelUpChunkHandler.setChunkProcessor(new SimpleChunkProcessor<>(new PassThroughItemProcessor<>(), failingOnceWriter));
+
+        JobParameters jobParameters = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLong("chunkSize", 1L)
+                .toJobParameters();
+
+        // when
+        JobExecution failedExecution = jobLauncherTestUtils.launchJob(jobParameters);
+        JobExecution restartedExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(failedExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(restartedExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(memberRepository.findById(failingId).map(Member::getLevel)).contains(Member.Level.GOLD);
+        assertThat(memberRepository.findAll())
+                .extracting(Member::getLevel)
+                .containsOnly(Member.Level.GOLD, Member.Level.VIP);
+    }
+
+    private MemberLevelUpByIdWriter memberLevelUpByIdWriter() {
+        return new MemberLevelUpByIdWriter(entityManagerFactory, dataSource, transactionManager);
+    }
+}
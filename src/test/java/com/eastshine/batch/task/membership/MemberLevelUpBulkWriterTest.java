@@ -0,0 +1,54 @@
+package com.eastshine.batch.task.membership;
+
+import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.task.domain.Member;
+import com.eastshine.batch.task.domain.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = {TestBatchConfig.class, MemberLevelConfiguration.class})
+@EnableJpaRepositories(basePackages = {"com.eastshine.batch.task.domain"})
+@EntityScan(basePackages = {"com.eastshine.batch.task.domain"})
+class MemberLevelUpBulkWriterTest {
+    @Autowired MemberRepository memberRepository;
+    @Autowired @Qualifier("memberLevelUpWriter") ItemWriter<? super Member> bulkWriter;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("memberLevelUpWriter는 청크의 회원을 등급별로 묶어 상향한다.")
+    void testWrite() throws Exception {
+        List<Member> members = memberRepository.saveAll(Arrays.asList(
+                new Member("김동호", 250_000),
+                new Member("이동호", 350_000),
+                new Member("박동호", 550_000),
+                new Member("최동호", 330_000, Member.Level.SILVER)
+        ));
+
+        bulkWriter.write(members);
+
+        assertThat(memberRepository.findAll())
+                .extracting(Member::getLevel)
+                .containsExactlyInAnyOrder(Member.Level.SILVER, Member.Level.GOLD, Member.Level.VIP, Member.Level.GOLD);
+        assertThat(memberRepository.findAll())
+                .allSatisfy(member -> assertThat(member.getUpdatedDate()).isNotNull());
+        assertThat(members) // 전달받은 엔티티는 바꾸지 않습니다. (영속 상태라면 변경 감지로 UPDATE가 한 번 더 실행됩니다.)
+                .extracting(Member::getLevel)
+                .containsExactly(Member.Level.NORMAL, Member.Level.NORMAL, Member.Level.NORMAL, Member.Level.SILVER);
+    }
+}
@@ -0,0 +1,86 @@
+package com.eastshine.batch.usage.job.step.chunk.processor;
+
+import com.eastshine.batch.usage.domain.Person;
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.DeduplicationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateValidationProcessorTest {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @ParameterizedTest
+    @EnumSource(DeduplicationType.class)
+    @DisplayName("재시작하면 커밋된 청크의 키를 journal에서 복원해 중복을 계속 걸러낸다.")
+    void restoresCommittedKeysOnRestart(DeduplicationType type) throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+
+        DuplicateValidationProcessor<Person> first = createProcessor(type);
+        first.open(executionContext);
+        first.afterWrite(processAll(first, persons(0, 10)));
+        first.update(executionContext);
+        first.close();
+
+        DuplicateValidationProcessor<Person> restarted = createProcessor(type);
+        restarted.open(executionContext);
+
+        assertThat(processAll(restarted, persons(0, 10))).isEmpty();
+        assertThat(processAll(restarted, persons(10, 20))).hasSize(10);
+        restarted.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeduplicationType.class)
+    @DisplayName("쓰기 전에 실패한 청크의 키는 재시작 후 처음 보는 키로 처리한다.")
+    void forgetsKeysOfUncommittedChunk(DeduplicationType type) throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+
+        DuplicateValidationProcessor<Person> first = createProcessor(type);
+        first.open(executionContext);
+        first.afterWrite(processAll(first, persons(0, 10)));
+        first.update(executionContext);
+        processAll(first, persons(10, 20)); // 이 청크는 쓰기 전에 롤백되었다고 가정합니다.
+        first.close();
+
+        DuplicateValidationProcessor<Person> restarted = createProcessor(type);
+        restarted.open(executionContext);
+
+        assertThat(processAll(restarted, persons(10, 20))).hasSize(10);
+        restarted.close();
+    }
+
+    private DuplicateValidationProcessor<Person> createProcessor(DeduplicationType type) {
+        DuplicateValidationProcessor<Person> processor = new DuplicateValidationProcessor<>(Person::getName, type.create(1_000, 0.0001));
+        processor.setSnapshotDirectory(snapshotDirectory);
+        return processor;
+    }
+
+    private List<Person> processAll(DuplicateValidationProcessor<Person> processor, List<Person> items) throws Exception {
+        List<Person> processed = new ArrayList<>();
+        for (Person item : items) {
+            Person result = processor.process(item);
+            if (result != null) {
+                processed.add(result);
+            }
+        }
+        return processed;
+    }
+
+    private List<Person> persons(int from, int to) {
+        List<Person> persons = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            persons.add(new Person(i + 1, "name" + i, "age", "address"));
+        }
+        return persons;
+    }
+}
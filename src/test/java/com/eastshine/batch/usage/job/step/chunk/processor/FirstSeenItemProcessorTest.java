@@ -0,0 +1,56 @@
+package com.eastshine.batch.usage.job.step.chunk.processor;
+
+import com.eastshine.batch.usage.job.step.chunk.processor.dedup.FirstSeenPositions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirstSeenItemProcessorTest {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    @DisplayName("재시작하면 커밋된 위치부터 이어서 처음 등장한 아이템을 판단한다.")
+    void resumesFromCommittedPosition() throws Exception {
+        Path path = workDirectory.resolve("first-seen-positions.bin");
+        try (FirstSeenPositions.Writer firstSeenPositions = FirstSeenPositions.create(path, 10)) {
+            for (int position : new int[]{0, 1, 4, 6, 9}) {
+                firstSeenPositions.set(position);
+            }
+        }
+        ExecutionContext executionContext = new ExecutionContext();
+
+        FirstSeenItemProcessor<Integer> first = new FirstSeenItemProcessor<>(path);
+        first.open(executionContext);
+        List<Integer> passed = processAll(first, 0, 5);
+        first.update(executionContext);
+        processAll(first, 5, 8); // 커밋되지 않은 청크이므로 재시작 시 다시 읽습니다.
+        first.close();
+
+        FirstSeenItemProcessor<Integer> restarted = new FirstSeenItemProcessor<>(path);
+        restarted.open(executionContext);
+        passed.addAll(processAll(restarted, 5, 10));
+        restarted.close();
+
+        assertThat(passed).containsExactly(0, 1, 4, 6, 9);
+    }
+
+    private List<Integer> processAll(FirstSeenItemProcessor<Integer> processor, int from, int to) {
+        List<Integer> passed = new ArrayList<>();
+        for (int item = from; item < to; item++) {
+            Integer result = processor.process(item);
+            if (result != null) {
+                passed.add(result);
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeduplicationStrategyTest {
+    private static final int KEYS = 100_000;
+
+    @ParameterizedTest
+    @EnumSource(DeduplicationType.class)
+    @DisplayName("이미 기록한 키는 다시 기록되지 않는다.")
+    void rejectsDuplicateKeys(DeduplicationType type) {
+        DeduplicationStrategy strategy = type.create(KEYS, 0.001);
+
+        for (int i = 0; i < KEYS; i++) {
+            strategy.add("key" + i);
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(strategy.add("key" + i)).isFalse();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DeduplicationType.class, names = {"EXACT", "HASH"})
+    @DisplayName("exact, hash 방식은 처음 보는 키를 모두 기록한다.")
+    void acceptsDistinctKeys(DeduplicationType type) {
+        DeduplicationStrategy strategy = type.create(16, 0.01); // 예상보다 많은 키가 들어와도 테이블을 늘려 처리한다.
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(strategy.add("key" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("bloom 방식의 오탐률은 설정한 값 근처에 머문다.")
+    void bloomFilterFalsePositiveRate() {
+        double falsePositiveRate = 0.01;
+        DeduplicationStrategy strategy = DeduplicationType.BLOOM.create(KEYS, falsePositiveRate);
+
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (!strategy.add("key" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / KEYS).isLessThan(falsePositiveRate * 2);
+    }
+
+    @Test
+    @DisplayName("담을 수 없는 키 수를 요청하면 메모리를 할당하기 전에 실패한다.")
+    void rejectsExpectedKeysBeyondCapacity() {
+        assertThatThrownBy(() -> DeduplicationType.HASH.create(HashDeduplicationStrategy.MAX_KEYS + 1, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeduplicationType.BLOOM.create(Long.MAX_VALUE / 2, 0.001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
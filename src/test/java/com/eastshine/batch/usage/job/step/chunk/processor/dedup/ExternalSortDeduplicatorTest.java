@@ -0,0 +1,145 @@
+package com.eastshine.batch.usage.job.step.chunk.processor.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalSortDeduplicatorTest {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    @DisplayName("여러 run 파일에 걸친 중복 키는 처음 등장한 위치만 남긴다.")
+    void keepsFirstPositionAcrossRuns() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            keys.add("key" + (i % 7)); // 버퍼가 4건이므로 같은 키가 여러 run에 나뉘어 기록됩니다.
+        }
+        keys.add("key-last");
+
+        ExternalSortDeduplicator deduplicator = new ExternalSortDeduplicator(workDirectory, 4);
+        for (String key : keys) {
+            deduplicator.add(key);
+        }
+        Path output = workDirectory.resolve(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS_FILE);
+        assertThat(deduplicator.finish(output)).isEqualTo(keys.size());
+
+        Set<String> seen = new HashSet<>();
+        try (FirstSeenPositions firstSeenPositions = FirstSeenPositions.open(output)) {
+            for (int position = 0; position < keys.size(); position++) {
+                assertThat(firstSeenPositions.isSet(position)).isEqualTo(seen.add(keys.get(position)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("run 파일이 입출력 버퍼보다 커도 버퍼 단위로 나눠 쓰고 읽는다.")
+    void mergesRunsLargerThanIoBuffer() throws Exception {
+        int bufferRecords = SortedRun.IO_BUFFER_BYTES / SortedRun.RECORD_BYTES * 3 + 1;
+        int items = bufferRecords * 2 + 5;
+
+        ExternalSortDeduplicator deduplicator = new ExternalSortDeduplicator(workDirectory, bufferRecords);
+        for (int i = 0; i < items; i++) {
+            deduplicator.add("key" + (i % bufferRecords));
+        }
+        Path output = workDirectory.resolve(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS_FILE);
+        assertThat(deduplicator.finish(output)).isEqualTo(items);
+
+        try (FirstSeenPositions firstSeenPositions = FirstSeenPositions.open(output)) {
+            for (int position = 0; position < items; position++) {
+                assertThat(firstSeenPositions.isSet(position)).isEqualTo(position < bufferRecords);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("처음 등장한 위치가 위치 버퍼보다 많으면 여러 position run으로 정렬해 병합한다.")
+    void sortsFirstSeenPositionsAcrossPositionRuns() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add("key" + (i % 100)); // 위치 버퍼는 12건이므로 처음 등장한 위치 100건이 여러 position run에 나뉘어 기록됩니다.
+        }
+
+        ExternalSortDeduplicator deduplicator = new ExternalSortDeduplicator(workDirectory, 4);
+        for (String key : keys) {
+            deduplicator.add(key);
+        }
+        Path output = workDirectory.resolve(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS_FILE);
+        deduplicator.finish(output);
+
+        try (FirstSeenPositions firstSeenPositions = FirstSeenPositions.open(output)) {
+            for (int position = 0; position < keys.size(); position++) {
+                assertThat(firstSeenPositions.isSet(position)).isEqualTo(position < 100);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("비트 집합은 오름차순의 위치만 받는다.")
+    void writerRejectsUnorderedPositions() throws Exception {
+        try (FirstSeenPositions.Writer writer = FirstSeenPositions.create(workDirectory.resolve("positions.bin"), 16)) {
+            writer.set(3);
+            assertThatThrownBy(() -> writer.set(2)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.set(16)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("병합이 끝나면 run 파일을 삭제한다.")
+    void deletesRunFiles() throws Exception {
+        ExternalSortDeduplicator deduplicator = new ExternalSortDeduplicator(workDirectory, 2);
+        for (int i = 0; i < 9; i++) {
+            deduplicator.add("key" + i);
+        }
+        Path output = workDirectory.resolve(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS_FILE);
+        deduplicator.finish(output);
+
+        try (Stream<Path> files = Files.list(workDirectory)) {
+            assertThat(files).containsExactly(output);
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼 크기가 배열로 만들 수 있는 범위를 벗어나면 실패한다.")
+    void rejectsBufferRecordsBeyondArrayLimit() {
+        assertThat((long) ExternalSortDeduplicator.MAX_BUFFER_RECORDS * SortedRun.RECORD_LONGS).isLessThanOrEqualTo(Integer.MAX_VALUE - 8);
+        assertThatThrownBy(() -> new ExternalSortDeduplicator(workDirectory, ExternalSortDeduplicator.MAX_BUFFER_RECORDS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExternalSortDeduplicator(workDirectory, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("잡이 완료되면 작업 디렉토리를 삭제하고, 실패하면 재시작을 위해 남겨 둔다.")
+    void cleanupListenerDeletesDirectoryOnlyWhenCompleted() throws Exception {
+        Path jobDirectory = Files.createDirectories(workDirectory.resolve("external-sort-dedup-1"));
+        Path output = Files.createFile(jobDirectory.resolve(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS_FILE));
+        ExternalSortDeduplicationCleanupListener listener = new ExternalSortDeduplicationCleanupListener();
+
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution();
+        jobExecution.getExecutionContext().putString(ExternalSortDeduplicationTasklet.FIRST_SEEN_POSITIONS, output.toString());
+
+        jobExecution.setStatus(BatchStatus.FAILED);
+        listener.afterJob(jobExecution);
+        assertThat(output).exists();
+
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        listener.afterJob(jobExecution);
+        assertThat(jobDirectory).doesNotExist();
+    }
+}
@@ -0,0 +1,121 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedShardItemReaderTest {
+    private static final int ROWS_PER_SHARD = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    private List<Resource> shards;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        shards = Arrays.asList(
+                write("person-0.csv.gz", 0),
+                write("person-1.csv.zst", 1),
+                write("person-2.csv", 2));
+    }
+
+    @Test
+    @DisplayName("gzip, zstd, 압축하지 않은 파일을 순서대로 모두 읽는다.")
+    void readsAllShardsInOrder() throws Exception {
+        List<Integer> ids = readAll(reader(4), new ExecutionContext());
+
+        assertThat(ids).hasSize(ROWS_PER_SHARD * shards.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 저장된 파일과 줄 위치부터 이어서 읽는다.")
+    void restartsFromSavedShardAndLine() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        CompressedShardItemReader<Person> reader = reader(1); // 큐를 작게 두어 압축 해제 스레드가 앞서 나가도록 한다.
+        reader.open(executionContext);
+        for (int i = 0; i < 1_500; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        List<Integer> rest = readAll(reader(1), executionContext);
+
+        assertThat(rest).hasSize(ROWS_PER_SHARD * shards.size() - 1_500);
+        assertThat(rest.get(0)).isEqualTo(1_500);
+    }
+
+    @Test
+    @DisplayName("ShardPartitioner는 모든 파일을 한 번씩만 배정한다.")
+    void partitionsShards() {
+        Map<String, ExecutionContext> partitions = new ShardPartitioner(shards.toArray(new Resource[0])).partition(2);
+
+        List<String> assigned = new ArrayList<>();
+        for (ExecutionContext partition : partitions.values()) {
+            assigned.addAll(Arrays.asList(partition.getString(ShardPartitioner.SHARDS).split(ShardPartitioner.SHARD_SEPARATOR)));
+        }
+
+        assertThat(partitions).hasSize(2);
+        assertThat(assigned).hasSize(shards.size()).doesNotHaveDuplicates();
+    }
+
+    private CompressedShardItemReader<Person> reader(int bufferBlocks) {
+        return new CompressedShardItemReader<>("compressedShardItemReader", shards, new PersonLineMapper(), 1, bufferBlocks);
+    }
+
+    private List<Integer> readAll(CompressedShardItemReader<Person> reader, ExecutionContext executionContext) throws Exception {
+        reader.open(executionContext);
+        List<Integer> ids = new ArrayList<>();
+        Person person;
+        while ((person = reader.read()) != null) {
+            ids.add(person.getId());
+        }
+        reader.close();
+        return ids;
+    }
+
+    private Resource write(String filename, int shard) throws IOException {
+        Path path = tempDir.resolve(filename);
+        try (OutputStream out = compress(filename, Files.newOutputStream(path))) {
+            out.write("id,name,age,address\n".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < ROWS_PER_SHARD; i++) {
+                int id = shard * ROWS_PER_SHARD + i;
+                out.write((id + ",홍길동" + id + ",32,서울특별시\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return new FileSystemResource(path);
+    }
+
+    private OutputStream compress(String filename, OutputStream out) throws IOException {
+        if (filename.endsWith(".gz")) {
+            return new GZIPOutputStream(out);
+        }
+        if (filename.endsWith(".zst")) {
+            return new ZstdOutputStream(out);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,138 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedPersonItemReaderTest {
+    private static final int ROWS = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StringBuilder csv = new StringBuilder("id,name,age,address\n");
+        for (int i = 1; i <= ROWS; i++) {
+            String address = i % 7 == 0 ? "\"서울특별시, 강남구 \"\"" + i + "\"\"\"" : "부산광역시 해운대구 " + i;
+            String newLine = i % 3 == 0 ? "\r\n" : "\n";
+            csv.append(i).append(",홍길동").append(i).append(", ").append(20 + i % 50).append(",").append(address).append(newLine);
+        }
+        file = tempDir.resolve("person.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("파티션으로 나누어 읽은 결과는 FlatFileItemReader로 읽은 결과와 같다.")
+    void readsSameItemsAsFlatFileItemReader() throws Exception {
+        List<String> expected = readWithFlatFileItemReader();
+
+        Map<String, ExecutionContext> partitions = new MappedFileRangePartitioner(file, 1).partition(7);
+        List<String> actual = new ArrayList<>();
+        for (ExecutionContext partition : partitions.values()) {
+            actual.addAll(readAll(partition, new ExecutionContext()));
+        }
+
+        assertThat(partitions).hasSize(7);
+        assertThat(sorted(actual)).isEqualTo(sorted(expected));
+        assertThat(actual).hasSize(ROWS);
+    }
+
+    @Test
+    @DisplayName("재시작하면 저장된 위치부터 이어서 읽는다.")
+    void restartsFromSavedOffset() throws Exception {
+        ExecutionContext partition = new MappedFileRangePartitioner(file, 1).partition(1).get("partition0");
+        ExecutionContext executionContext = new ExecutionContext();
+
+        MappedPersonItemReader reader = reader(partition);
+        reader.open(executionContext);
+        for (int i = 0; i < 100; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        List<String> rest = readAll(partition, executionContext);
+
+        assertThat(rest).hasSize(ROWS - 100);
+        assertThat(rest.get(0)).contains("id=101");
+    }
+
+    @Test
+    @DisplayName("토큰 수가 맞지 않으면 FlatFileParseException이 발생한다.")
+    void failsOnIncorrectTokenCount() throws Exception {
+        Path invalid = tempDir.resolve("invalid.csv");
+        Files.write(invalid, "1,홍길동,20\n".getBytes(StandardCharsets.UTF_8));
+
+        MappedPersonItemReader reader = new MappedPersonItemReader(invalid, 0, Files.size(invalid));
+        reader.open(new ExecutionContext());
+
+        assertThatThrownBy(reader::read)
+                .isInstanceOf(FlatFileParseException.class)
+                .hasMessageContaining("Too few tokens");
+        reader.close();
+    }
+
+    private List<String> readAll(ExecutionContext partition, ExecutionContext executionContext) throws Exception {
+        MappedPersonItemReader reader = reader(partition);
+        reader.open(executionContext);
+
+        List<String> result = new ArrayList<>();
+        Person person;
+        while ((person = reader.read()) != null) {
+            result.add(person.toString());
+        }
+        reader.close();
+        return result;
+    }
+
+    private MappedPersonItemReader reader(ExecutionContext partition) {
+        return new MappedPersonItemReader(file,
+                partition.getLong(MappedFileRangePartitioner.START_OFFSET),
+                partition.getLong(MappedFileRangePartitioner.END_OFFSET));
+    }
+
+    private List<String> readWithFlatFileItemReader() throws Exception {
+        FlatFileItemReader<Person> reader = new FlatFileItemReaderBuilder<Person>()
+                .name("csvFileItemReader")
+                .encoding("UTF-8")
+                .resource(new FileSystemResource(file))
+                .linesToSkip(1)
+                .lineMapper(FlatFileItemReaderUsage.personLineMapper())
+                .build();
+        reader.open(new ExecutionContext());
+
+        List<String> result = new ArrayList<>();
+        Person person;
+        while ((person = reader.read()) != null) {
+            result.add(person.toString());
+        }
+        reader.close();
+        return result;
+    }
+
+    private List<String> sorted(List<String> persons) {
+        return persons.stream().sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.eastshine.batch.usage.job.step.chunk.reader;
+
+import com.eastshine.batch.usage.domain.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersonLineMapperTest {
+    private final LineMapper<Person> expectedMapper = FlatFileItemReaderUsage.personLineMapper();
+    private final PersonLineMapper personLineMapper = new PersonLineMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1024,홍길동,32,서울특별시 강남구 테헤란로 123",
+            " 7 , 김철수 , 20 , 부산광역시 ",
+            "-3,이영희,41,\"대구광역시, 중구 \"\"동성로\"\"\"",
+            "5,,,",
+            "6,박민수,29,\r"
+    })
+    @DisplayName("DelimitedLineTokenizer + 필드 이름 기반 매핑과 같은 결과를 만든다.")
+    void mapsLikeDelimitedLineTokenizer(String line) throws Exception {
+        assertThat(personLineMapper.mapLine(line, 1).toString())
+                .isEqualTo(expectedMapper.mapLine(line, 1).toString());
+    }
+
+    @Test
+    @DisplayName("인덱스 기반 FieldSetMapper는 필드 이름 없이 같은 결과를 만든다.")
+    void mapsFieldSetByIndex() throws Exception {
+        DefaultLineMapper<Person> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new DelimitedLineTokenizer());
+        lineMapper.setFieldSetMapper(new PersonFieldSetMapper());
+
+        String line = "1024,홍길동,32,서울특별시 강남구 테헤란로 123";
+
+        assertThat(lineMapper.mapLine(line, 1).toString())
+                .isEqualTo(expectedMapper.mapLine(line, 1).toString());
+    }
+
+    @Test
+    @DisplayName("age 값은 캐시된 String을 재사용한다.")
+    void reusesCachedAge() {
+        Person first = personLineMapper.mapLine("1,홍길동,32,서울", 1);
+        Person second = personLineMapper.mapLine("2,김철수,32,부산", 2);
+
+        assertThat(second.getAge()).isSameAs(first.getAge());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1,홍길동,32", "1,홍길동,32,서울,추가"})
+    @DisplayName("토큰 수가 4개가 아니면 IncorrectTokenCountException이 발생한다.")
+    void failsOnIncorrectTokenCount(String line) {
+        assertThatThrownBy(() -> personLineMapper.mapLine(line, 1))
+                .isInstanceOf(IncorrectTokenCountException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc,홍길동,32,서울", ",홍길동,32,서울", "99999999999,홍길동,32,서울"})
+    @DisplayName("id가 정수가 아니면 NumberFormatException이 발생한다.")
+    void failsOnUnparseableId(String line) {
+        assertThatThrownBy(() -> personLineMapper.mapLine(line, 1))
+                .isInstanceOf(NumberFormatException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.eastshine.batch.usage.job.step.chunk.writer;
+
+import com.eastshine.batch.common.TestBatchConfig;
+import com.eastshine.batch.common.jdbc.SequenceIdAllocator;
+import com.eastshine.batch.usage.domain.Person2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBatchTest
+@SpringBootTest(classes = {TestBatchConfig.class, JpaItemWriterUsage.class})
+@EntityScan(basePackageClasses = Person2.class)
+class JpaItemWriterUsageTest {
+    private static final int PERSONS = 25;
+    private static final int JDBC_ROWS = 150;
+
+    @Autowired JobLauncherTestUtils jobLauncherTestUtils;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PERSONS; i++) {
+            batch.add(new Object[]{"홍길동" + i, String.valueOf(20 + i), "서울특별시 " + i});
+        }
+        jdbcTemplate.batchUpdate("insert into person(name, age, address) values (?, ?, ?)", batch);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from person2");
+        jdbcTemplate.update("delete from person");
+    }
+
+    @Test
+    @DisplayName("writer=stateless이면 StatelessSession으로 모든 Person을 Person2로 저장한다.")
+    void writesWithStatelessSession() throws Exception {
+        JobExecution jobExecution = launch("stateless");
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertPerson2Saved();
+    }
+
+    @Test
+    @DisplayName("writer 파라미터가 없으면 JpaItemWriter로 모든 Person을 Person2로 저장한다.")
+    void writesWithJpaItemWriter() throws Exception {
+        JobExecution jobExecution = launch(null);
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertPerson2Saved();
+    }
+
+    @Test
+    @DisplayName("JDBC writer가 SequenceIdAllocator로 할당한 id는 JPA가 할당한 id와 겹치지 않는다.")
+    void sequenceIdAllocatorDoesNotOverlapJpaIds() throws Exception {
+        launch("stateless");
+
+        SequenceIdAllocator idAllocator = new SequenceIdAllocator(dataSource, Person2.ID_SEQUENCE, Person2.ID_ALLOCATION_SIZE);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < JDBC_ROWS; i++) {
+            batch.add(new Object[]{idAllocator.nextId(), "jdbc" + i, "30", "부산광역시"});
+        }
+        jdbcTemplate.batchUpdate("insert into person2(id, name, age, address) values (?, ?, ?, ?)", batch);
+
+        launch("stateless");
+
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from person2", Integer.class))
+                .isEqualTo(PERSONS * 2 + JDBC_ROWS);
+    }
+
+    private JobExecution launch(String writer) throws Exception {
+        JobParametersBuilder builder = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLong("chunkSize", 10L);
+        if (writer != null) {
+            builder.addString("writer", writer);
+        }
+        return jobLauncherTestUtils.launchJob(builder.toJobParameters());
+    }
+
+    private void assertPerson2Saved() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from person2", Integer.class)).isEqualTo(PERSONS);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from person2", Integer.class)).isEqualTo(PERSONS);
+        assertThat(jdbcTemplate.queryForObject("select address from person2 where name = '홍길동24'", String.class))
+                .isEqualTo("서울특별시 24");
+    }
+}